@@ -0,0 +1,136 @@
+package org.microboy.cache;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.microboy.enums.AttendanceStatus;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Live head count per organization and checked-in count per (organization, day), so the attendance dashboard
+ * is answered from memory. Write paths bump the counters once their transaction commits; a scheduled
+ * reconciliation reloads them from the database, which also picks up writes made on other nodes.
+ */
+@ApplicationScoped
+@Slf4j
+public class AttendanceDashboardCounters {
+
+	private record DayKey(UUID organizationId, LocalDate day) {}
+
+	@Inject
+	EntityManager entityManager;
+
+	@Inject
+	CacheInvalidation cacheInvalidation;
+
+	private final Map<UUID, LongAdder> employees = new ConcurrentHashMap<>();
+	private final Map<DayKey, LongAdder> attendance = new ConcurrentHashMap<>();
+
+	void onStart(@Observes StartupEvent event) {
+		reconcile();
+	}
+
+	public long totalEmployees(UUID organizationId) {
+		LongAdder counter = employees.get(organizationId);
+		return counter == null ? 0 : counter.sum();
+	}
+
+	/**
+	 * Employees with a PENDING or PRESENT attendance row for the day
+	 */
+	public long attendanceOn(UUID organizationId, LocalDate day) {
+		LongAdder counter = attendance.get(new DayKey(organizationId, day));
+		return counter == null ? 0 : counter.sum();
+	}
+
+	public void employeeAdded(UUID organizationId) {
+		if (organizationId != null) {
+			cacheInvalidation.onCommit(() -> counter(employees, organizationId).increment());
+		}
+	}
+
+	public void employeeRemoved(UUID organizationId) {
+		if (organizationId != null) {
+			cacheInvalidation.onCommit(() -> counter(employees, organizationId).decrement());
+		}
+	}
+
+	/**
+	 * A new attendance row was created for the day. Check-outs and re-opened days do not change the count.
+	 */
+	public void attendanceCreated(UUID organizationId, LocalDate day) {
+		cacheInvalidation.onCommit(() -> counter(attendance, new DayKey(organizationId, day)).increment());
+	}
+
+	/**
+	 * Replaces all counters with fresh counts from two grouped queries and drops past days.
+	 * An increment that lands between the queries and the reset is lost until the next run.
+	 */
+	@Scheduled(every = "${com.microboy.cetus.attendance.counters.reconcile-interval:1m}",
+	           delayed = "${com.microboy.cetus.attendance.counters.reconcile-interval:1m}",
+	           concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+	public void reconcile() {
+		LocalDate today = LocalDate.now();
+		QuarkusTransaction.requiringNew().run(() -> {
+			reset(employees, countEmployees(), key -> true);
+			reset(attendance, countAttendance(today), key -> key.day().equals(today));
+		});
+		attendance.keySet().removeIf(key -> key.day().isBefore(today));
+		log.debug("Reconciled dashboard counters for {} organizations", employees.size());
+	}
+
+	private Map<UUID, Long> countEmployees() {
+		List<Object[]> rows = entityManager.createQuery(
+				"SELECT e.organizationId, COUNT(e) FROM EmployeeCoreEntity e"
+				+ " WHERE e.organizationId IS NOT NULL GROUP BY e.organizationId", Object[].class)
+				.getResultList();
+		Map<UUID, Long> counts = new HashMap<>();
+		rows.forEach(row -> counts.put((UUID) row[0], (Long) row[1]));
+		return counts;
+	}
+
+	private Map<DayKey, Long> countAttendance(LocalDate day) {
+		List<Object[]> rows = entityManager.createQuery(
+				"SELECT a.organizationId, COUNT(a) FROM AttendanceEntity a"
+				+ " WHERE a.attendanceDate = :day AND a.status IN :statuses GROUP BY a.organizationId", Object[].class)
+				.setParameter("day", day)
+				.setParameter("statuses", List.of(AttendanceStatus.PRESENT, AttendanceStatus.PENDING))
+				.getResultList();
+		Map<DayKey, Long> counts = new HashMap<>();
+		rows.forEach(row -> counts.put(new DayKey((UUID) row[0], day), (Long) row[1]));
+		return counts;
+	}
+
+	/**
+	 * Sets every counter to its fresh count; covered counters missing from {@code fresh} go back to zero.
+	 */
+	private static <K> void reset(Map<K, LongAdder> counters, Map<K, Long> fresh, Predicate<K> covered) {
+		counters.forEach((key, counter) -> {
+			if (covered.test(key) && !fresh.containsKey(key)) {
+				counter.reset();
+			}
+		});
+		fresh.forEach((key, count) -> {
+			LongAdder counter = counter(counters, key);
+			counter.reset();
+			counter.add(count);
+		});
+	}
+
+	private static <K> LongAdder counter(Map<K, LongAdder> counters, K key) {
+		return counters.computeIfAbsent(key, ignored -> new LongAdder());
+	}
+}
@@ -0,0 +1,140 @@
+package org.microboy.cache;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.microboy.repository.AttendanceMaskRepository;
+import org.microboy.utils.DayMask;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Attendance day masks per (organization, month), held as a primitive int array with an employee index.
+ * A month is loaded with one query on first use and reloaded after {@code ttl-seconds}, which bounds how long
+ * check-ins made on other nodes stay invisible; local check-ins are applied as soon as they commit.
+ */
+@ApplicationScoped
+public class AttendanceMaskCache {
+
+	@ConfigProperty(name = "com.microboy.cetus.cache.attendance-mask.ttl-seconds", defaultValue = "60")
+	long ttlSeconds;
+
+	@ConfigProperty(name = "com.microboy.cetus.cache.attendance-mask.max-months", defaultValue = "1000")
+	int maxMonths;
+
+	@Inject
+	AttendanceMaskRepository attendanceMaskRepository;
+
+	@Inject
+	CacheInvalidation cacheInvalidation;
+
+	private static final int GENERATION_STRIPES = 64;
+
+	private record MonthKey(UUID organizationId, YearMonth month) {}
+
+	private final Map<MonthKey, MonthMasks> months = new ConcurrentHashMap<>();
+	// Bumped by every write to a month, so a load that raced a check-in or an invalidation is returned but not cached.
+	// Striped by month, so the morning check-in rush does not keep every other month from being cached.
+	private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+	/**
+	 * Masks of one organization and month. Employees map to a slot in {@code masks}.
+	 */
+	private static final class MonthMasks {
+		private final long loadedAt = System.nanoTime();
+		private final Map<UUID, Integer> slots = new HashMap<>();
+		private int[] masks = new int[16];
+
+		MonthMasks(Map<UUID, Integer> loaded) {
+			loaded.forEach(this::or);
+		}
+
+		synchronized void or(UUID employeeId, int bits) {
+			Integer slot = slots.get(employeeId);
+			if (slot == null) {
+				slot = slots.size();
+				if (slot == masks.length) {
+					masks = Arrays.copyOf(masks, masks.length * 2);
+				}
+				slots.put(employeeId, slot);
+			}
+			masks[slot] |= bits;
+		}
+
+		synchronized int get(UUID employeeId) {
+			Integer slot = slots.get(employeeId);
+			return slot == null ? 0 : masks[slot];
+		}
+
+		synchronized Map<UUID, Integer> snapshot() {
+			Map<UUID, Integer> snapshot = new HashMap<>(slots.size() * 2);
+			slots.forEach((employeeId, slot) -> snapshot.put(employeeId, masks[slot]));
+			return snapshot;
+		}
+	}
+
+	public int getMask(UUID organizationId, UUID employeeId, YearMonth month) {
+		return load(organizationId, month).get(employeeId);
+	}
+
+	/**
+	 * @return the mask of every employee of the organization with attendance in the month
+	 */
+	public Map<UUID, Integer> getMasks(UUID organizationId, YearMonth month) {
+		return load(organizationId, month).snapshot();
+	}
+
+	/**
+	 * Sets the day's bit in the cached month once the current transaction commits
+	 */
+	public void markPresent(UUID organizationId, UUID employeeId, LocalDate day) {
+		MonthKey key = new MonthKey(organizationId, YearMonth.from(day));
+		cacheInvalidation.onCommit(() -> {
+			generations.incrementAndGet(stripe(key));
+			months.computeIfPresent(key, (ignored, masks) -> {
+				masks.or(employeeId, DayMask.of(day));
+				return masks;
+			});
+		});
+	}
+
+	/**
+	 * Drops the cached month after the current transaction, for bulk writes that bypass {@link #markPresent}
+	 */
+	public void invalidate(UUID organizationId, YearMonth month) {
+		MonthKey key = new MonthKey(organizationId, month);
+		cacheInvalidation.afterCommit(() -> {
+			generations.incrementAndGet(stripe(key));
+			months.remove(key);
+		});
+	}
+
+	private MonthMasks load(UUID organizationId, YearMonth month) {
+		MonthKey key = new MonthKey(organizationId, month);
+		MonthMasks cached = months.get(key);
+		if (cached != null && System.nanoTime() - cached.loadedAt < TimeUnit.SECONDS.toNanos(ttlSeconds)) {
+			return cached;
+		}
+		if (cached == null && months.size() >= maxMonths) {
+			months.clear();
+		}
+		int stripe = stripe(key);
+		long loadGeneration = generations.get(stripe);
+		MonthMasks loaded = new MonthMasks(attendanceMaskRepository.findMasks(organizationId, month, null));
+		// Published under the bin lock, which markPresent also takes after bumping the generation
+		months.compute(key, (ignored, current) -> generations.get(stripe) == loadGeneration ? loaded : current);
+		return loaded;
+	}
+
+	private static int stripe(MonthKey key) {
+		return key.hashCode() & (GENERATION_STRIPES - 1);
+	}
+}
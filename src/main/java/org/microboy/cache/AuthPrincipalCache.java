@@ -0,0 +1,102 @@
+package org.microboy.cache;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.microboy.dto.response.CacheStatsDTO;
+import org.microboy.security.repository.UserRepository.AuthPrincipal;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Roles, organization, employee and name of recently signed-in accounts, keyed by account email. Holds nothing
+ * secret: the password hash and account status are still read on every sign-in, which is the one query a cached
+ * sign-in needs. Changes to an account or its employee drop the entry once they commit, and {@code ttl-seconds}
+ * bounds how long changes made on other nodes stay invisible.
+ */
+@ApplicationScoped
+public class AuthPrincipalCache {
+
+	@ConfigProperty(name = "com.microboy.cetus.cache.auth-principals.ttl-seconds", defaultValue = "300")
+	long ttlSeconds;
+
+	@ConfigProperty(name = "com.microboy.cetus.cache.auth-principals.max-entries", defaultValue = "10000")
+	int maxEntries;
+
+	@Inject
+	CacheInvalidation cacheInvalidation;
+
+	private record Entry(AuthPrincipal principal, long loadedAt) {}
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	// Bumped on every invalidation so a lookup that raced with it is not written back
+	private final AtomicLong generation = new AtomicLong();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	public AuthPrincipal get(String accountEmail) {
+		Entry entry = entries.get(accountEmail);
+		if (entry != null && System.nanoTime() - entry.loadedAt() < TimeUnit.SECONDS.toNanos(ttlSeconds)) {
+			hits.increment();
+			return entry.principal();
+		}
+		misses.increment();
+		return null;
+	}
+
+	/**
+	 * @return the value to pass to {@link #put} for a lookup started now
+	 */
+	public long generation() {
+		return generation.get();
+	}
+
+	public void put(AuthPrincipal principal, long lookupGeneration) {
+		if (generation.get() != lookupGeneration) {
+			return;
+		}
+		if (entries.size() >= maxEntries) {
+			evictions.add(entries.size());
+			entries.clear();
+		}
+		entries.put(principal.accountEmail(), new Entry(principal, System.nanoTime()));
+	}
+
+	/**
+	 * Drops the account after the current transaction
+	 */
+	public void invalidate(String accountEmail) {
+		cacheInvalidation.afterCommit(() -> {
+			generation.incrementAndGet();
+			entries.remove(accountEmail);
+		});
+	}
+
+	/**
+	 * Drops the accounts linked to the employee after the current transaction
+	 */
+	public void invalidateEmployee(UUID employeeId) {
+		cacheInvalidation.afterCommit(() -> {
+			generation.incrementAndGet();
+			entries.values().removeIf(entry -> Objects.equals(entry.principal().employeeId(), employeeId));
+		});
+	}
+
+	public CacheStatsDTO stats() {
+		return CacheStatsDTO.builder()
+		                    .name("authPrincipals")
+		                    .size(entries.size())
+		                    .maxSize(maxEntries)
+		                    .hits(hits.sum())
+		                    .misses(misses.sum())
+		                    .evictions(evictions.sum())
+		                    .build();
+	}
+}
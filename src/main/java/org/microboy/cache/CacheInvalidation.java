@@ -0,0 +1,61 @@
+package org.microboy.cache;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Runs cache invalidations and in-memory updates against the current transaction.
+ */
+@ApplicationScoped
+public class CacheInvalidation {
+
+	@Inject
+	TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+	/**
+	 * Invalidates right away and again once the current transaction has completed, so a concurrent
+	 * reader cannot leave the pre-commit row in the cache.
+	 */
+	public void afterCommit(Runnable invalidation) {
+		invalidation.run();
+		if (transactionSynchronizationRegistry.getTransactionStatus() == Status.STATUS_NO_TRANSACTION) {
+			return;
+		}
+		transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+			@Override
+			public void beforeCompletion() {
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				invalidation.run();
+			}
+		});
+	}
+
+	/**
+	 * Runs the update once the current transaction has committed, or right away outside a transaction.
+	 * Nothing runs on rollback.
+	 */
+	public void onCommit(Runnable update) {
+		if (transactionSynchronizationRegistry.getTransactionStatus() == Status.STATUS_NO_TRANSACTION) {
+			update.run();
+			return;
+		}
+		transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+			@Override
+			public void beforeCompletion() {
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				if (status == Status.STATUS_COMMITTED) {
+					update.run();
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,71 @@
+package org.microboy.cache;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityNotFoundException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.microboy.constants.ExceptionConstants;
+import org.microboy.entity.EmployeeCoreEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Employee to organization map used to authorize attendance writes without loading the employee entity.
+ * Only employees with an organization are cached; the map is cleared when it outgrows its bound.
+ */
+@ApplicationScoped
+public class EmployeeMembershipCache {
+
+	@ConfigProperty(name = "com.microboy.cetus.cache.membership.max-entries", defaultValue = "100000")
+	int maxEntries;
+
+	@Inject
+	CacheInvalidation cacheInvalidation;
+
+	private final Map<UUID, UUID> organizationByEmployee = new ConcurrentHashMap<>();
+	// Bumped on every invalidation so a load that raced with it is not written back
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * @return the employee's organization, or {@code null} if it is not set
+	 * @throws EntityNotFoundException if the employee does not exist
+	 */
+	public UUID getOrganizationId(UUID employeeId) {
+		UUID organizationId = organizationByEmployee.get(employeeId);
+		if (organizationId != null) {
+			return organizationId;
+		}
+
+		long loadGeneration = generation.get();
+		List<UUID> rows = EmployeeCoreEntity.getEntityManager()
+				.createQuery("SELECT e.organizationId FROM EmployeeCoreEntity e WHERE e.employeeId = ?1", UUID.class)
+				.setParameter(1, employeeId)
+				.getResultList();
+		if (rows.isEmpty()) {
+			throw new EntityNotFoundException(ExceptionConstants.EMPLOYEE_NOT_FOUND);
+		}
+
+		organizationId = rows.get(0);
+		if (organizationId != null && generation.get() == loadGeneration) {
+			if (organizationByEmployee.size() >= maxEntries) {
+				organizationByEmployee.clear();
+			}
+			organizationByEmployee.put(employeeId, organizationId);
+		}
+		return organizationId;
+	}
+
+	/**
+	 * Call when an employee is deleted or moved to another organization
+	 */
+	public void invalidate(UUID employeeId) {
+		cacheInvalidation.afterCommit(() -> {
+			generation.incrementAndGet();
+			organizationByEmployee.remove(employeeId);
+		});
+	}
+}
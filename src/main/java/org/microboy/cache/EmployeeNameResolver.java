@@ -0,0 +1,79 @@
+package org.microboy.cache;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.microboy.dto.response.CacheStatsDTO;
+import org.microboy.entity.EmployeeCoreEntity;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Display names of employees for DTO mapping. Callers collect every employee id referenced by a result list and
+ * resolve them together: cached names are served per organization, the rest are loaded with one projection query.
+ * Names expire after {@code ttl-seconds}, which bounds how long renames made on other nodes stay visible;
+ * local renames and deletes invalidate immediately after commit.
+ */
+@ApplicationScoped
+public class EmployeeNameResolver {
+
+	@RegisterForReflection
+	public record EmployeeName(UUID employeeId, String firstName, String lastName) {
+
+		public String fullName() {
+			return firstName + " " + lastName;
+		}
+	}
+
+	@ConfigProperty(name = "com.microboy.cetus.cache.employee-names.max-entries-per-tenant", defaultValue = "5000")
+	int maxEntriesPerTenant;
+
+	@ConfigProperty(name = "com.microboy.cetus.cache.employee-names.ttl-seconds", defaultValue = "60")
+	long ttlSeconds;
+
+	@Inject
+	CacheInvalidation cacheInvalidation;
+
+	private TenantLruCache<UUID, String> names;
+
+	@PostConstruct
+	void init() {
+		names = new TenantLruCache<>("employeeNames", maxEntriesPerTenant, Duration.ofSeconds(ttlSeconds));
+	}
+
+	/**
+	 * @return "first last" per id; ids without an employee are absent and {@code null} ids are ignored
+	 */
+	public Map<UUID, String> resolve(UUID organizationId, Collection<UUID> employeeIds) {
+		Set<UUID> ids = employeeIds.stream().filter(Objects::nonNull).collect(Collectors.toCollection(HashSet::new));
+		return ids.isEmpty() ? Map.of() : names.getAll(organizationId, ids, this::loadNames);
+	}
+
+	public String resolve(UUID organizationId, UUID employeeId) {
+		return employeeId == null ? null : names.get(organizationId, employeeId, this::loadNames);
+	}
+
+	public void invalidate(UUID employeeId) {
+		cacheInvalidation.afterCommit(() -> names.invalidate(employeeId));
+	}
+
+	public CacheStatsDTO stats(UUID organizationId) {
+		return names.stats(organizationId);
+	}
+
+	private Map<UUID, String> loadNames(Collection<UUID> ids) {
+		List<EmployeeName> rows = EmployeeCoreEntity.find("employeeId IN ?1", ids).project(EmployeeName.class).list();
+		return rows.stream().collect(Collectors.toMap(EmployeeName::employeeId, EmployeeName::fullName));
+	}
+}
@@ -0,0 +1,80 @@
+package org.microboy.cache;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.microboy.dto.response.LeaveCalendarDayDTO;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Computed leave calendars per (team or department, month). Leave decisions drop the affected months of the
+ * organization once they commit; {@code ttl-seconds} bounds how long team membership changes and decisions made on
+ * other nodes stay invisible.
+ */
+@ApplicationScoped
+public class LeaveCalendarCache {
+
+	@ConfigProperty(name = "com.microboy.cetus.cache.leave-calendar.ttl-seconds", defaultValue = "300")
+	long ttlSeconds;
+
+	@ConfigProperty(name = "com.microboy.cetus.cache.leave-calendar.max-entries", defaultValue = "5000")
+	int maxEntries;
+
+	@Inject
+	CacheInvalidation cacheInvalidation;
+
+	/**
+	 * @param department whether {@code scopeId} is a department rather than a team
+	 */
+	public record CalendarKey(UUID organizationId, boolean department, UUID scopeId, YearMonth month) {}
+
+	/**
+	 * One month of a calendar: every day of the month, in order
+	 */
+	public record MonthCalendar(int memberCount, List<LeaveCalendarDayDTO> days) {}
+
+	private record Cached(long loadedAt, MonthCalendar calendar) {}
+
+	private final Map<CalendarKey, Cached> calendars = new ConcurrentHashMap<>();
+	// Bumped by every invalidation, so a calendar loaded before a leave decision committed is not cached after it
+	private final AtomicLong generation = new AtomicLong();
+
+	public MonthCalendar get(CalendarKey key, Supplier<MonthCalendar> loader) {
+		Cached cached = calendars.get(key);
+		if (cached != null && System.nanoTime() - cached.loadedAt() < TimeUnit.SECONDS.toNanos(ttlSeconds)) {
+			return cached.calendar();
+		}
+		if (cached == null && calendars.size() >= maxEntries) {
+			calendars.clear();
+		}
+		long loadGeneration = generation.get();
+		MonthCalendar calendar = loader.get();
+		if (generation.get() == loadGeneration) {
+			calendars.put(key, new Cached(System.nanoTime(), calendar));
+		}
+		return calendar;
+	}
+
+	/**
+	 * Drops the organization's calendars of every month touched by [from, to] after the current transaction
+	 */
+	public void invalidate(UUID organizationId, LocalDate from, LocalDate to) {
+		YearMonth first = YearMonth.from(from);
+		YearMonth last = YearMonth.from(to);
+		cacheInvalidation.afterCommit(() -> {
+			generation.incrementAndGet();
+			calendars.keySet().removeIf(key -> key.organizationId().equals(organizationId)
+			                                   && !key.month().isBefore(first)
+			                                   && !key.month().isAfter(last));
+		});
+	}
+}
@@ -0,0 +1,115 @@
+package org.microboy.cache;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.microboy.repository.LeaveRequestRepository;
+import org.microboy.repository.LeaveRequestRepository.LeaveInterval;
+import org.microboy.utils.IntervalTree;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Pending and approved leave per organization held in interval trees, one over the whole organization and one per
+ * employee. An organization is loaded with one query on first use, covering leave that ends within the last
+ * {@code history-days}; older windows are answered from the database. Every leave write drops the organization once
+ * it commits, and {@code ttl-seconds} bounds how long writes made on other nodes stay invisible. The exclusion
+ * constraint on leave_requests remains the authority on overlaps.
+ */
+@ApplicationScoped
+public class LeaveIntervalIndex {
+
+	@ConfigProperty(name = "com.microboy.cetus.cache.leave-index.ttl-seconds", defaultValue = "60")
+	long ttlSeconds;
+
+	@ConfigProperty(name = "com.microboy.cetus.cache.leave-index.history-days", defaultValue = "400")
+	int historyDays;
+
+	@ConfigProperty(name = "com.microboy.cetus.cache.leave-index.max-organizations", defaultValue = "1000")
+	int maxOrganizations;
+
+	@Inject
+	LeaveRequestRepository leaveRequestRepository;
+
+	@Inject
+	CacheInvalidation cacheInvalidation;
+
+	private final Map<UUID, OrganizationLeave> organizations = new ConcurrentHashMap<>();
+	// Bumped by every invalidation, so leave loaded before a write committed is returned but not cached
+	private final AtomicLong generation = new AtomicLong();
+
+	private record OrganizationLeave(long loadedAt,
+	                                 LocalDate coveredFrom,
+	                                 IntervalTree<LeaveInterval> all,
+	                                 Map<UUID, IntervalTree<LeaveInterval>> byEmployee) {
+
+		static OrganizationLeave of(LocalDate coveredFrom, List<LeaveInterval> intervals) {
+			Map<UUID, IntervalTree<LeaveInterval>> byEmployee = intervals.stream()
+					.collect(Collectors.groupingBy(LeaveInterval::employeeId,
+					                               Collectors.collectingAndThen(Collectors.toList(), OrganizationLeave::tree)));
+			return new OrganizationLeave(System.nanoTime(), coveredFrom, tree(intervals), byEmployee);
+		}
+
+		private static IntervalTree<LeaveInterval> tree(List<LeaveInterval> intervals) {
+			return new IntervalTree<>(intervals, LeaveInterval::fromDate, LeaveInterval::toDate);
+		}
+	}
+
+	/**
+	 * @return pending and approved leave of the organization sharing at least one day with [from, to]
+	 */
+	public List<LeaveInterval> findOverlapping(UUID organizationId, LocalDate from, LocalDate to) {
+		OrganizationLeave leave = load(organizationId);
+		if (from.isBefore(leave.coveredFrom())) {
+			return leaveRequestRepository.findActiveIntervals(organizationId, from, to);
+		}
+		return leave.all().findOverlapping(from, to);
+	}
+
+	/**
+	 * @return pending and approved leave of the employee sharing at least one day with [from, to]
+	 */
+	public List<LeaveInterval> findOverlapping(UUID organizationId, UUID employeeId, LocalDate from, LocalDate to) {
+		OrganizationLeave leave = load(organizationId);
+		if (from.isBefore(leave.coveredFrom())) {
+			return leaveRequestRepository.findActiveIntervals(organizationId, from, to).stream()
+					.filter(interval -> interval.employeeId().equals(employeeId))
+					.toList();
+		}
+		IntervalTree<LeaveInterval> tree = leave.byEmployee().get(employeeId);
+		return tree == null ? List.of() : tree.findOverlapping(from, to);
+	}
+
+	/**
+	 * Drops the organization's leave after the current transaction
+	 */
+	public void invalidate(UUID organizationId) {
+		cacheInvalidation.afterCommit(() -> {
+			generation.incrementAndGet();
+			organizations.remove(organizationId);
+		});
+	}
+
+	private OrganizationLeave load(UUID organizationId) {
+		OrganizationLeave cached = organizations.get(organizationId);
+		if (cached != null && System.nanoTime() - cached.loadedAt() < TimeUnit.SECONDS.toNanos(ttlSeconds)) {
+			return cached;
+		}
+		if (cached == null && organizations.size() >= maxOrganizations) {
+			organizations.clear();
+		}
+		long loadGeneration = generation.get();
+		LocalDate coveredFrom = LocalDate.now().minusDays(historyDays);
+		OrganizationLeave loaded = OrganizationLeave.of(
+				coveredFrom, leaveRequestRepository.findActiveIntervalsEndingFrom(organizationId, coveredFrom));
+		organizations.compute(organizationId, (ignored, current) -> generation.get() == loadGeneration ? loaded : current);
+		return loaded;
+	}
+}
@@ -0,0 +1,112 @@
+package org.microboy.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.microboy.dto.response.CacheStatsDTO;
+import org.microboy.entity.DepartmentEntity;
+import org.microboy.entity.JobTitleEntity;
+import org.microboy.entity.TeamEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process cache of job titles, teams and departments, which are read on most employee requests
+ * but rarely change. Entries are immutable snapshots, partitioned by organization with LRU eviction.
+ * The owning services invalidate entries after their write transaction commits.
+ */
+@ApplicationScoped
+public class ReferenceDataCache {
+
+	public record JobTitleRef(UUID jobTitleId, String title) {}
+
+	public record TeamRef(UUID teamId, String name, UUID departmentId) {}
+
+	public record DepartmentRef(UUID departmentId, String name) {}
+
+	@ConfigProperty(name = "com.microboy.cetus.cache.reference.max-entries-per-tenant", defaultValue = "1000")
+	int maxEntriesPerTenant;
+
+	@Inject
+	CacheInvalidation cacheInvalidation;
+
+	private TenantLruCache<UUID, JobTitleRef> jobTitles;
+	private TenantLruCache<UUID, TeamRef> teams;
+	private TenantLruCache<UUID, DepartmentRef> departments;
+
+	@PostConstruct
+	void init() {
+		jobTitles = new TenantLruCache<>("jobTitles", maxEntriesPerTenant);
+		teams = new TenantLruCache<>("teams", maxEntriesPerTenant);
+		departments = new TenantLruCache<>("departments", maxEntriesPerTenant);
+	}
+
+	public JobTitleRef getJobTitle(UUID organizationId, UUID jobTitleId) {
+		return jobTitleId == null ? null : jobTitles.get(organizationId, jobTitleId, this::loadJobTitles);
+	}
+
+	public TeamRef getTeam(UUID organizationId, UUID teamId) {
+		return teamId == null ? null : teams.get(organizationId, teamId, this::loadTeams);
+	}
+
+	public DepartmentRef getDepartment(UUID organizationId, UUID departmentId) {
+		return departmentId == null ? null : departments.get(organizationId, departmentId, this::loadDepartments);
+	}
+
+	public Map<UUID, JobTitleRef> getJobTitles(UUID organizationId, Collection<UUID> jobTitleIds) {
+		return jobTitleIds.isEmpty() ? Map.of() : jobTitles.getAll(organizationId, jobTitleIds, this::loadJobTitles);
+	}
+
+	public Map<UUID, TeamRef> getTeams(UUID organizationId, Collection<UUID> teamIds) {
+		return teamIds.isEmpty() ? Map.of() : teams.getAll(organizationId, teamIds, this::loadTeams);
+	}
+
+	public Map<UUID, DepartmentRef> getDepartments(UUID organizationId, Collection<UUID> departmentIds) {
+		return departmentIds.isEmpty()
+				? Map.of()
+				: departments.getAll(organizationId, departmentIds, this::loadDepartments);
+	}
+
+	public void invalidateJobTitle(UUID jobTitleId) {
+		cacheInvalidation.afterCommit(() -> jobTitles.invalidate(jobTitleId));
+	}
+
+	public void invalidateTeam(UUID teamId) {
+		cacheInvalidation.afterCommit(() -> teams.invalidate(teamId));
+	}
+
+	public void invalidateDepartment(UUID departmentId) {
+		cacheInvalidation.afterCommit(() -> departments.invalidate(departmentId));
+	}
+
+	public List<CacheStatsDTO> stats(UUID organizationId) {
+		return List.of(jobTitles.stats(organizationId), teams.stats(organizationId), departments.stats(organizationId));
+	}
+
+	private Map<UUID, JobTitleRef> loadJobTitles(Collection<UUID> ids) {
+		List<JobTitleEntity> entities = JobTitleEntity.list("jobTitleId IN ?1", ids);
+		return entities.stream()
+		               .map(e -> new JobTitleRef(e.jobTitleId, e.title))
+		               .collect(Collectors.toMap(JobTitleRef::jobTitleId, Function.identity()));
+	}
+
+	private Map<UUID, TeamRef> loadTeams(Collection<UUID> ids) {
+		List<TeamEntity> entities = TeamEntity.list("teamId IN ?1", ids);
+		return entities.stream()
+		               .map(e -> new TeamRef(e.teamId, e.name, e.departmentId))
+		               .collect(Collectors.toMap(TeamRef::teamId, Function.identity()));
+	}
+
+	private Map<UUID, DepartmentRef> loadDepartments(Collection<UUID> ids) {
+		List<DepartmentEntity> entities = DepartmentEntity.list("departmentId IN ?1", ids);
+		return entities.stream()
+		               .map(e -> new DepartmentRef(e.departmentId, e.name))
+		               .collect(Collectors.toMap(DepartmentRef::departmentId, Function.identity()));
+	}
+}
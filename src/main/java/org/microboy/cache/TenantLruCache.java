@@ -0,0 +1,153 @@
+package org.microboy.cache;
+
+import org.microboy.dto.response.CacheStatsDTO;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, least-recently-used cache partitioned by organization.
+ * Each organization gets its own segment and its own hit/miss/eviction counters,
+ * so one large tenant cannot evict the working set of the others.
+ * With a time to live, entries older than it count as misses and are reloaded.
+ *
+ * @param <K> the cache key
+ * @param <V> the cached value, expected to be immutable
+ */
+public class TenantLruCache<K, V> {
+
+	private static final UUID NO_ORGANIZATION = new UUID(0L, 0L);
+
+	private final String name;
+	private final int maxEntriesPerTenant;
+	// 0 keeps entries until evicted or invalidated
+	private final long ttlNanos;
+	private final Map<UUID, Segment<K, V>> segments = new ConcurrentHashMap<>();
+	// Bumped on every invalidation so a load that raced with it is not written back
+	private final AtomicLong generation = new AtomicLong();
+
+	public TenantLruCache(String name, int maxEntriesPerTenant) {
+		this(name, maxEntriesPerTenant, Duration.ZERO);
+	}
+
+	public TenantLruCache(String name, int maxEntriesPerTenant, Duration timeToLive) {
+		this.name = name;
+		this.maxEntriesPerTenant = maxEntriesPerTenant;
+		this.ttlNanos = timeToLive.toNanos();
+	}
+
+	/**
+	 * Returns the cached values for the given keys, loading every missing key with one call to {@code loader}.
+	 * Keys the loader does not return are absent from the result and are not cached.
+	 */
+	public Map<K, V> getAll(UUID organizationId, Collection<K> keys, Function<Collection<K>, Map<K, V>> loader) {
+		Segment<K, V> segment = segment(organizationId);
+		Map<K, V> result = new HashMap<>();
+		List<K> missing = new ArrayList<>();
+		synchronized (segment) {
+			long now = System.nanoTime();
+			for (K key : keys) {
+				Timed<V> entry = segment.entries.get(key);
+				if (entry != null && (ttlNanos == 0 || now - entry.loadedAt() < ttlNanos)) {
+					result.put(key, entry.value());
+				} else {
+					missing.add(key);
+				}
+			}
+		}
+		segment.hits.add(result.size());
+		if (missing.isEmpty()) {
+			return result;
+		}
+
+		segment.misses.add(missing.size());
+		long loadGeneration = generation.get();
+		Map<K, V> loaded = loader.apply(missing);
+		synchronized (segment) {
+			if (generation.get() == loadGeneration) {
+				long loadedAt = System.nanoTime();
+				loaded.forEach((key, value) -> segment.entries.put(key, new Timed<>(value, loadedAt)));
+			}
+		}
+		result.putAll(loaded);
+		return result;
+	}
+
+	public V get(UUID organizationId, K key, Function<Collection<K>, Map<K, V>> loader) {
+		return getAll(organizationId, List.of(key), loader).get(key);
+	}
+
+	/**
+	 * Removes the key from every tenant segment.
+	 */
+	public void invalidate(K key) {
+		generation.incrementAndGet();
+		segments.values().forEach(segment -> {
+			synchronized (segment) {
+				segment.entries.remove(key);
+			}
+		});
+	}
+
+	public void invalidateAll() {
+		generation.incrementAndGet();
+		segments.values().forEach(segment -> {
+			synchronized (segment) {
+				segment.entries.clear();
+			}
+		});
+	}
+
+	public CacheStatsDTO stats(UUID organizationId) {
+		Segment<K, V> segment = segment(organizationId);
+		int size;
+		synchronized (segment) {
+			size = segment.entries.size();
+		}
+		return CacheStatsDTO.builder()
+		                    .name(name)
+		                    .size(size)
+		                    .maxSize(maxEntriesPerTenant)
+		                    .hits(segment.hits.sum())
+		                    .misses(segment.misses.sum())
+		                    .evictions(segment.evictions.sum())
+		                    .build();
+	}
+
+	private Segment<K, V> segment(UUID organizationId) {
+		return segments.computeIfAbsent(organizationId != null ? organizationId : NO_ORGANIZATION,
+		                                id -> new Segment<>(maxEntriesPerTenant));
+	}
+
+	private record Timed<V>(V value, long loadedAt) {}
+
+	private static final class Segment<K, V> {
+		final LongAdder hits = new LongAdder();
+		final LongAdder misses = new LongAdder();
+		final LongAdder evictions = new LongAdder();
+		final LinkedHashMap<K, Timed<V>> entries;
+
+		Segment(int maxEntries) {
+			this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<K, Timed<V>> eldest) {
+					boolean evict = size() > maxEntries;
+					if (evict) {
+						evictions.increment();
+					}
+					return evict;
+				}
+			};
+		}
+	}
+}
@@ -5,5 +5,6 @@ public class GeneralConstants {
 	public static final String EMPTY_STRING = "";
 	public static final String DOT = ".";
 	public static final String SLASH = "/";
+	public static final String BASE_SALARY_FIELD = "Base Salary";
 
 }
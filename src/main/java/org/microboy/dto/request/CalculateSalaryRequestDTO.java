@@ -7,6 +7,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+import java.util.UUID;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,4 +23,7 @@ public class CalculateSalaryRequestDTO {
 	@NotNull(message = "Year is required")
 	@Min(value = 2020, message = "Year must be 2020 or later")
 	private Integer year;
+
+	// Optional: restrict the run to these employees, e.g. to retry a failed chunk
+	private List<UUID> employeeIds;
 }
@@ -0,0 +1,25 @@
+package org.microboy.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.microboy.enums.LeaveStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveRequestBulkStatusUpdateDTO {
+
+	@NotEmpty(message = "At least one leave request id is required")
+	@Size(max = 500, message = "At most 500 leave requests can be updated at once")
+	private List<@NotNull UUID> leaveRequestIds;
+
+	@NotNull(message = "Status is required")
+	private LeaveStatus status;
+}
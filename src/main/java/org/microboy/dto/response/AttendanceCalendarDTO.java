@@ -0,0 +1,27 @@
+package org.microboy.dto.response;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@RegisterForReflection
+public class AttendanceCalendarDTO {
+	private UUID employeeId;
+	private int year;
+	private int month;
+	private int daysInMonth;
+	private int presentDayCount;
+	// Days of the month with attendance, ascending
+	private List<Integer> presentDays;
+}
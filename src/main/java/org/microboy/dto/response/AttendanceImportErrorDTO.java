@@ -0,0 +1,17 @@
+package org.microboy.dto.response;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@RegisterForReflection
+public class AttendanceImportErrorDTO {
+	private long line;
+	private String message;
+}
@@ -0,0 +1,33 @@
+package org.microboy.dto.response;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.microboy.enums.AttendanceImportStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@RegisterForReflection
+public class AttendanceImportResultDTO {
+	private UUID importId;
+	private AttendanceImportStatus status;
+	private long linesRead;
+	private long importedCount;
+	private long errorCount;
+	// At most max-reported-errors entries; errorCount has the full number
+	private List<AttendanceImportErrorDTO> errors;
+	private boolean errorsTruncated;
+	private String failureMessage;
+	private LocalDateTime startedAt;
+	private LocalDateTime finishedAt;
+}
@@ -0,0 +1,30 @@
+package org.microboy.dto.response;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@RegisterForReflection
+public class AttendanceIngestionStatsDTO {
+	private boolean enabled;
+	private int queueDepth;
+	private int queueCapacity;
+	private long flushCount;
+	private long recordCount;
+	private long rejectedCount;
+	private long failedFlushCount;
+	private int lastBatchSize;
+	private int maxBatchSize;
+	private double averageBatchSize;
+	private double lastFlushMillis;
+	private double maxFlushMillis;
+	private double averageFlushMillis;
+}
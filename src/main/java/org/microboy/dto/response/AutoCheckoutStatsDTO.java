@@ -0,0 +1,29 @@
+package org.microboy.dto.response;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.microboy.enums.AutoCheckoutPolicy;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@RegisterForReflection
+public class AutoCheckoutStatsDTO {
+	private AutoCheckoutPolicy policy;
+	private long runCount;
+	private long failedRunCount;
+	private long totalRowsClosed;
+	private LocalDateTime lastRunAt;
+	private long lastRunRowsClosed;
+	private int lastRunOrganizations;
+	private int lastRunBatches;
+	private long lastRunMillis;
+}
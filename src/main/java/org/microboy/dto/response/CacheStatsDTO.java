@@ -0,0 +1,23 @@
+package org.microboy.dto.response;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@RegisterForReflection
+public class CacheStatsDTO {
+	private String name;
+	private int size;
+	private int maxSize;
+	private long hits;
+	private long misses;
+	private long evictions;
+}
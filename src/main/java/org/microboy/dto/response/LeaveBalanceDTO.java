@@ -0,0 +1,22 @@
+package org.microboy.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveBalanceDTO {
+
+	private BigDecimal balanceDays;
+	private BigDecimal accruedDays;
+	private BigDecimal usedDays;
+	private BigDecimal pendingDays;
+	// Balance left once pending requests are approved
+	private BigDecimal availableDays;
+	private LocalDateTime updatedAt;
+}
@@ -0,0 +1,17 @@
+package org.microboy.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveCalendarAbsenceDTO {
+
+	private UUID employeeId;
+	private String employeeName;
+	private UUID leaveRequestId;
+}
@@ -0,0 +1,24 @@
+package org.microboy.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveCalendarDTO {
+
+	// Exactly one of teamId and departmentId is set
+	private UUID teamId;
+	private UUID departmentId;
+	private LocalDate from;
+	private LocalDate to;
+	private int memberCount;
+	// One entry per day of the window, including days nobody is out
+	private List<LeaveCalendarDayDTO> days;
+}
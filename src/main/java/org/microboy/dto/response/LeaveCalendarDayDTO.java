@@ -0,0 +1,18 @@
+package org.microboy.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveCalendarDayDTO {
+
+	private LocalDate date;
+	private int absentCount;
+	private List<LeaveCalendarAbsenceDTO> absences;
+}
@@ -0,0 +1,20 @@
+package org.microboy.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.microboy.enums.LeaveStatus;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveRequestBulkStatusResultDTO {
+
+	private LeaveStatus status;
+	private int updatedCount;
+	private int skippedCount;
+	// One entry per distinct requested id, in request order
+	private List<LeaveRequestStatusOutcomeDTO> results;
+}
@@ -0,0 +1,22 @@
+package org.microboy.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.microboy.enums.LeaveStatus;
+import org.microboy.enums.LeaveStatusUpdateOutcome;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveRequestStatusOutcomeDTO {
+
+	private UUID leaveRequestId;
+	private LeaveStatusUpdateOutcome outcome;
+	// Status after the call; null when not found
+	private LeaveStatus status;
+	// Set for updated requests only
+	private LeaveRequestResponseDTO leaveRequest;
+}
@@ -0,0 +1,16 @@
+package org.microboy.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MyLeaveRequestsDTO {
+
+	private LeaveBalanceDTO balance;
+	private List<LeaveRequestResponseDTO> leaveRequests;
+}
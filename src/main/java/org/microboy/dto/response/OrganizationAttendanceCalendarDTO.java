@@ -0,0 +1,25 @@
+package org.microboy.dto.response;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@RegisterForReflection
+public class OrganizationAttendanceCalendarDTO {
+	private int year;
+	private int month;
+	private int daysInMonth;
+	// Element d-1 is the number of employees with attendance on day d
+	private List<Integer> presentCountByDay;
+	private List<AttendanceCalendarDTO> employees;
+}
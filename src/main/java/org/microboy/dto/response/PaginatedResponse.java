@@ -17,4 +17,5 @@ public class PaginatedResponse<T> {
 	public int pageSize;
 	public long totalItems;
 	public int totalPages;
+	public String nextCursor;
 }
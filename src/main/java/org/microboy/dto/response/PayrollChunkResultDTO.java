@@ -0,0 +1,22 @@
+package org.microboy.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollChunkResultDTO {
+
+	private int chunkIndex;
+	private int employeeCount;
+	private int insertedCount;
+	private boolean success;
+	private String errorMessage;
+	// Only filled for failed chunks, so the caller can submit them again
+	private List<UUID> failedEmployeeIds;
+}
@@ -0,0 +1,32 @@
+package org.microboy.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.microboy.enums.PayrollJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollJobResponseDTO {
+
+	private UUID jobId;
+	private Integer month;
+	private Integer year;
+	private PayrollJobStatus status;
+	private int totalCount;
+	private int processedCount;
+	private int insertedCount;
+	private int failedChunkCount;
+	private String errorMessage;
+	private LocalDateTime createdAt;
+	private LocalDateTime startedAt;
+	private LocalDateTime finishedAt;
+	// Employees processed per second since the job started
+	private Double throughputPerSecond;
+	// Estimated seconds until completion, only while the job is running
+	private Long etaSeconds;
+}
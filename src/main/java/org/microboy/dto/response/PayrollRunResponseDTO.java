@@ -0,0 +1,21 @@
+package org.microboy.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollRunResponseDTO {
+
+	private Integer month;
+	private Integer year;
+	private int totalEmployees;
+	private int insertedCount;
+	private int failedChunkCount;
+	private List<PayrollChunkResultDTO> chunks;
+	private List<SalaryResponseDTO> salaries;
+}
@@ -2,6 +2,7 @@ package org.microboy.entity;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.panache.common.Sort;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -26,6 +27,8 @@ import java.util.UUID;
 @Table(name = "attendance")
 public class AttendanceEntity extends PanacheEntityBase {
 
+	// The table is partitioned by month, so its primary key is (attendance_id, attendance_date);
+	// queries should bound attendanceDate to touch a single partition
 	@Id
 	@UuidGenerator
 	@Column(name = "attendance_id")
@@ -58,8 +61,24 @@ public class AttendanceEntity extends PanacheEntityBase {
 			.firstResult();
 	}
 
+	/**
+	 * Newest first. Dates are unique per employee, so the order is total and pages are stable.
+	 */
 	public static PanacheQuery<AttendanceEntity> findByOrgAndEmployee(UUID organizationId, UUID employeeId) {
-		return find("organizationId = ?1 AND employeeId = ?2", organizationId, employeeId);
+		return find("organizationId = ?1 AND employeeId = ?2", Sort.descending("attendanceDate"), organizationId, employeeId);
+	}
+
+	/**
+	 * Keyset page of the employee's attendance strictly before {@code beforeDate} (newest first, no bound when null),
+	 * served by a backward scan of uk_attendance_org_emp_date.
+	 */
+	public static List<AttendanceEntity> findPageBefore(UUID organizationId, UUID employeeId, LocalDate beforeDate,
+	                                                    int limit) {
+		PanacheQuery<AttendanceEntity> query = beforeDate == null
+				? findByOrgAndEmployee(organizationId, employeeId)
+				: find("organizationId = ?1 AND employeeId = ?2 AND attendanceDate < ?3", Sort.descending("attendanceDate"),
+				       organizationId, employeeId, beforeDate);
+		return query.range(0, limit - 1).list();
 	}
 
 	public static List<AttendanceEntity> findByOrgAndEmployeeAndDateRange(UUID organizationId, UUID employeeId,
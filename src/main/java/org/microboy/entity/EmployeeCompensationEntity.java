@@ -0,0 +1,52 @@
+package org.microboy.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Effective-dated base salary of an employee, derived from "Base Salary" employee history records.
+ * The salary in force on a date is the row with the latest {@code effectiveFrom} not after that date.
+ */
+@Entity
+@Table(name = "employee_compensation")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@lombok.EqualsAndHashCode(callSuper = false)
+public class EmployeeCompensationEntity extends PanacheEntityBase {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.AUTO)
+	@Column(name = "compensation_id")
+	public UUID compensationId;
+
+	@Column(name = "organization_id", nullable = false)
+	public UUID organizationId;
+
+	@Column(name = "employee_id", nullable = false)
+	public UUID employeeId;
+
+	@Column(name = "base_salary", nullable = false, precision = 15, scale = 2)
+	public BigDecimal baseSalary;
+
+	@Column(name = "effective_from", nullable = false)
+	public LocalDate effectiveFrom;
+
+	@Column(name = "source_history_id", nullable = false)
+	public UUID sourceHistoryId;
+
+	@Column(name = "created_at", nullable = false)
+	public LocalDateTime createdAt = LocalDateTime.now();
+
+	public static long deleteBySourceHistoryId(UUID historyId) {
+		return delete("sourceHistoryId", historyId);
+	}
+}
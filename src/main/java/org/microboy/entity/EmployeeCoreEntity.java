@@ -2,6 +2,7 @@ package org.microboy.entity;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 import org.hibernate.annotations.UuidGenerator;
@@ -12,6 +13,7 @@ import org.microboy.enums.MaritalStatus;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.panache.common.Parameters;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -87,7 +89,9 @@ public class EmployeeCoreEntity extends PanacheEntityBase {
 	public UUID organizationId;
 
 	public static EmployeeCoreEntity findEmployeeByAccountEmail(String accountEmail) {
-		return find("accountEmail", accountEmail).firstResult();
+		return find("SELECT e FROM EmployeeCoreEntity e, UserEntity u"
+				            + " WHERE u.accountEmail = ?1 AND e.employeeId = u.employeeId", accountEmail)
+				.firstResult();
 	}
 
 	public static List<EmployeeCoreEntity> findEmployeesByPage(int page, int pageSize) {
@@ -102,4 +106,43 @@ public class EmployeeCoreEntity extends PanacheEntityBase {
 	public static PanacheQuery<PanacheEntityBase> findEmployeesByOrgId(UUID organizationId) {
 		return find("organizationId", organizationId);
 	}
+
+	/**
+	 * The organization owner's employee record, matched on company or personal email, which the directory lists
+	 * first. Looked up on its own so the rest of the directory can be paged on (organization_id, employee_id).
+	 */
+	public static EmployeeCoreEntity findDirectoryOwner(UUID organizationId, String ownerEmail) {
+		String owner = normalizeOwnerEmail(ownerEmail);
+		if (owner.isEmpty()) {
+			return null;
+		}
+		return find("organizationId = :organizationId"
+				            + " AND (lower(companyEmail) = :ownerEmail OR lower(personalEmail) = :ownerEmail)"
+				            + " ORDER BY employeeId",
+		            Parameters.with("organizationId", organizationId).and("ownerEmail", owner))
+				.firstResult();
+	}
+
+	/**
+	 * Everyone but the owner in employeeId order, after {@code afterEmployeeId} when given; a range scan on
+	 * idx_employee_core_org_employee.
+	 */
+	public static PanacheQuery<EmployeeCoreEntity> findDirectoryMembers(UUID organizationId, UUID ownerEmployeeId,
+	                                                                    UUID afterEmployeeId) {
+		StringBuilder query = new StringBuilder("organizationId = :organizationId");
+		Parameters parameters = Parameters.with("organizationId", organizationId);
+		if (ownerEmployeeId != null) {
+			query.append(" AND employeeId <> :ownerEmployeeId");
+			parameters.and("ownerEmployeeId", ownerEmployeeId);
+		}
+		if (afterEmployeeId != null) {
+			query.append(" AND employeeId > :afterEmployeeId");
+			parameters.and("afterEmployeeId", afterEmployeeId);
+		}
+		return find(query.append(" ORDER BY employeeId").toString(), parameters);
+	}
+
+	private static String normalizeOwnerEmail(String email) {
+		return email == null ? "" : email.toLowerCase(Locale.ROOT);
+	}
 }
@@ -0,0 +1,46 @@
+package org.microboy.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Running leave balance of an employee, the sum of their leave_balance_entries. Written only by
+ * {@link org.microboy.repository.LeaveBalanceRepository} in the same statement that appends the entry.
+ */
+@Entity
+@Table(name = "leave_balances")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveBalanceEntity extends PanacheEntityBase {
+
+	@Id
+	@Column(name = "employee_id")
+	public UUID employeeId;
+
+	@Column(name = "organization_id", nullable = false)
+	public UUID organizationId;
+
+	@Column(name = "balance_days", nullable = false)
+	public BigDecimal balanceDays;
+
+	@Column(name = "accrued_days", nullable = false)
+	public BigDecimal accruedDays;
+
+	@Column(name = "used_days", nullable = false)
+	public BigDecimal usedDays;
+
+	// Days of PENDING requests, not yet debited
+	@Column(name = "pending_days", nullable = false)
+	public BigDecimal pendingDays;
+
+	@Column(name = "updated_at", nullable = false)
+	public LocalDateTime updatedAt;
+}
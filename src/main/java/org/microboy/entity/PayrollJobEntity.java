@@ -0,0 +1,73 @@
+package org.microboy.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.microboy.enums.PayrollJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "payroll_job")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@lombok.EqualsAndHashCode(callSuper = false)
+public class PayrollJobEntity extends PanacheEntityBase {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.AUTO)
+	@Column(name = "job_id")
+	public UUID jobId;
+
+	@Column(name = "organization_id", nullable = false)
+	public UUID organizationId;
+
+	@Column(name = "month", nullable = false)
+	public Integer month;
+
+	@Column(name = "year", nullable = false)
+	public Integer year;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status", nullable = false)
+	public PayrollJobStatus status = PayrollJobStatus.QUEUED;
+
+	@Column(name = "total_count", nullable = false)
+	public int totalCount;
+
+	@Column(name = "processed_count", nullable = false)
+	public int processedCount;
+
+	@Column(name = "inserted_count", nullable = false)
+	public int insertedCount;
+
+	@Column(name = "failed_chunk_count", nullable = false)
+	public int failedChunkCount;
+
+	@Column(name = "error_message", length = 1000)
+	public String errorMessage;
+
+	@Column(name = "requested_by")
+	public UUID requestedBy;
+
+	// Node that runs the job, so that node fails it right away on restart
+	@Column(name = "node_id", nullable = false)
+	public String nodeId;
+
+	// Lease renewed by the running node; once it lapses any node fails the job
+	@Column(name = "heartbeat_at")
+	public LocalDateTime heartbeatAt;
+
+	@Column(name = "created_at", nullable = false)
+	public LocalDateTime createdAt = LocalDateTime.now();
+
+	@Column(name = "started_at")
+	public LocalDateTime startedAt;
+
+	@Column(name = "finished_at")
+	public LocalDateTime finishedAt;
+}
@@ -61,6 +61,10 @@ public class SalaryEntity extends PanacheEntityBase {
 	@Column(name = "updated_at")
 	public LocalDateTime updatedAt;
 
+	// Background payroll job that inserted the row; null for synchronous runs and manual records
+	@Column(name = "payroll_job_id")
+	public UUID payrollJobId;
+
 	@PrePersist
 	protected void onCreate() {
 		createdAt = LocalDateTime.now();
@@ -0,0 +1,7 @@
+package org.microboy.enums;
+
+public enum AttendanceImportStatus {
+	RUNNING,
+	COMPLETED,
+	FAILED
+}
@@ -0,0 +1,13 @@
+package org.microboy.enums;
+
+/**
+ * How the sweeper picks the check-out time of an attendance row nobody checked out
+ */
+public enum AutoCheckoutPolicy {
+	// The configured time of day, or the check-in time if that was later
+	FIXED_TIME,
+	// Check-in time plus the configured shift length, at most the end of the day
+	SHIFT_LENGTH,
+	// Same as check-in, so the day counts as attended with no worked time
+	CHECK_IN_TIME
+}
@@ -0,0 +1,6 @@
+package org.microboy.enums;
+
+public enum LeaveBalanceEntryType {
+	ACCRUAL,
+	DEBIT
+}
@@ -0,0 +1,9 @@
+package org.microboy.enums;
+
+public enum LeaveStatusUpdateOutcome {
+	UPDATED,
+	// Already approved, rejected or cancelled, possibly by a concurrent request
+	NOT_PENDING,
+	// Unknown id or a request of another organization
+	NOT_FOUND
+}
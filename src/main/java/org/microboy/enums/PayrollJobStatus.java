@@ -0,0 +1,9 @@
+package org.microboy.enums;
+
+public enum PayrollJobStatus {
+	QUEUED,
+	RUNNING,
+	COMPLETED,
+	COMPLETED_WITH_ERRORS,
+	FAILED
+}
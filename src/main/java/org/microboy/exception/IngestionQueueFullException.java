@@ -0,0 +1,16 @@
+package org.microboy.exception;
+
+import java.io.Serial;
+
+/**
+ * Thrown when the attendance ingestion queue has no room left; mapped to 429 Too Many Requests.
+ */
+public class IngestionQueueFullException extends GeneralException {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	public IngestionQueueFullException(String message) {
+		super(message);
+	}
+}
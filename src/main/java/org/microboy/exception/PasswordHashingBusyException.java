@@ -0,0 +1,16 @@
+package org.microboy.exception;
+
+import java.io.Serial;
+
+/**
+ * Thrown when the password hashing queue has no room left; mapped to 503 Service Unavailable.
+ */
+public class PasswordHashingBusyException extends GeneralException {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	public PasswordHashingBusyException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,22 @@
+package org.microboy.exception.handler;
+
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import org.microboy.exception.ErrorMessage;
+import org.microboy.exception.PasswordHashingBusyException;
+
+@Provider
+public class PasswordHashingBusyExceptionHandler implements ExceptionMapper<PasswordHashingBusyException> {
+
+	@Override
+	public Response toResponse(PasswordHashingBusyException e) {
+		return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+		               .header("Retry-After", 1)
+		               .entity(new ErrorMessage(false,
+		                                        Response.Status.SERVICE_UNAVAILABLE.getStatusCode(),
+		                                        e.getMessage(),
+		                                        null))
+		               .build();
+	}
+}
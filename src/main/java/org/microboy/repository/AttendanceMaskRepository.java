@@ -0,0 +1,93 @@
+package org.microboy.repository;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.microboy.repository.AttendanceRepository.RowKey;
+import org.microboy.utils.DayMask;
+
+import java.sql.PreparedStatement;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Monthly presence bitmaps in {@code attendance_month_mask}, one {@link DayMask} per (employee, month).
+ * Every attendance row sets its day's bit, so "which days was E present in M" is a single int.
+ */
+@ApplicationScoped
+@RequiredArgsConstructor
+public class AttendanceMaskRepository {
+
+	private static final String MARK_PRESENT =
+			"INSERT INTO attendance_month_mask AS m (employee_id, year, month, organization_id, days_mask)"
+			+ " VALUES (?, ?, ?, ?, ?)"
+			+ " ON CONFLICT (employee_id, year, month) DO UPDATE SET days_mask = m.days_mask | EXCLUDED.days_mask"
+			+ " WHERE m.days_mask & EXCLUDED.days_mask = 0";
+
+	private final EntityManager entityManager;
+
+	/**
+	 * Sets the bit of each row's day, with JDBC batching
+	 */
+	public void markPresent(Collection<RowKey> days) {
+		if (days.isEmpty()) {
+			return;
+		}
+		entityManager.unwrap(Session.class).doWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(MARK_PRESENT)) {
+				for (RowKey day : days) {
+					statement.setObject(1, day.employeeId());
+					statement.setInt(2, day.date().getYear());
+					statement.setInt(3, day.date().getMonthValue());
+					statement.setObject(4, day.organizationId());
+					statement.setInt(5, DayMask.of(day.date()));
+					statement.addBatch();
+				}
+				statement.executeBatch();
+			}
+		});
+	}
+
+	/**
+	 * Masks of the organization's employees for the month; employees without attendance are absent.
+	 * {@code employeeIds} narrows the result; {@code null} means the whole organization.
+	 */
+	@SuppressWarnings("unchecked")
+	public Map<UUID, Integer> findMasks(UUID organizationId, YearMonth month, Collection<UUID> employeeIds) {
+		Query query = entityManager.createNativeQuery(
+				"SELECT employee_id, days_mask FROM attendance_month_mask"
+				+ " WHERE organization_id = :organizationId AND year = :year AND month = :month"
+				+ (employeeIds == null ? "" : " AND employee_id IN (:employeeIds)"))
+				.setParameter("organizationId", organizationId)
+				.setParameter("year", month.getYear())
+				.setParameter("month", month.getMonthValue());
+		if (employeeIds != null) {
+			query.setParameter("employeeIds", employeeIds);
+		}
+		Map<UUID, Integer> masks = new HashMap<>();
+		for (Object[] row : (List<Object[]>) query.getResultList()) {
+			masks.put((UUID) row[0], ((Number) row[1]).intValue());
+		}
+		return masks;
+	}
+
+	/**
+	 * Total attended days of the employee, from one mask per month instead of the attendance rows
+	 */
+	@SuppressWarnings("unchecked")
+	public long countDays(UUID organizationId, UUID employeeId) {
+		List<Number> masks = entityManager.createNativeQuery(
+				"SELECT days_mask FROM attendance_month_mask WHERE employee_id = :employeeId"
+				+ " AND organization_id = :organizationId")
+				.setParameter("employeeId", employeeId)
+				.setParameter("organizationId", organizationId)
+				.getResultList();
+		return masks.stream().mapToLong(mask -> DayMask.count(mask.intValue())).sum();
+	}
+}
@@ -0,0 +1,84 @@
+package org.microboy.repository;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DDL for the monthly partitions of {@code attendance}, named attendance_yYYYYmMM.
+ */
+@ApplicationScoped
+@RequiredArgsConstructor
+public class AttendancePartitionRepository {
+
+	private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+	private static final String PARTITION_PREFIX = "attendance_";
+	private static final String ARCHIVE_PREFIX = "attendance_archive_";
+	// Arbitrary key shared by all nodes so only one of them runs the maintenance at a time
+	private static final long MAINTENANCE_LOCK_KEY = 0x61747465_6e64616cL;
+
+	private final EntityManager entityManager;
+
+	/**
+	 * Takes a transaction-scoped advisory lock; {@code false} if another node holds it
+	 */
+	public boolean tryLockMaintenance() {
+		return (Boolean) entityManager.createNativeQuery("SELECT pg_try_advisory_xact_lock(:key)")
+		                              .setParameter("key", MAINTENANCE_LOCK_KEY)
+		                              .getSingleResult();
+	}
+
+	/**
+	 * @return the months that currently have an attached partition, excluding the default partition
+	 */
+	@SuppressWarnings("unchecked")
+	public List<YearMonth> findPartitionMonths() {
+		List<String> names = entityManager.createNativeQuery(
+				"SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+				+ " WHERE i.inhparent = 'attendance'::regclass")
+				.getResultList();
+		List<YearMonth> months = new ArrayList<>();
+		for (String name : names) {
+			if (!name.startsWith(PARTITION_PREFIX)) {
+				continue;
+			}
+			try {
+				months.add(YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+			} catch (DateTimeParseException e) {
+				// attendance_default or a manually added partition
+			}
+		}
+		return months;
+	}
+
+	/**
+	 * Fails if the default partition already holds rows for the month
+	 */
+	public void createPartition(YearMonth month) {
+		entityManager.createNativeQuery(String.format(
+				"CREATE TABLE IF NOT EXISTS %s PARTITION OF attendance FOR VALUES FROM ('%s') TO ('%s')",
+				partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)))
+		             .executeUpdate();
+	}
+
+	/**
+	 * Detaches the month's partition and keeps it as the standalone table attendance_archive_yYYYYmMM
+	 */
+	public void archivePartition(YearMonth month) {
+		entityManager.createNativeQuery("ALTER TABLE attendance DETACH PARTITION " + partitionName(month))
+		             .executeUpdate();
+		entityManager.createNativeQuery("ALTER TABLE " + partitionName(month) + " RENAME TO "
+		                                + ARCHIVE_PREFIX + month.format(PARTITION_SUFFIX))
+		             .executeUpdate();
+	}
+
+	private static String partitionName(YearMonth month) {
+		return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+	}
+}
@@ -0,0 +1,348 @@
+package org.microboy.repository;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.microboy.entity.AttendanceEntity;
+import org.microboy.enums.AttendanceStatus;
+import org.microboy.enums.AutoCheckoutPolicy;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Check-in and check-out as single statements, so concurrent requests for the same employee and day
+ * are serialized by uk_attendance_org_emp_date instead of racing between a read and a write.
+ */
+@ApplicationScoped
+@RequiredArgsConstructor
+public class AttendanceRepository {
+
+	private static final String RETURNING =
+			" RETURNING attendance_id, organization_id, employee_id, attendance_date, check_in_time, check_out_time,"
+			+ " status, notes";
+
+	// A day that was already checked out is re-opened; an open check-in is left alone and affects no row
+	private static final String UPSERT_CHECK_IN_ROW =
+			"INSERT INTO attendance AS a (attendance_id, organization_id, employee_id, attendance_date, check_in_time,"
+			+ " check_out_time, status, notes) VALUES (?, ?, ?, ?, ?, NULL, ?, ?)"
+			+ " ON CONFLICT (organization_id, employee_id, attendance_date) DO UPDATE"
+			+ " SET check_in_time = EXCLUDED.check_in_time, check_out_time = NULL, status = EXCLUDED.status,"
+			+ " notes = COALESCE(NULLIF(TRIM(EXCLUDED.notes), ''), a.notes)"
+			+ " WHERE a.check_out_time IS NOT NULL";
+
+	private static final String CHECK_OUT_ROW =
+			"UPDATE attendance SET check_out_time = ?, status = ?, notes = COALESCE(NULLIF(TRIM(?), ''), notes)"
+			+ " WHERE organization_id = ? AND employee_id = ? AND attendance_date = ? AND check_out_time IS NULL";
+
+	private static final String UPSERT_CHECK_IN = UPSERT_CHECK_IN_ROW + RETURNING;
+
+	private static final String CHECK_OUT = CHECK_OUT_ROW + RETURNING;
+
+	private static final String SELECT_BY_KEYS =
+			"SELECT attendance_id, organization_id, employee_id, attendance_date, check_in_time, check_out_time,"
+			+ " status, notes FROM attendance"
+			+ " WHERE attendance_date BETWEEN ? AND ?"
+			+ " AND (organization_id, employee_id, attendance_date) IN"
+			+ " (SELECT * FROM unnest(?::uuid[], ?::uuid[], ?::date[]))";
+
+	// Imported days merge with existing rows: earliest check-in, latest check-out
+	private static final String UPSERT_IMPORTED =
+			"INSERT INTO attendance AS a (attendance_id, organization_id, employee_id, attendance_date, check_in_time,"
+			+ " check_out_time, status, notes)"
+			+ " SELECT * FROM unnest(?::uuid[], ?::uuid[], ?::uuid[], ?::date[], ?::timestamp[], ?::timestamp[],"
+			+ " ?::text[], ?::text[])"
+			+ " ON CONFLICT (organization_id, employee_id, attendance_date) DO UPDATE"
+			+ " SET check_in_time = LEAST(a.check_in_time, EXCLUDED.check_in_time),"
+			+ " check_out_time = GREATEST(a.check_out_time, EXCLUDED.check_out_time),"
+			+ " status = CASE WHEN GREATEST(a.check_out_time, EXCLUDED.check_out_time) IS NULL"
+			+ " THEN '" + AttendanceStatus.PENDING.name() + "' ELSE '" + AttendanceStatus.PRESENT.name() + "' END,"
+			+ " notes = COALESCE(NULLIF(TRIM(EXCLUDED.notes), ''), a.notes)";
+
+	// Open rows are claimed with SKIP LOCKED so the sweep never waits on a concurrent check-out
+	private static final String AUTO_CHECK_OUT =
+			"UPDATE attendance a SET check_out_time = %s, status = ?,"
+			+ " notes = CONCAT_WS(' ', NULLIF(TRIM(a.notes), ''), '[auto checkout]')"
+			+ " WHERE (a.attendance_id, a.attendance_date) IN ("
+			+ " SELECT attendance_id, attendance_date FROM attendance"
+			+ " WHERE organization_id = ? AND attendance_date >= ? AND attendance_date < ? AND check_out_time IS NULL"
+			+ " LIMIT ? FOR UPDATE SKIP LOCKED)";
+
+	private final EntityManager entityManager;
+
+	public enum PunchType { CHECK_IN, CHECK_OUT }
+
+	/**
+	 * The (organization, employee, day) an attendance row is unique on
+	 */
+	public record RowKey(UUID organizationId, UUID employeeId, LocalDate date) {}
+
+	public record Punch(PunchType type, UUID organizationId, UUID employeeId, LocalDate date, LocalDateTime time,
+	                    String notes) {
+
+		public RowKey key() {
+			return new RowKey(organizationId, employeeId, date);
+		}
+	}
+
+	/**
+	 * One day of attendance from a bulk import; {@code checkOutTime} may be {@code null}
+	 */
+	public record ImportedDay(UUID employeeId, LocalDate date, LocalDateTime checkInTime, LocalDateTime checkOutTime,
+	                          String notes) {}
+
+	/**
+	 * @param applied whether the punch changed the row
+	 * @param created whether the punch inserted a new row, as opposed to re-opening or checking out an existing one
+	 * @param row     the attendance row for the punch's day after the whole batch, {@code null} if there is none
+	 */
+	public record PunchOutcome(boolean applied, boolean created, AttendanceEntity row) {}
+
+	/**
+	 * @param attendanceId id for the row if it is inserted; a re-opened row keeps its own id
+	 * @return the new or re-opened attendance row; empty if the employee is already checked in for the day
+	 */
+	public Optional<AttendanceEntity> upsertCheckIn(UUID attendanceId, UUID organizationId, UUID employeeId,
+	                                                LocalDate date, LocalDateTime checkInTime, String notes) {
+		return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(UPSERT_CHECK_IN)) {
+				bindCheckIn(statement, attendanceId, organizationId, employeeId, date, checkInTime, notes);
+				return readSingle(statement);
+			}
+		});
+	}
+
+	/**
+	 * @return the checked-out attendance row; empty if there is no open check-in for the day
+	 */
+	public Optional<AttendanceEntity> checkOut(UUID organizationId, UUID employeeId, LocalDate date,
+	                                           LocalDateTime checkOutTime, String notes) {
+		return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(CHECK_OUT)) {
+				bindCheckOut(statement, organizationId, employeeId, date, checkOutTime, notes);
+				return readSingle(statement);
+			}
+		});
+	}
+
+	/**
+	 * Applies a batch of punches on the current transaction's connection: one JDBC batch of check-ins,
+	 * one of check-outs and one read of the resulting rows. Punches must not share a {@link RowKey},
+	 * since the rows are read back only once the whole batch has been applied.
+	 *
+	 * @return one outcome per punch, in the order of {@code punches}
+	 */
+	public List<PunchOutcome> applyPunches(List<Punch> punches) {
+		if (punches.isEmpty()) {
+			return List.of();
+		}
+		return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+			boolean[] applied = new boolean[punches.size()];
+			UUID[] newIds = new UUID[punches.size()];
+			executeBatch(connection, UPSERT_CHECK_IN_ROW, PunchType.CHECK_IN, punches, newIds, applied);
+			executeBatch(connection, CHECK_OUT_ROW, PunchType.CHECK_OUT, punches, newIds, applied);
+
+			Map<RowKey, AttendanceEntity> rows = new HashMap<>();
+			try (PreparedStatement statement = connection.prepareStatement(SELECT_BY_KEYS)) {
+				// The explicit date range lets the planner prune attendance partitions
+				statement.setObject(1, punches.stream().map(Punch::date).min(LocalDate::compareTo).orElseThrow());
+				statement.setObject(2, punches.stream().map(Punch::date).max(LocalDate::compareTo).orElseThrow());
+				statement.setArray(3, connection.createArrayOf("uuid",
+						punches.stream().map(Punch::organizationId).toArray()));
+				statement.setArray(4, connection.createArrayOf("uuid",
+						punches.stream().map(Punch::employeeId).toArray()));
+				statement.setArray(5, connection.createArrayOf("date",
+						punches.stream().map(punch -> Date.valueOf(punch.date())).toArray()));
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						AttendanceEntity row = mapRow(resultSet);
+						rows.put(keyOf(row), row);
+					}
+				}
+			}
+
+			List<PunchOutcome> outcomes = new ArrayList<>(punches.size());
+			for (int i = 0; i < punches.size(); i++) {
+				AttendanceEntity row = rows.get(punches.get(i).key());
+				boolean created = applied[i] && row != null && row.attendanceId.equals(newIds[i]);
+				outcomes.add(new PunchOutcome(applied[i], created, row));
+			}
+			return outcomes;
+		});
+	}
+
+	/**
+	 * Upserts imported days of one organization with a single multi-row statement.
+	 * Days must not repeat an (employee, date) within one call.
+	 */
+	public void upsertImported(UUID organizationId, List<ImportedDay> days) {
+		if (days.isEmpty()) {
+			return;
+		}
+		int size = days.size();
+		Object[] attendanceIds = new Object[size];
+		Object[] organizationIds = new Object[size];
+		Object[] employeeIds = new Object[size];
+		Object[] dates = new Object[size];
+		Object[] checkIns = new Object[size];
+		Object[] checkOuts = new Object[size];
+		Object[] statuses = new Object[size];
+		Object[] notes = new Object[size];
+		for (int i = 0; i < size; i++) {
+			ImportedDay day = days.get(i);
+			attendanceIds[i] = UUID.randomUUID();
+			organizationIds[i] = organizationId;
+			employeeIds[i] = day.employeeId();
+			dates[i] = Date.valueOf(day.date());
+			checkIns[i] = Timestamp.valueOf(day.checkInTime());
+			checkOuts[i] = day.checkOutTime() == null ? null : Timestamp.valueOf(day.checkOutTime());
+			statuses[i] = (day.checkOutTime() == null ? AttendanceStatus.PENDING : AttendanceStatus.PRESENT).name();
+			notes[i] = day.notes();
+		}
+		entityManager.unwrap(Session.class).doWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(UPSERT_IMPORTED)) {
+				statement.setArray(1, connection.createArrayOf("uuid", attendanceIds));
+				statement.setArray(2, connection.createArrayOf("uuid", organizationIds));
+				statement.setArray(3, connection.createArrayOf("uuid", employeeIds));
+				statement.setArray(4, connection.createArrayOf("date", dates));
+				statement.setArray(5, connection.createArrayOf("timestamp", checkIns));
+				statement.setArray(6, connection.createArrayOf("timestamp", checkOuts));
+				statement.setArray(7, connection.createArrayOf("text", statuses));
+				statement.setArray(8, connection.createArrayOf("text", notes));
+				statement.executeUpdate();
+			}
+		});
+	}
+
+	/**
+	 * Organizations with rows still checked in on a day in [from, before)
+	 */
+	public List<UUID> findOrganizationsWithOpenRows(LocalDate from, LocalDate before) {
+		return entityManager.createQuery(
+				"SELECT DISTINCT a.organizationId FROM AttendanceEntity a"
+				+ " WHERE a.attendanceDate >= ?1 AND a.attendanceDate < ?2 AND a.checkOutTime IS NULL", UUID.class)
+				.setParameter(1, from)
+				.setParameter(2, before)
+				.getResultList();
+	}
+
+	/**
+	 * Checks out up to {@code limit} of the organization's rows still open on a day in [from, before)
+	 *
+	 * @return number of rows closed
+	 */
+	public int autoCheckOut(UUID organizationId, LocalDate from, LocalDate before, AutoCheckoutPolicy policy,
+	                        LocalTime fixedTime, int shiftHours, int limit) {
+		String checkOutTime = switch (policy) {
+			case FIXED_TIME -> "GREATEST(a.attendance_date + ?::time, a.check_in_time)";
+			case SHIFT_LENGTH -> "LEAST(a.check_in_time + ? * INTERVAL '1 hour',"
+			                     + " a.attendance_date + INTERVAL '1 day' - INTERVAL '1 second')";
+			case CHECK_IN_TIME -> "a.check_in_time";
+		};
+		return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(String.format(AUTO_CHECK_OUT, checkOutTime))) {
+				int index = 1;
+				if (policy == AutoCheckoutPolicy.FIXED_TIME) {
+					statement.setString(index++, fixedTime.toString());
+				} else if (policy == AutoCheckoutPolicy.SHIFT_LENGTH) {
+					statement.setInt(index++, shiftHours);
+				}
+				statement.setString(index++, AttendanceStatus.PRESENT.name());
+				statement.setObject(index++, organizationId);
+				statement.setObject(index++, from);
+				statement.setObject(index++, before);
+				statement.setInt(index, limit);
+				return statement.executeUpdate();
+			}
+		});
+	}
+
+	private static void executeBatch(Connection connection, String sql, PunchType type, List<Punch> punches,
+	                                 UUID[] newIds, boolean[] applied) throws SQLException {
+		List<Integer> indexes = new ArrayList<>();
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			for (int i = 0; i < punches.size(); i++) {
+				Punch punch = punches.get(i);
+				if (punch.type() != type) {
+					continue;
+				}
+				if (type == PunchType.CHECK_IN) {
+					newIds[i] = UUID.randomUUID();
+					bindCheckIn(statement, newIds[i], punch.organizationId(), punch.employeeId(), punch.date(),
+					            punch.time(), punch.notes());
+				} else {
+					bindCheckOut(statement, punch.organizationId(), punch.employeeId(), punch.date(), punch.time(),
+					             punch.notes());
+				}
+				statement.addBatch();
+				indexes.add(i);
+			}
+			if (indexes.isEmpty()) {
+				return;
+			}
+			int[] updateCounts = statement.executeBatch();
+			for (int j = 0; j < updateCounts.length; j++) {
+				applied[indexes.get(j)] = updateCounts[j] != 0;
+			}
+		}
+	}
+
+	private static RowKey keyOf(AttendanceEntity row) {
+		return new RowKey(row.organizationId, row.employeeId, row.attendanceDate);
+	}
+
+	private static void bindCheckIn(PreparedStatement statement, UUID attendanceId, UUID organizationId,
+	                                UUID employeeId, LocalDate date, LocalDateTime checkInTime, String notes)
+			throws SQLException {
+		statement.setObject(1, attendanceId);
+		statement.setObject(2, organizationId);
+		statement.setObject(3, employeeId);
+		statement.setObject(4, date);
+		statement.setObject(5, checkInTime);
+		statement.setString(6, AttendanceStatus.PENDING.name());
+		statement.setString(7, notes);
+	}
+
+	private static void bindCheckOut(PreparedStatement statement, UUID organizationId, UUID employeeId, LocalDate date,
+	                                 LocalDateTime checkOutTime, String notes) throws SQLException {
+		statement.setObject(1, checkOutTime);
+		statement.setString(2, AttendanceStatus.PRESENT.name());
+		statement.setString(3, notes);
+		statement.setObject(4, organizationId);
+		statement.setObject(5, employeeId);
+		statement.setObject(6, date);
+	}
+
+	private static Optional<AttendanceEntity> readSingle(PreparedStatement statement) throws SQLException {
+		try (ResultSet resultSet = statement.executeQuery()) {
+			return resultSet.next() ? Optional.of(mapRow(resultSet)) : Optional.empty();
+		}
+	}
+
+	private static AttendanceEntity mapRow(ResultSet resultSet) throws SQLException {
+		return AttendanceEntity.builder()
+		                       .attendanceId(resultSet.getObject(1, UUID.class))
+		                       .organizationId(resultSet.getObject(2, UUID.class))
+		                       .employeeId(resultSet.getObject(3, UUID.class))
+		                       .attendanceDate(resultSet.getObject(4, LocalDate.class))
+		                       .checkInTime(resultSet.getObject(5, LocalDateTime.class))
+		                       .checkOutTime(resultSet.getObject(6, LocalDateTime.class))
+		                       .status(AttendanceStatus.fromString(resultSet.getString(7)))
+		                       .notes(resultSet.getString(8))
+		                       .build();
+	}
+}
@@ -0,0 +1,185 @@
+package org.microboy.repository;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.microboy.entity.LeaveBalanceEntity;
+import org.microboy.enums.LeaveBalanceEntryType;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Leave balance ledger: append-only {@code leave_balance_entries} plus the per-employee {@code leave_balances}
+ * snapshot. Every write appends the entry and adjusts the snapshot in one statement, and the entry's unique key
+ * (per leave request, or per employee and accrual month) makes replays no-ops.
+ */
+@ApplicationScoped
+@RequiredArgsConstructor
+public class LeaveBalanceRepository {
+
+	private static final String UPSERT_BALANCE =
+			"INSERT INTO leave_balances (employee_id, organization_id, balance_days, accrued_days, used_days,"
+			+ " pending_days, updated_at)";
+
+	private static final String ACCRUE =
+			"WITH accrued AS ("
+			+ " INSERT INTO leave_balance_entries (entry_id, organization_id, employee_id, entry_type, days,"
+			+ " accrual_year, accrual_month, created_at)"
+			+ " SELECT gen_random_uuid(), e.organization_id, e.employee_id, :entryType, :days, :year, :month,"
+			+ " CURRENT_TIMESTAMP"
+			+ " FROM employee_core e WHERE e.organization_id = :organizationId"
+			+ " ON CONFLICT DO NOTHING"
+			+ " RETURNING organization_id, employee_id, days)"
+			+ " " + UPSERT_BALANCE
+			+ " SELECT employee_id, organization_id, days, days, 0, 0, CURRENT_TIMESTAMP FROM accrued"
+			+ " ON CONFLICT (employee_id) DO UPDATE SET"
+			+ " organization_id = EXCLUDED.organization_id,"
+			+ " balance_days = leave_balances.balance_days + EXCLUDED.balance_days,"
+			+ " accrued_days = leave_balances.accrued_days + EXCLUDED.accrued_days,"
+			+ " updated_at = EXCLUDED.updated_at";
+
+	// Debiting also releases the days the requests held while pending; rows are summed per employee first
+	// because one upsert cannot touch the same snapshot row twice
+	private static final String DEBIT =
+			"WITH debited AS ("
+			+ " INSERT INTO leave_balance_entries (entry_id, organization_id, employee_id, entry_type, days,"
+			+ " leave_request_id, created_at)"
+			+ " SELECT gen_random_uuid(), ?, r.employee_id, ?, -r.days, r.leave_request_id, CURRENT_TIMESTAMP"
+			+ " FROM unnest(?::uuid[], ?::uuid[], ?::numeric[]) AS r(leave_request_id, employee_id, days)"
+			+ " ON CONFLICT DO NOTHING"
+			+ " RETURNING organization_id, employee_id, -days AS days),"
+			+ " per_employee AS (SELECT employee_id, organization_id, SUM(days) AS days FROM debited"
+			+ " GROUP BY employee_id, organization_id)"
+			+ " " + UPSERT_BALANCE
+			+ " SELECT employee_id, organization_id, -days, 0, days, 0, CURRENT_TIMESTAMP FROM per_employee"
+			+ " ON CONFLICT (employee_id) DO UPDATE SET"
+			+ " balance_days = leave_balances.balance_days + EXCLUDED.balance_days,"
+			+ " used_days = leave_balances.used_days + EXCLUDED.used_days,"
+			+ " pending_days = GREATEST(leave_balances.pending_days - EXCLUDED.used_days, 0),"
+			+ " updated_at = EXCLUDED.updated_at";
+
+	private static final String RELEASE_PENDING =
+			"UPDATE leave_balances b SET pending_days = GREATEST(b.pending_days - r.days, 0), updated_at = CURRENT_TIMESTAMP"
+			+ " FROM (SELECT employee_id, SUM(days) AS days"
+			+ " FROM unnest(?::uuid[], ?::numeric[]) AS r(employee_id, days) GROUP BY employee_id) r"
+			+ " WHERE b.employee_id = r.employee_id";
+
+	private static final String RESERVE_PENDING =
+			UPSERT_BALANCE
+			+ " VALUES (:employeeId, :organizationId, 0, 0, 0, :days, CURRENT_TIMESTAMP)"
+			+ " ON CONFLICT (employee_id) DO UPDATE SET"
+			+ " pending_days = leave_balances.pending_days + EXCLUDED.pending_days,"
+			+ " updated_at = EXCLUDED.updated_at";
+
+	private final EntityManager entityManager;
+
+	/**
+	 * Days of one leave request
+	 */
+	public record LeaveDays(UUID leaveRequestId, UUID employeeId, BigDecimal days) {}
+
+	/**
+	 * @return the employee's balance, or {@code null} before their first accrual or request
+	 */
+	public LeaveBalanceEntity findByEmployeeId(UUID employeeId) {
+		return entityManager.find(LeaveBalanceEntity.class, employeeId);
+	}
+
+	public List<UUID> findOrganizationsWithEmployees() {
+		return entityManager.createQuery(
+				"SELECT DISTINCT e.organizationId FROM EmployeeCoreEntity e WHERE e.organizationId IS NOT NULL", UUID.class)
+				.getResultList();
+	}
+
+	/**
+	 * @return the latest month each organization was credited for; organizations never credited are absent
+	 */
+	public Map<UUID, YearMonth> findLastAccruedMonths() {
+		List<?> rows = entityManager.createNativeQuery(
+				"SELECT organization_id, MAX(accrual_year * 12 + accrual_month - 1) FROM leave_balance_entries"
+				+ " WHERE entry_type = :entryType GROUP BY organization_id")
+				.setParameter("entryType", LeaveBalanceEntryType.ACCRUAL.name())
+				.getResultList();
+		Map<UUID, YearMonth> months = new HashMap<>();
+		for (Object row : rows) {
+			Object[] columns = (Object[]) row;
+			int monthIndex = ((Number) columns[1]).intValue();
+			months.put((UUID) columns[0], YearMonth.of(monthIndex / 12, monthIndex % 12 + 1));
+		}
+		return months;
+	}
+
+	/**
+	 * Credits {@code days} for {@code month} to every employee of the organization not yet credited for it
+	 *
+	 * @return number of employees credited
+	 */
+	public int accrue(UUID organizationId, YearMonth month, BigDecimal days) {
+		return entityManager.createNativeQuery(ACCRUE)
+		                    .setParameter("organizationId", organizationId)
+		                    .setParameter("entryType", LeaveBalanceEntryType.ACCRUAL.name())
+		                    .setParameter("days", days)
+		                    .setParameter("year", month.getYear())
+		                    .setParameter("month", month.getMonthValue())
+		                    .executeUpdate();
+	}
+
+	/**
+	 * Debits approved leave requests of the organization, each at most once
+	 */
+	public void debit(UUID organizationId, Collection<LeaveDays> requests) {
+		if (requests.isEmpty()) {
+			return;
+		}
+		entityManager.unwrap(Session.class).doWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(DEBIT)) {
+				statement.setObject(1, organizationId);
+				statement.setString(2, LeaveBalanceEntryType.DEBIT.name());
+				statement.setArray(3, connection.createArrayOf("uuid",
+						requests.stream().map(LeaveDays::leaveRequestId).toArray()));
+				statement.setArray(4, connection.createArrayOf("uuid",
+						requests.stream().map(LeaveDays::employeeId).toArray()));
+				statement.setArray(5, connection.createArrayOf("numeric",
+						requests.stream().map(LeaveDays::days).toArray()));
+				statement.executeUpdate();
+			}
+		});
+	}
+
+	/**
+	 * Holds {@code days} of a new pending request against the balance
+	 */
+	public void reservePending(UUID organizationId, UUID employeeId, BigDecimal days) {
+		entityManager.createNativeQuery(RESERVE_PENDING)
+		             .setParameter("organizationId", organizationId)
+		             .setParameter("employeeId", employeeId)
+		             .setParameter("days", days)
+		             .executeUpdate();
+	}
+
+	/**
+	 * Releases the days held by pending requests that were not approved
+	 */
+	public void releasePending(Collection<LeaveDays> requests) {
+		if (requests.isEmpty()) {
+			return;
+		}
+		entityManager.unwrap(Session.class).doWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(RELEASE_PENDING)) {
+				statement.setArray(1, connection.createArrayOf("uuid",
+						requests.stream().map(LeaveDays::employeeId).toArray()));
+				statement.setArray(2, connection.createArrayOf("numeric",
+						requests.stream().map(LeaveDays::days).toArray()));
+				statement.executeUpdate();
+			}
+		});
+	}
+}
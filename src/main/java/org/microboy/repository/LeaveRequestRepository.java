@@ -1,16 +1,53 @@
 package org.microboy.repository;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.panache.common.Parameters;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.Session;
 import org.microboy.entity.LeaveRequestEntity;
 import org.microboy.enums.LeaveStatus;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @ApplicationScoped
 public class LeaveRequestRepository implements PanacheRepositoryBase<LeaveRequestEntity, UUID> {
 
+	// Pending and approved requests hold their days; ex_leave_requests_employee_period keeps them disjoint per employee
+	private static final String ACTIVE_INTERVALS =
+			"SELECT leave_request_id, employee_id, from_date, to_date, status FROM leave_requests"
+			+ " WHERE organization_id = :organizationId AND status IN ('PENDING', 'APPROVED')";
+
+	// Only PENDING rows move, so a request decided concurrently is reported rather than overwritten
+	private static final String UPDATE_PENDING_STATUS =
+			"UPDATE leave_requests SET status = ?, approved_by = ?, approved_at = ?, updated_at = ?"
+			+ " WHERE organization_id = ? AND leave_request_id = ANY(?) AND status = ?"
+			+ " RETURNING leave_request_id, employee_id, organization_id, from_date, to_date, reason, status,"
+			+ " approved_by, approved_at, created_at, updated_at";
+
+	/**
+	 * Server-side filters of the paginated leave listing; {@code null} fields do not filter.
+	 * {@code from}/{@code to} keep requests overlapping that window.
+	 */
+	public record LeaveRequestFilter(LeaveStatus status, LocalDate from, LocalDate to, UUID employeeId, UUID teamId) {}
+
+	/**
+	 * Date range a pending or approved leave request occupies
+	 */
+	public record LeaveInterval(UUID leaveRequestId, UUID employeeId, LocalDate fromDate, LocalDate toDate,
+	                            LeaveStatus status) {
+	}
+
 	public List<LeaveRequestEntity> findByEmployeeId(UUID employeeId) {
 		return list("employeeId = ?1 ORDER BY createdAt DESC", employeeId);
 	}
@@ -23,7 +60,143 @@ public class LeaveRequestRepository implements PanacheRepositoryBase<LeaveReques
 		return list("organizationId = ?1 AND status = ?2 ORDER BY createdAt DESC", organizationId, status);
 	}
 
+	/**
+	 * One page of the organization's requests, newest from_date first, after the (fromDate, leaveRequestId) keyset.
+	 * With a status filter this is a range scan of idx_leave_requests_org_status_from.
+	 */
+	public List<LeaveRequestEntity> findPage(UUID organizationId, LeaveRequestFilter filter,
+	                                         LocalDate afterFromDate, UUID afterLeaveRequestId, int limit) {
+		StringBuilder query = new StringBuilder("FROM LeaveRequestEntity l WHERE l.organizationId = :organizationId");
+		Parameters parameters = Parameters.with("organizationId", organizationId);
+		if (filter.status() != null) {
+			query.append(" AND l.status = :status");
+			parameters.and("status", filter.status());
+		}
+		if (filter.to() != null) {
+			query.append(" AND l.fromDate <= :windowEnd");
+			parameters.and("windowEnd", filter.to());
+		}
+		if (filter.from() != null) {
+			query.append(" AND l.toDate >= :windowStart");
+			parameters.and("windowStart", filter.from());
+		}
+		if (filter.employeeId() != null) {
+			query.append(" AND l.employeeId = :employeeId");
+			parameters.and("employeeId", filter.employeeId());
+		}
+		if (filter.teamId() != null) {
+			query.append(" AND l.employeeId IN (SELECT tm.employeeId FROM TeamMemberEntity tm WHERE tm.teamId = :teamId)");
+			parameters.and("teamId", filter.teamId());
+		}
+		if (afterFromDate != null) {
+			// The redundant fromDate bound is what lets the index seek past earlier pages instead of filtering them
+			query.append(" AND l.fromDate <= :afterFromDate"
+			             + " AND (l.fromDate < :afterFromDate"
+			             + " OR (l.fromDate = :afterFromDate AND l.leaveRequestId < :afterLeaveRequestId))");
+			parameters.and("afterFromDate", afterFromDate).and("afterLeaveRequestId", afterLeaveRequestId);
+		}
+		query.append(" ORDER BY l.fromDate DESC, l.leaveRequestId DESC");
+		return find(query.toString(), parameters).range(0, limit - 1).list();
+	}
+
 	public long countByOrganizationAndStatus(UUID organizationId, LeaveStatus status) {
 		return count("organizationId = ?1 AND status = ?2", organizationId, status);
 	}
+
+	/**
+	 * Active leave of the organization overlapping [from, to], served by idx_leave_requests_org_period
+	 */
+	public List<LeaveInterval> findActiveIntervals(UUID organizationId, LocalDate from, LocalDate to) {
+		return toIntervals(getEntityManager().createNativeQuery(
+				ACTIVE_INTERVALS + " AND period && daterange(:fromDate, :toDate, '[]')")
+				.setParameter("organizationId", organizationId)
+				.setParameter("fromDate", from)
+				.setParameter("toDate", to)
+				.getResultList());
+	}
+
+	/**
+	 * Active leave of the organization ending on or after {@code from}
+	 */
+	public List<LeaveInterval> findActiveIntervalsEndingFrom(UUID organizationId, LocalDate from) {
+		return toIntervals(getEntityManager().createNativeQuery(ACTIVE_INTERVALS + " AND to_date >= :fromDate")
+				.setParameter("organizationId", organizationId)
+				.setParameter("fromDate", from)
+				.getResultList());
+	}
+
+	private static List<LeaveInterval> toIntervals(List<?> rows) {
+		List<LeaveInterval> intervals = new ArrayList<>(rows.size());
+		for (Object row : rows) {
+			Object[] columns = (Object[]) row;
+			intervals.add(new LeaveInterval((UUID) columns[0],
+			                                (UUID) columns[1],
+			                                toLocalDate(columns[2]),
+			                                toLocalDate(columns[3]),
+			                                LeaveStatus.valueOf((String) columns[4])));
+		}
+		return intervals;
+	}
+
+	private static LeaveRequestEntity mapRow(ResultSet resultSet) throws SQLException {
+		LeaveRequestEntity entity = new LeaveRequestEntity();
+		entity.leaveRequestId = resultSet.getObject(1, UUID.class);
+		entity.employeeId = resultSet.getObject(2, UUID.class);
+		entity.organizationId = resultSet.getObject(3, UUID.class);
+		entity.fromDate = resultSet.getObject(4, LocalDate.class);
+		entity.toDate = resultSet.getObject(5, LocalDate.class);
+		entity.reason = resultSet.getString(6);
+		entity.status = LeaveStatus.valueOf(resultSet.getString(7));
+		entity.approvedBy = resultSet.getObject(8, UUID.class);
+		entity.approvedAt = resultSet.getObject(9, LocalDateTime.class);
+		entity.createdAt = resultSet.getObject(10, LocalDateTime.class);
+		entity.updatedAt = resultSet.getObject(11, LocalDateTime.class);
+		return entity;
+	}
+
+	private static LocalDate toLocalDate(Object value) {
+		return value instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) value;
+	}
+
+	/**
+	 * Moves the organization's PENDING requests among {@code leaveRequestIds} to {@code status} in one statement
+	 *
+	 * @return the updated requests; ids that were not PENDING or do not belong to the organization are absent
+	 */
+	public List<LeaveRequestEntity> updatePendingStatus(UUID organizationId, Collection<UUID> leaveRequestIds,
+	                                                    LeaveStatus status, UUID approverId, LocalDateTime decidedAt) {
+		return getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(UPDATE_PENDING_STATUS)) {
+				statement.setString(1, status.name());
+				statement.setObject(2, approverId);
+				statement.setTimestamp(3, Timestamp.valueOf(decidedAt));
+				statement.setTimestamp(4, Timestamp.valueOf(decidedAt));
+				statement.setObject(5, organizationId);
+				statement.setArray(6, connection.createArrayOf("uuid", leaveRequestIds.toArray()));
+				statement.setString(7, LeaveStatus.PENDING.name());
+				List<LeaveRequestEntity> updated = new ArrayList<>();
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						updated.add(mapRow(resultSet));
+					}
+				}
+				return updated;
+			}
+		});
+	}
+
+	/**
+	 * Current status of the organization's requests among {@code leaveRequestIds}
+	 */
+	public Map<UUID, LeaveStatus> findStatuses(UUID organizationId, Collection<UUID> leaveRequestIds) {
+		Map<UUID, LeaveStatus> statuses = new HashMap<>();
+		getEntityManager().createQuery(
+				"SELECT l.leaveRequestId, l.status FROM LeaveRequestEntity l"
+				+ " WHERE l.organizationId = ?1 AND l.leaveRequestId IN ?2", Object[].class)
+				.setParameter(1, organizationId)
+				.setParameter(2, leaveRequestIds)
+				.getResultList()
+				.forEach(row -> statuses.put((UUID) row[0], (LeaveStatus) row[1]));
+		return statuses;
+	}
 }
@@ -0,0 +1,146 @@
+package org.microboy.repository;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.microboy.enums.SalaryStatus;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Queue of (employee, month) pairs whose PENDING salary row is out of date, stored in {@code payroll_dirty_period}.
+ */
+@ApplicationScoped
+@RequiredArgsConstructor
+public class PayrollDirtyRepository {
+
+	// Only periods that have a PENDING salary row are queued; the rest will be calculated from scratch anyway
+	private static final String MARK_DIRTY =
+			"INSERT INTO payroll_dirty_period (organization_id, employee_id, year, month, marked_at)"
+			+ " SELECT :organizationId, :employeeId, :year, :month, CURRENT_TIMESTAMP"
+			+ " WHERE EXISTS (SELECT 1 FROM salary s WHERE s.employee_id = :employeeId"
+			+ " AND s.year = :year AND s.month = :month AND s.status = :status)"
+			+ " ON CONFLICT (employee_id, year, month) DO NOTHING";
+
+	private static final String MARK_DIRTY_JDBC =
+			"INSERT INTO payroll_dirty_period (organization_id, employee_id, year, month, marked_at)"
+			+ " SELECT ?, ?, ?, ?, CURRENT_TIMESTAMP"
+			+ " WHERE EXISTS (SELECT 1 FROM salary s WHERE s.employee_id = ?"
+			+ " AND s.year = ? AND s.month = ? AND s.status = ?)"
+			+ " ON CONFLICT (employee_id, year, month) DO NOTHING";
+
+	// SKIP LOCKED lets several nodes drain the queue without claiming the same pairs
+	private static final String CLAIM_BATCH =
+			"DELETE FROM payroll_dirty_period WHERE (employee_id, year, month) IN ("
+			+ " SELECT employee_id, year, month FROM payroll_dirty_period"
+			+ " ORDER BY marked_at LIMIT ? FOR UPDATE SKIP LOCKED)"
+			+ " RETURNING organization_id, employee_id, year, month, attempts";
+
+	// Back of the queue; a pair marked again meanwhile keeps that fresh entry
+	private static final String REQUEUE =
+			"INSERT INTO payroll_dirty_period (organization_id, employee_id, year, month, marked_at, attempts)"
+			+ " VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP, ?)"
+			+ " ON CONFLICT (employee_id, year, month) DO NOTHING";
+
+	private final EntityManager entityManager;
+
+	public record DirtyPeriod(UUID organizationId, UUID employeeId, int year, int month) {}
+
+	/**
+	 * @param attempts how many recomputations of the pair already failed
+	 */
+	public record ClaimedPeriod(DirtyPeriod period, int attempts) {}
+
+	/**
+	 * Marks every month touched by [from, to] dirty for the employee
+	 */
+	public void markDirty(UUID organizationId, UUID employeeId, LocalDate from, LocalDate to) {
+		for (YearMonth period = YearMonth.from(from); !period.isAfter(YearMonth.from(to)); period = period.plusMonths(1)) {
+			entityManager.createNativeQuery(MARK_DIRTY)
+			             .setParameter("organizationId", organizationId)
+			             .setParameter("employeeId", employeeId)
+			             .setParameter("year", period.getYear())
+			             .setParameter("month", period.getMonthValue())
+			             .setParameter("status", SalaryStatus.PENDING.name())
+			             .executeUpdate();
+		}
+	}
+
+	/**
+	 * Marks the given (employee, month) pairs dirty with one JDBC batch
+	 */
+	public void markDirty(Collection<DirtyPeriod> periods) {
+		if (periods.isEmpty()) {
+			return;
+		}
+		entityManager.unwrap(Session.class).doWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(MARK_DIRTY_JDBC)) {
+				for (DirtyPeriod period : periods) {
+					statement.setObject(1, period.organizationId());
+					statement.setObject(2, period.employeeId());
+					statement.setInt(3, period.year());
+					statement.setInt(4, period.month());
+					statement.setObject(5, period.employeeId());
+					statement.setInt(6, period.year());
+					statement.setInt(7, period.month());
+					statement.setString(8, SalaryStatus.PENDING.name());
+					statement.addBatch();
+				}
+				statement.executeBatch();
+			}
+		});
+	}
+
+	/**
+	 * Removes and returns up to {@code limit} of the oldest dirty pairs.
+	 * Must run inside the transaction that recomputes them, so a failure puts them back.
+	 */
+	public List<ClaimedPeriod> claimBatch(int limit) {
+		List<ClaimedPeriod> claimed = new ArrayList<>();
+		entityManager.unwrap(Session.class).doWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(CLAIM_BATCH)) {
+				statement.setInt(1, limit);
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						claimed.add(new ClaimedPeriod(new DirtyPeriod(resultSet.getObject(1, UUID.class),
+						                                              resultSet.getObject(2, UUID.class),
+						                                              resultSet.getInt(3),
+						                                              resultSet.getInt(4)),
+						                              resultSet.getInt(5)));
+					}
+				}
+			}
+		});
+		return claimed;
+	}
+
+	/**
+	 * Puts claimed pairs whose recomputation failed back into the queue with one more failed attempt
+	 */
+	public void requeue(Collection<ClaimedPeriod> failed) {
+		if (failed.isEmpty()) {
+			return;
+		}
+		entityManager.unwrap(Session.class).doWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(REQUEUE)) {
+				for (ClaimedPeriod claimed : failed) {
+					statement.setObject(1, claimed.period().organizationId());
+					statement.setObject(2, claimed.period().employeeId());
+					statement.setInt(3, claimed.period().year());
+					statement.setInt(4, claimed.period().month());
+					statement.setInt(5, claimed.attempts() + 1);
+					statement.addBatch();
+				}
+				statement.executeBatch();
+			}
+		});
+	}
+}
@@ -0,0 +1,93 @@
+package org.microboy.repository;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.panache.common.Parameters;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import org.microboy.entity.PayrollJobEntity;
+import org.microboy.entity.SalaryEntity;
+import org.microboy.enums.PayrollJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress updates run in their own transaction so they are visible to pollers while the job is still running.
+ */
+@ApplicationScoped
+public class PayrollJobRepository implements PanacheRepositoryBase<PayrollJobEntity, UUID> {
+
+	// Length of payroll_job.error_message
+	private static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+
+	@Transactional(Transactional.TxType.REQUIRES_NEW)
+	public PayrollJobEntity create(PayrollJobEntity job) {
+		persist(job);
+		return job;
+	}
+
+	@Transactional(Transactional.TxType.REQUIRES_NEW)
+	public void markRunning(UUID jobId) {
+		LocalDateTime now = LocalDateTime.now();
+		update("status = ?1, startedAt = ?2, heartbeatAt = ?2 WHERE jobId = ?3", PayrollJobStatus.RUNNING, now, jobId);
+	}
+
+	/**
+	 * Counts a finished chunk and tags the salary rows it inserted with the job, in one transaction.
+	 */
+	@Transactional(Transactional.TxType.REQUIRES_NEW)
+	public void addProgress(UUID jobId, int processed, int inserted, int failedChunks, Collection<UUID> insertedSalaryIds) {
+		if (!insertedSalaryIds.isEmpty()) {
+			SalaryEntity.update("payrollJobId = ?1 WHERE salaryId IN ?2", jobId, insertedSalaryIds);
+		}
+		update("processedCount = processedCount + :processed, insertedCount = insertedCount + :inserted,"
+		       + " failedChunkCount = failedChunkCount + :failedChunks, heartbeatAt = :now WHERE jobId = :jobId",
+		       Parameters.with("processed", processed)
+		                 .and("inserted", inserted)
+		                 .and("failedChunks", failedChunks)
+		                 .and("now", LocalDateTime.now())
+		                 .and("jobId", jobId));
+	}
+
+	/**
+	 * Renews the lease of jobs this node is still working on, including ones stuck in a long chunk.
+	 */
+	@Transactional(Transactional.TxType.REQUIRES_NEW)
+	public int heartbeat(Collection<UUID> jobIds) {
+		return update("heartbeatAt = ?1 WHERE jobId IN ?2 AND status IN ?3",
+		              LocalDateTime.now(), jobIds, List.of(PayrollJobStatus.QUEUED, PayrollJobStatus.RUNNING));
+	}
+
+	@Transactional(Transactional.TxType.REQUIRES_NEW)
+	public void markFinished(UUID jobId, PayrollJobStatus status, String errorMessage) {
+		// An over-long message would fail this update and leave the job RUNNING
+		String storedMessage = errorMessage != null && errorMessage.length() > MAX_ERROR_MESSAGE_LENGTH
+				? errorMessage.substring(0, MAX_ERROR_MESSAGE_LENGTH)
+				: errorMessage;
+		update("status = ?1, errorMessage = ?2, finishedAt = ?3 WHERE jobId = ?4",
+		       status, storedMessage, LocalDateTime.now(), jobId);
+	}
+
+	/**
+	 * Jobs this node had queued or running when it stopped can never finish; mark them as failed.
+	 */
+	@Transactional
+	public int failUnfinished(String nodeId, String errorMessage) {
+		return update("status = ?1, errorMessage = ?2, finishedAt = ?3 WHERE nodeId = ?4 AND status IN ?5",
+		              PayrollJobStatus.FAILED, errorMessage, LocalDateTime.now(), nodeId,
+		              List.of(PayrollJobStatus.QUEUED, PayrollJobStatus.RUNNING));
+	}
+
+	/**
+	 * Jobs whose lease lapsed belong to a node that is gone, possibly under another hostname; mark them as failed
+	 * whichever node owned them.
+	 */
+	@Transactional(Transactional.TxType.REQUIRES_NEW)
+	public int failExpired(LocalDateTime heartbeatBefore, String errorMessage) {
+		return update("status = ?1, errorMessage = ?2, finishedAt = ?3 WHERE status IN ?4 AND heartbeatAt < ?5",
+		              PayrollJobStatus.FAILED, errorMessage, LocalDateTime.now(),
+		              List.of(PayrollJobStatus.QUEUED, PayrollJobStatus.RUNNING), heartbeatBefore);
+	}
+}
@@ -0,0 +1,247 @@
+package org.microboy.repository;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.microboy.entity.SalaryEntity;
+import org.microboy.enums.LeaveStatus;
+import org.microboy.enums.SalaryStatus;
+import org.microboy.utils.DayMask;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Organization-wide aggregate reads and batched writes used by payroll calculation.
+ * Every read returns one entry per employee from a single grouped query.
+ */
+@ApplicationScoped
+@RequiredArgsConstructor
+public class PayrollRepository {
+
+	private static final String INSERT_SALARY =
+			"INSERT INTO salary (salary_id, employee_id, organization_id, month, year, basic_salary, bonus,"
+			+ " deductions, total_salary, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+			+ " ON CONFLICT DO NOTHING";
+
+	private static final String UPDATE_PENDING_SALARY =
+			"UPDATE salary SET basic_salary = ?, bonus = ?, deductions = ?, total_salary = ?, updated_at = ?"
+			+ " WHERE salary_id = ? AND status = ?";
+
+	private final EntityManager entityManager;
+	private final AttendanceMaskRepository attendanceMaskRepository;
+
+	/**
+	 * Employees of the organization that already have a salary row for the period
+	 */
+	public Set<UUID> findEmployeeIdsWithSalary(UUID organizationId, int month, int year) {
+		List<UUID> employeeIds = entityManager.createQuery(
+				"SELECT s.employeeId FROM SalaryEntity s"
+				+ " WHERE s.organizationId = ?1 AND s.month = ?2 AND s.year = ?3", UUID.class)
+				.setParameter(1, organizationId)
+				.setParameter(2, month)
+				.setParameter(3, year)
+				.getResultList();
+		return new HashSet<>(employeeIds);
+	}
+
+	/**
+	 * PENDING salary rows of the given employees for the period
+	 */
+	public List<SalaryEntity> findPendingSalaries(UUID organizationId, int month, int year, Collection<UUID> employeeIds) {
+		return entityManager.createQuery(
+				"FROM SalaryEntity s WHERE s.organizationId = :organizationId AND s.month = :month AND s.year = :year"
+				+ " AND s.status = :status AND s.employeeId IN (:employeeIds)", SalaryEntity.class)
+				.setParameter("organizationId", organizationId)
+				.setParameter("month", month)
+				.setParameter("year", year)
+				.setParameter("status", SalaryStatus.PENDING)
+				.setParameter("employeeIds", employeeIds)
+				.getResultList();
+	}
+
+	/**
+	 * Number of attended days per employee within [start, end], counted from the monthly day masks
+	 * with one query per month touched by the window.
+	 * {@code employeeIds} narrows the result; {@code null} means the whole organization.
+	 */
+	public Map<UUID, Long> countAttendanceDays(UUID organizationId, LocalDate start, LocalDate end,
+	                                           Collection<UUID> employeeIds) {
+		Map<UUID, Long> result = new HashMap<>();
+		for (YearMonth month = YearMonth.from(start); !month.isAfter(YearMonth.from(end)); month = month.plusMonths(1)) {
+			int window = DayMask.window(month, start, end);
+			attendanceMaskRepository.findMasks(organizationId, month, employeeIds).forEach((employeeId, mask) -> {
+				int days = DayMask.count(mask & window);
+				if (days > 0) {
+					result.merge(employeeId, (long) days, Long::sum);
+				}
+			});
+		}
+		return result;
+	}
+
+	/**
+	 * Approved leave days per employee, clipped to [start, end].
+	 * {@code employeeIds} narrows the result; {@code null} means the whole organization.
+	 * Served by idx_leave_requests_org_period.
+	 */
+	public Map<UUID, Long> sumApprovedLeaveDays(UUID organizationId, LocalDate start, LocalDate end,
+	                                            Collection<UUID> employeeIds) {
+		Query query = entityManager.createNativeQuery(
+				"SELECT employee_id, SUM(LEAST(to_date, :windowEnd) - GREATEST(from_date, :windowStart) + 1)"
+				+ " FROM leave_requests"
+				+ " WHERE organization_id = :organizationId AND status = :status"
+				+ " AND period && daterange(:windowStart, :windowEnd, '[]')"
+				+ employeeFilter("employee_id", employeeIds)
+				+ " GROUP BY employee_id")
+				.setParameter("organizationId", organizationId)
+				.setParameter("status", LeaveStatus.APPROVED.name())
+				.setParameter("windowStart", start)
+				.setParameter("windowEnd", end);
+		return toLongMap(resultRows(query, employeeIds));
+	}
+
+	/**
+	 * Base salary in force on {@code asOf} per employee of the organization.
+	 * {@code employeeIds} narrows the result; {@code null} means the whole organization.
+	 * Served by idx_employee_compensation_org_employee_effective.
+	 */
+	public Map<UUID, BigDecimal> findBaseSalariesAsOf(UUID organizationId, LocalDate asOf, Collection<UUID> employeeIds) {
+		Query query = entityManager.createNativeQuery(
+				"SELECT DISTINCT ON (employee_id) employee_id, base_salary"
+				+ " FROM employee_compensation"
+				+ " WHERE organization_id = :organizationId AND effective_from <= :asOf"
+				+ employeeFilter("employee_id", employeeIds)
+				+ " ORDER BY employee_id, effective_from DESC, created_at DESC")
+				.setParameter("organizationId", organizationId)
+				.setParameter("asOf", asOf);
+		Map<UUID, BigDecimal> result = new HashMap<>();
+		for (Object[] row : resultRows(query, employeeIds)) {
+			result.put((UUID) row[0], (BigDecimal) row[1]);
+		}
+		return result;
+	}
+
+	/**
+	 * Inserts the given salary rows with JDBC batching, bypassing the persistence context.
+	 * Callers must assign {@code salaryId}, {@code totalSalary} and {@code createdAt} beforehand.
+	 * Rows that collide with an existing (employee, month, year) are skipped.
+	 *
+	 * @return the rows that were actually inserted
+	 */
+	public List<SalaryEntity> insertSalaries(List<SalaryEntity> salaries, int batchSize) {
+		if (salaries.isEmpty()) {
+			return List.of();
+		}
+		List<SalaryEntity> inserted = new ArrayList<>(salaries.size());
+		entityManager.unwrap(Session.class).doWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(INSERT_SALARY)) {
+				int batchStart = 0;
+				for (int i = 0; i < salaries.size(); i++) {
+					SalaryEntity salary = salaries.get(i);
+					statement.setObject(1, salary.salaryId);
+					statement.setObject(2, salary.employeeId);
+					statement.setObject(3, salary.organizationId);
+					statement.setInt(4, salary.month);
+					statement.setInt(5, salary.year);
+					statement.setBigDecimal(6, salary.basicSalary);
+					statement.setBigDecimal(7, salary.bonus);
+					statement.setBigDecimal(8, salary.deductions);
+					statement.setBigDecimal(9, salary.totalSalary);
+					statement.setString(10, salary.status.name());
+					statement.setObject(11, salary.createdAt);
+					statement.addBatch();
+					if (i + 1 - batchStart == batchSize || i + 1 == salaries.size()) {
+						int[] updateCounts = statement.executeBatch();
+						for (int j = 0; j < updateCounts.length; j++) {
+							// 0 means the row hit ON CONFLICT DO NOTHING
+							if (updateCounts[j] != 0) {
+								inserted.add(salaries.get(batchStart + j));
+							}
+						}
+						batchStart = i + 1;
+					}
+				}
+			}
+		});
+		return inserted;
+	}
+
+	/**
+	 * Rewrites the amounts of PENDING salary rows with JDBC batching.
+	 * Rows that were paid in the meantime are left untouched.
+	 *
+	 * @return number of rows updated
+	 */
+	public int updatePendingSalaryAmounts(List<SalaryEntity> salaries, int batchSize) {
+		if (salaries.isEmpty()) {
+			return 0;
+		}
+		int[] updated = {0};
+		entityManager.unwrap(Session.class).doWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(UPDATE_PENDING_SALARY)) {
+				int pending = 0;
+				for (SalaryEntity salary : salaries) {
+					statement.setBigDecimal(1, salary.basicSalary);
+					statement.setBigDecimal(2, salary.bonus);
+					statement.setBigDecimal(3, salary.deductions);
+					statement.setBigDecimal(4, salary.totalSalary);
+					statement.setObject(5, salary.updatedAt);
+					statement.setObject(6, salary.salaryId);
+					statement.setString(7, SalaryStatus.PENDING.name());
+					statement.addBatch();
+					if (++pending == batchSize) {
+						updated[0] += countUpdated(statement.executeBatch());
+						pending = 0;
+					}
+				}
+				if (pending > 0) {
+					updated[0] += countUpdated(statement.executeBatch());
+				}
+			}
+		});
+		return updated[0];
+	}
+
+	private static int countUpdated(int[] updateCounts) {
+		int count = 0;
+		for (int updateCount : updateCounts) {
+			if (updateCount != 0) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static String employeeFilter(String column, Collection<UUID> employeeIds) {
+		return employeeIds == null ? "" : " AND " + column + " IN (:employeeIds)";
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Object[]> resultRows(Query query, Collection<UUID> employeeIds) {
+		if (employeeIds != null) {
+			query.setParameter("employeeIds", employeeIds);
+		}
+		return query.getResultList();
+	}
+
+	private static Map<UUID, Long> toLongMap(List<Object[]> rows) {
+		Map<UUID, Long> result = new HashMap<>();
+		for (Object[] row : rows) {
+			result.put((UUID) row[0], ((Number) row[1]).longValue());
+		}
+		return result;
+	}
+}
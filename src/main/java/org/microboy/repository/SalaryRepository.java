@@ -1,5 +1,6 @@
 package org.microboy.repository;
 
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
 import org.microboy.entity.SalaryEntity;
@@ -40,6 +41,13 @@ public class SalaryRepository implements PanacheRepositoryBase<SalaryEntity, UUI
 		return list("organizationId = ?1 AND month = ?2 AND year = ?3", organizationId, month, year);
 	}
 
+	/**
+	 * Salary records inserted by a background payroll job, in a stable order for paging
+	 */
+	public PanacheQuery<SalaryEntity> findPageByPayrollJob(UUID payrollJobId) {
+		return find("payrollJobId = ?1 ORDER BY employeeId", payrollJobId);
+	}
+
 	/**
 	 * Find salary records by status
 	 */
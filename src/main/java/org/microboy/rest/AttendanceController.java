@@ -8,6 +8,7 @@ import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
@@ -23,15 +24,25 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.microboy.dto.request.AttendanceCheckInRequestDTO;
 import org.microboy.dto.request.AttendanceCheckOutRequestDTO;
+import org.microboy.dto.response.AttendanceCalendarDTO;
 import org.microboy.dto.response.AttendanceDashboardSummaryDTO;
+import org.microboy.dto.response.AttendanceImportResultDTO;
+import org.microboy.dto.response.AttendanceIngestionStatsDTO;
 import org.microboy.dto.response.AttendanceResponseDTO;
+import org.microboy.dto.response.AutoCheckoutStatsDTO;
 import org.microboy.dto.response.GeneralResponseDTO;
+import org.microboy.dto.response.OrganizationAttendanceCalendarDTO;
 import org.microboy.dto.response.PaginatedResponse;
+import org.microboy.exception.IngestionQueueFullException;
 import org.microboy.security.entity.UserEntity;
 import org.microboy.security.repository.UserRepository;
+import org.microboy.service.AttendanceAutoCheckoutSweeper;
+import org.microboy.service.AttendanceImportService;
+import org.microboy.service.AttendanceIngestionQueue;
 import org.microboy.service.AttendanceService;
 import org.microboy.service.EmployeeService;
 
+import java.io.InputStream;
 import java.util.UUID;
 
 import static org.microboy.security.constants.RoleConstants.ADMIN;
@@ -48,6 +59,9 @@ import static org.microboy.security.constants.RoleConstants.USER;
 public class AttendanceController {
 
 	private final AttendanceService attendanceService;
+	private final AttendanceIngestionQueue attendanceIngestionQueue;
+	private final AttendanceImportService attendanceImportService;
+	private final AttendanceAutoCheckoutSweeper attendanceAutoCheckoutSweeper;
 	private final EmployeeService employeeService;
 	private final UserRepository userRepository;
 	private final JsonWebToken jwt;
@@ -63,6 +77,7 @@ public class AttendanceController {
 		                                schema = @Schema(implementation = AttendanceResponseDTO.class))),
 		@APIResponse(responseCode = "400", description = "Bad request - already checked in today or invalid data"),
 		@APIResponse(responseCode = "404", description = "Employee not found"),
+		@APIResponse(responseCode = "429", description = "Ingestion queue is full, retry later"),
 		@APIResponse(responseCode = "500", description = "Internal server error")
 	})
 	public Response checkIn(AttendanceCheckInRequestDTO request) {
@@ -71,7 +86,9 @@ public class AttendanceController {
 			UUID employeeId = getCurrentEmployeeId();
 			UUID organizationId = getCurrentOrganizationId();
 			log.info("Processing check-in for employeeId: {} orgId: {}", employeeId, organizationId);
-			AttendanceResponseDTO attendance = attendanceService.checkIn(employeeId, organizationId, request);
+			AttendanceResponseDTO attendance = attendanceIngestionQueue.isEnabled()
+				? attendanceService.checkInQueued(employeeId, organizationId, request)
+				: attendanceService.checkIn(employeeId, organizationId, request);
 			log.info("Check-in successful for employeeId: {}", employeeId);
 			return Response.status(Response.Status.CREATED)
 			               .entity(new GeneralResponseDTO<>(true,
@@ -79,6 +96,9 @@ public class AttendanceController {
 			                                                null,
 			                                                attendance))
 			               .build();
+		} catch (IngestionQueueFullException e) {
+			log.warn("Check-in rejected: {}", e.getMessage());
+			return tooManyRequests(e);
 		} catch (BadRequestException | EntityNotFoundException e) {
 			log.warn("Check-in validation failed: {}", e.getMessage());
 			return Response.status(Response.Status.BAD_REQUEST)
@@ -109,19 +129,25 @@ public class AttendanceController {
 		                                schema = @Schema(implementation = AttendanceResponseDTO.class))),
 		@APIResponse(responseCode = "400", description = "Bad request - no check-in found or already checked out"),
 		@APIResponse(responseCode = "404", description = "Employee not found"),
+		@APIResponse(responseCode = "429", description = "Ingestion queue is full, retry later"),
 		@APIResponse(responseCode = "500", description = "Internal server error")
 	})
 	public Response checkOut(AttendanceCheckOutRequestDTO request) {
 		try {
 			UUID employeeId = getCurrentEmployeeId();
 			UUID organizationId = getCurrentOrganizationId();
-			AttendanceResponseDTO attendance = attendanceService.checkOut(employeeId, organizationId, request);
+			AttendanceResponseDTO attendance = attendanceIngestionQueue.isEnabled()
+				? attendanceService.checkOutQueued(employeeId, organizationId, request)
+				: attendanceService.checkOut(employeeId, organizationId, request);
 			return Response.status(Response.Status.OK)
 			               .entity(new GeneralResponseDTO<>(true,
 			                                                Response.Status.OK.getStatusCode(),
 			                                                null,
 			                                                attendance))
 			               .build();
+		} catch (IngestionQueueFullException e) {
+			log.warn("Check-out rejected: {}", e.getMessage());
+			return tooManyRequests(e);
 		} catch (BadRequestException | EntityNotFoundException e) {
 			log.warn("Check-out validation failed: {}", e.getMessage());
 			return Response.status(Response.Status.BAD_REQUEST)
@@ -144,7 +170,7 @@ public class AttendanceController {
 	@GET
 	@Path("/my-attendance")
 	@RolesAllowed({USER, MANAGER, ADMIN, OWNER})
-	@Operation(summary = "Get my attendance records", description = "Returns paginated list of attendance records for the logged-in employee")
+	@Operation(summary = "Get my attendance records", description = "Returns paginated list of attendance records for the logged-in employee, newest first. Pass keyset=true or a cursor to page by keyset; includeTotal=true adds the total to keyset pages")
 	@APIResponses({
 		@APIResponse(responseCode = "200",
 		             description = "Successfully retrieved attendance records",
@@ -155,11 +181,16 @@ public class AttendanceController {
 		@APIResponse(responseCode = "500", description = "Internal server error")
 	})
 	public Response getMyAttendance(@QueryParam("page") @DefaultValue("0") int page,
-	                                @QueryParam("size") @DefaultValue("20") int size) {
+	                                @QueryParam("size") @DefaultValue("20") int size,
+	                                @QueryParam("keyset") @DefaultValue("false") boolean keyset,
+	                                @QueryParam("cursor") String cursor,
+	                                @QueryParam("includeTotal") @DefaultValue("false") boolean includeTotal) {
 		try {
 			UUID employeeId = getCurrentEmployeeId();
 			UUID organizationId = getCurrentOrganizationId();
-			PaginatedResponse<AttendanceResponseDTO> attendance = attendanceService.getMyAttendance(employeeId, organizationId, page, size);
+			PaginatedResponse<AttendanceResponseDTO> attendance = keyset || cursor != null
+				? attendanceService.getMyAttendanceByCursor(employeeId, organizationId, cursor, size, includeTotal)
+				: attendanceService.getMyAttendance(employeeId, organizationId, page, size);
 			return Response.status(Response.Status.OK)
 			               .entity(new GeneralResponseDTO<>(true,
 			                                                Response.Status.OK.getStatusCode(),
@@ -226,6 +257,229 @@ public class AttendanceController {
 		}
 	}
 
+	@GET
+	@Path("/calendar")
+	@RolesAllowed({USER, MANAGER, ADMIN, OWNER})
+	@Operation(summary = "Get my attendance calendar", description = "Returns the days of the month the logged-in employee has attendance for; defaults to the current month")
+	@APIResponses({
+		@APIResponse(responseCode = "200",
+		             description = "Successfully retrieved attendance calendar",
+		             content = @Content(mediaType = "application/json",
+		                                schema = @Schema(implementation = AttendanceCalendarDTO.class))),
+		@APIResponse(responseCode = "400", description = "Bad request - invalid year or month"),
+		@APIResponse(responseCode = "500", description = "Internal server error")
+	})
+	public Response getMyCalendar(@QueryParam("year") Integer year, @QueryParam("month") Integer month) {
+		try {
+			UUID employeeId = getCurrentEmployeeId();
+			UUID organizationId = getCurrentOrganizationId();
+			AttendanceCalendarDTO calendar = attendanceService.getMyCalendar(employeeId, organizationId, year, month);
+			return Response.status(Response.Status.OK)
+			               .entity(new GeneralResponseDTO<>(true,
+			                                                Response.Status.OK.getStatusCode(),
+			                                                null,
+			                                                calendar))
+			               .build();
+		} catch (BadRequestException | EntityNotFoundException e) {
+			log.warn("Get attendance calendar validation failed: {}", e.getMessage());
+			return Response.status(Response.Status.BAD_REQUEST)
+			               .entity(new GeneralResponseDTO<>(false,
+			                                                Response.Status.BAD_REQUEST.getStatusCode(),
+			                                                e.getMessage(),
+			                                                null))
+			               .build();
+		} catch (Exception e) {
+			log.error("Unexpected error getting attendance calendar", e);
+			return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+			               .entity(new GeneralResponseDTO<>(false,
+			                                                Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+			                                                "An unexpected error occurred",
+			                                                null))
+			               .build();
+		}
+	}
+
+	@GET
+	@Path("/calendar/organization")
+	@RolesAllowed({OWNER, ADMIN})
+	@Operation(summary = "Get organization attendance calendar", description = "Returns per-day attendance counts and each employee's attended days for the month; defaults to the current month")
+	@APIResponses({
+		@APIResponse(responseCode = "200",
+		             description = "Successfully retrieved organization attendance calendar",
+		             content = @Content(mediaType = "application/json",
+		                                schema = @Schema(implementation = OrganizationAttendanceCalendarDTO.class))),
+		@APIResponse(responseCode = "400", description = "Bad request - invalid year or month"),
+		@APIResponse(responseCode = "500", description = "Internal server error")
+	})
+	public Response getOrganizationCalendar(@QueryParam("year") Integer year, @QueryParam("month") Integer month) {
+		try {
+			UUID organizationId = getCurrentOrganizationId();
+			OrganizationAttendanceCalendarDTO calendar = attendanceService.getOrganizationCalendar(organizationId, year, month);
+			return Response.status(Response.Status.OK)
+			               .entity(new GeneralResponseDTO<>(true,
+			                                                Response.Status.OK.getStatusCode(),
+			                                                null,
+			                                                calendar))
+			               .build();
+		} catch (BadRequestException e) {
+			log.warn("Get organization attendance calendar validation failed: {}", e.getMessage());
+			return Response.status(Response.Status.BAD_REQUEST)
+			               .entity(new GeneralResponseDTO<>(false,
+			                                                Response.Status.BAD_REQUEST.getStatusCode(),
+			                                                e.getMessage(),
+			                                                null))
+			               .build();
+		} catch (Exception e) {
+			log.error("Unexpected error getting organization attendance calendar", e);
+			return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+			               .entity(new GeneralResponseDTO<>(false,
+			                                                Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+			                                                "An unexpected error occurred",
+			                                                null))
+			               .build();
+		}
+	}
+
+	@POST
+	@Path("/import")
+	@RolesAllowed({OWNER, ADMIN})
+	@Consumes({"text/csv", MediaType.TEXT_PLAIN})
+	@Operation(summary = "Import attendance from a time-clock CSV",
+	           description = "Streams a CSV with columns employee_id, attendance_date, check_in_time[, check_out_time, notes] "
+	                         + "and upserts one attendance row per employee and day. Returns a per-line error report; "
+	                         + "pass importId to poll progress while the upload runs. Files above the HTTP body limit "
+	                         + "are sent in parts of whole lines under the same importId, one after the other, with "
+	                         + "firstLine set to each part's line number in the whole file")
+	@APIResponses({
+		@APIResponse(responseCode = "200",
+		             description = "Import finished",
+		             content = @Content(mediaType = "application/json",
+		                                schema = @Schema(implementation = AttendanceImportResultDTO.class))),
+		@APIResponse(responseCode = "400", description = "Bad request - missing body, or importId still running or used by another organization"),
+		@APIResponse(responseCode = "413", description = "Body above quarkus.http.limits.max-body-size, send the file in parts"),
+		@APIResponse(responseCode = "500", description = "Internal server error")
+	})
+	public Response importAttendance(@QueryParam("importId") UUID importId,
+	                                 @QueryParam("firstLine") @DefaultValue("1") long firstLine,
+	                                 InputStream csv) {
+		try {
+			UUID organizationId = getCurrentOrganizationId();
+			AttendanceImportResultDTO result = attendanceImportService.importCsv(organizationId, importId, firstLine, csv);
+			return Response.status(Response.Status.OK)
+			               .entity(new GeneralResponseDTO<>(true,
+			                                                Response.Status.OK.getStatusCode(),
+			                                                null,
+			                                                result))
+			               .build();
+		} catch (BadRequestException e) {
+			log.warn("Attendance import validation failed: {}", e.getMessage());
+			return Response.status(Response.Status.BAD_REQUEST)
+			               .entity(new GeneralResponseDTO<>(false,
+			                                                Response.Status.BAD_REQUEST.getStatusCode(),
+			                                                e.getMessage(),
+			                                                null))
+			               .build();
+		} catch (Exception e) {
+			log.error("Unexpected error importing attendance", e);
+			return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+			               .entity(new GeneralResponseDTO<>(false,
+			                                                Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+			                                                "An unexpected error occurred",
+			                                                null))
+			               .build();
+		}
+	}
+
+	@GET
+	@Path("/import/{importId}")
+	@RolesAllowed({OWNER, ADMIN})
+	@Operation(summary = "Get attendance import progress", description = "Returns the progress and errors so far of an import started on this node")
+	@APIResponses({
+		@APIResponse(responseCode = "200",
+		             description = "Successfully retrieved import progress",
+		             content = @Content(mediaType = "application/json",
+		                                schema = @Schema(implementation = AttendanceImportResultDTO.class))),
+		@APIResponse(responseCode = "404", description = "Import not found"),
+		@APIResponse(responseCode = "500", description = "Internal server error")
+	})
+	public Response getImport(@PathParam("importId") UUID importId) {
+		try {
+			UUID organizationId = getCurrentOrganizationId();
+			AttendanceImportResultDTO result = attendanceImportService.getImport(organizationId, importId);
+			return Response.status(Response.Status.OK)
+			               .entity(new GeneralResponseDTO<>(true,
+			                                                Response.Status.OK.getStatusCode(),
+			                                                null,
+			                                                result))
+			               .build();
+		} catch (EntityNotFoundException e) {
+			return Response.status(Response.Status.NOT_FOUND)
+			               .entity(new GeneralResponseDTO<>(false,
+			                                                Response.Status.NOT_FOUND.getStatusCode(),
+			                                                e.getMessage(),
+			                                                null))
+			               .build();
+		} catch (Exception e) {
+			log.error("Unexpected error getting attendance import", e);
+			return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+			               .entity(new GeneralResponseDTO<>(false,
+			                                                Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+			                                                "An unexpected error occurred",
+			                                                null))
+			               .build();
+		}
+	}
+
+	@GET
+	@Path("/ingestion/stats")
+	@RolesAllowed({OWNER, ADMIN})
+	@Operation(summary = "Get attendance ingestion queue metrics", description = "Returns queue depth, batch sizes and flush latency of the group-commit check-in/check-out queue")
+	@APIResponses({
+		@APIResponse(responseCode = "200",
+		             description = "Successfully retrieved ingestion metrics",
+		             content = @Content(mediaType = "application/json",
+		                                schema = @Schema(implementation = AttendanceIngestionStatsDTO.class))),
+		@APIResponse(responseCode = "500", description = "Internal server error")
+	})
+	public Response getIngestionStats() {
+		return Response.status(Response.Status.OK)
+		               .entity(new GeneralResponseDTO<>(true,
+		                                                Response.Status.OK.getStatusCode(),
+		                                                null,
+		                                                attendanceIngestionQueue.stats()))
+		               .build();
+	}
+
+	@GET
+	@Path("/auto-checkout/stats")
+	@RolesAllowed({OWNER, ADMIN})
+	@Operation(summary = "Get auto checkout metrics", description = "Returns the policy and the number of attendance records closed by the scheduled auto checkout")
+	@APIResponses({
+		@APIResponse(responseCode = "200",
+		             description = "Successfully retrieved auto checkout metrics",
+		             content = @Content(mediaType = "application/json",
+		                                schema = @Schema(implementation = AutoCheckoutStatsDTO.class))),
+		@APIResponse(responseCode = "500", description = "Internal server error")
+	})
+	public Response getAutoCheckoutStats() {
+		return Response.status(Response.Status.OK)
+		               .entity(new GeneralResponseDTO<>(true,
+		                                                Response.Status.OK.getStatusCode(),
+		                                                null,
+		                                                attendanceAutoCheckoutSweeper.stats()))
+		               .build();
+	}
+
+	private Response tooManyRequests(IngestionQueueFullException e) {
+		return Response.status(Response.Status.TOO_MANY_REQUESTS)
+		               .header("Retry-After", 1)
+		               .entity(new GeneralResponseDTO<>(false,
+		                                                Response.Status.TOO_MANY_REQUESTS.getStatusCode(),
+		                                                e.getMessage(),
+		                                                null))
+		               .build();
+	}
+
 	/**
 	 * Gets the current logged-in user's employeeId from JWT token.
 	 * Extracts accountEmail from JWT subject, then looks up UserEntity and ensures
@@ -0,0 +1,100 @@
+package org.microboy.rest;
+
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import lombok.RequiredArgsConstructor;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.microboy.cache.AuthPrincipalCache;
+import org.microboy.cache.EmployeeNameResolver;
+import org.microboy.cache.ReferenceDataCache;
+import org.microboy.dto.response.CacheStatsDTO;
+import org.microboy.dto.response.GeneralResponseDTO;
+import org.microboy.security.config.OrganizationContext;
+
+import static org.microboy.security.constants.RoleConstants.ADMIN;
+import static org.microboy.security.constants.RoleConstants.OWNER;
+
+@Path("/cache")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@Tag(name = "Cache", description = "Operations related to in-process caches")
+@RequiredArgsConstructor
+public class CacheController {
+	private final ReferenceDataCache referenceDataCache;
+	private final EmployeeNameResolver employeeNameResolver;
+	private final AuthPrincipalCache authPrincipalCache;
+	private final OrganizationContext organizationContext;
+
+	@GET
+	@Path("/reference-data/stats")
+	@RolesAllowed({OWNER, ADMIN})
+	@Operation(summary = "Get reference data cache statistics",
+	           description = "Return size, hit, miss and eviction counts of the job title, team and department caches for the current organization")
+	@APIResponses({
+			@APIResponse(responseCode = "200",
+			             description = "Successful, cache statistics returned",
+			             content = @Content(mediaType = "application/json",
+			                                schema = @Schema(implementation = CacheStatsDTO.class))),
+			@APIResponse(responseCode = "500", description = "Internal server error")
+	})
+	public Response getReferenceDataStats() {
+		return Response.status(Response.Status.OK)
+		               .entity(new GeneralResponseDTO<>(true,
+		                                                Response.Status.OK.getStatusCode(),
+		                                                null,
+		                                                referenceDataCache.stats(organizationContext.getCurrentOrganizationId())))
+		               .build();
+	}
+
+	@GET
+	@Path("/employee-names/stats")
+	@RolesAllowed({OWNER, ADMIN})
+	@Operation(summary = "Get employee name cache statistics",
+	           description = "Return size, hit, miss and eviction counts of the employee name cache for the current organization")
+	@APIResponses({
+			@APIResponse(responseCode = "200",
+			             description = "Successful, cache statistics returned",
+			             content = @Content(mediaType = "application/json",
+			                                schema = @Schema(implementation = CacheStatsDTO.class))),
+			@APIResponse(responseCode = "500", description = "Internal server error")
+	})
+	public Response getEmployeeNameStats() {
+		return Response.status(Response.Status.OK)
+		               .entity(new GeneralResponseDTO<>(true,
+		                                                Response.Status.OK.getStatusCode(),
+		                                                null,
+		                                                employeeNameResolver.stats(organizationContext.getCurrentOrganizationId())))
+		               .build();
+	}
+
+	@GET
+	@Path("/auth-principals/stats")
+	@RolesAllowed({OWNER, ADMIN})
+	@Operation(summary = "Get sign-in principal cache statistics",
+	           description = "Return size, hit, miss and eviction counts of the cache of roles, organization and name used at sign-in")
+	@APIResponses({
+			@APIResponse(responseCode = "200",
+			             description = "Successful, cache statistics returned",
+			             content = @Content(mediaType = "application/json",
+			                                schema = @Schema(implementation = CacheStatsDTO.class))),
+			@APIResponse(responseCode = "500", description = "Internal server error")
+	})
+	public Response getAuthPrincipalStats() {
+		return Response.status(Response.Status.OK)
+		               .entity(new GeneralResponseDTO<>(true,
+		                                                Response.Status.OK.getStatusCode(),
+		                                                null,
+		                                                authPrincipalCache.stats()))
+		               .build();
+	}
+}
@@ -42,7 +42,8 @@ public class EmployeeCoreController {
 
 	@GET
 	@RolesAllowed({OWNER, ADMIN, MANAGER})
-	@Operation(summary = "Get all employees", description = "Returns a list of all employees")
+	@Operation(summary = "Get all employees",
+	           description = "Returns a page of employees, owner first. Pass keyset=true or a cursor to page by keyset")
 	@APIResponses({
 			@APIResponse(responseCode = "200",
 			             description = "Successful, returns all employees",
@@ -51,8 +52,12 @@ public class EmployeeCoreController {
 			@APIResponse(responseCode = "500", description = "Internal server error")
 	})
 	public Response findAllEmployees(@QueryParam("page") @DefaultValue("0") int page,
-	                                 @QueryParam("size") @DefaultValue("20") int size) {
-		PaginatedResponse<EmployeeCoreResponseDTO> employees = employeeService.findAllEmployeesByPage(page, size);
+	                                 @QueryParam("size") @DefaultValue("20") int size,
+	                                 @QueryParam("keyset") @DefaultValue("false") boolean keyset,
+	                                 @QueryParam("cursor") String cursor) {
+		PaginatedResponse<EmployeeCoreResponseDTO> employees = keyset || cursor != null
+				? employeeService.findEmployeesByCursor(cursor, size)
+				: employeeService.findAllEmployeesByPage(page, size);
 		return Response.status(Response.Status.OK)
 		               .entity(new GeneralResponseDTO<>(true, Response.Status.OK.getStatusCode(), null, employees))
 		               .build();
@@ -14,10 +14,16 @@ import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.microboy.dto.request.LeaveRequestBulkStatusUpdateDTO;
 import org.microboy.dto.request.LeaveRequestCreateDTO;
 import org.microboy.dto.request.LeaveRequestStatusUpdateDTO;
 import org.microboy.dto.response.GeneralResponseDTO;
+import org.microboy.dto.response.LeaveCalendarDTO;
+import org.microboy.dto.response.LeaveRequestBulkStatusResultDTO;
 import org.microboy.dto.response.LeaveRequestResponseDTO;
+import org.microboy.dto.response.MyLeaveRequestsDTO;
+import org.microboy.dto.response.PaginatedResponse;
+import org.microboy.service.LeaveCalendarService;
 import org.microboy.service.LeaveRequestService;
 
 import java.util.List;
@@ -34,6 +40,7 @@ import static org.microboy.security.constants.RoleConstants.*;
 public class LeaveRequestController {
 
 	private final LeaveRequestService leaveRequestService;
+	private final LeaveCalendarService leaveCalendarService;
 	private final JsonWebToken jwt;
 
 	@POST
@@ -72,9 +79,10 @@ public class LeaveRequestController {
 	@GET
 	@Path("/my")
 	@RolesAllowed({USER, MANAGER, ADMIN, OWNER})
-	@Operation(summary = "Get my leave requests", description = "Get all leave requests for the logged-in employee")
+	@Operation(summary = "Get my leave requests", description = "Get all leave requests and the current leave balance for the logged-in employee")
 	@APIResponses({
-		@APIResponse(responseCode = "200", description = "Successfully retrieved leave requests"),
+		@APIResponse(responseCode = "200", description = "Successfully retrieved leave requests",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = MyLeaveRequestsDTO.class))),
 		@APIResponse(responseCode = "500", description = "Internal server error")
 	})
 	public Response getMyLeaveRequests() {
@@ -82,7 +90,7 @@ public class LeaveRequestController {
 			UUID employeeId = getCurrentEmployeeId();
 			UUID organizationId = getCurrentOrganizationId();
 			
-			List<LeaveRequestResponseDTO> requests = leaveRequestService.getMyLeaveRequests(employeeId, organizationId);
+			MyLeaveRequestsDTO requests = leaveRequestService.getMyLeaveRequests(employeeId, organizationId);
 			
 			return Response.ok()
 				.entity(new GeneralResponseDTO<>(true, Response.Status.OK.getStatusCode(), null, requests))
@@ -121,6 +129,116 @@ public class LeaveRequestController {
 		}
 	}
 
+	@GET
+	@Path("/page")
+	@RolesAllowed({MANAGER, ADMIN, OWNER})
+	@Operation(summary = "Get leave requests page", description = "Keyset-paginated leave requests of the organization, newest first (managers only). Filters by status (default PENDING, ALL for any), overlap with a from/to window, employee and team; pass nextCursor back as cursor for the following page")
+	@APIResponses({
+		@APIResponse(responseCode = "200", description = "Successfully retrieved leave requests",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = PaginatedResponse.class))),
+		@APIResponse(responseCode = "400", description = "Bad request - invalid filter or cursor"),
+		@APIResponse(responseCode = "500", description = "Internal server error")
+	})
+	public Response getLeaveRequestsPage(@QueryParam("status") String status,
+	                                     @QueryParam("from") String from,
+	                                     @QueryParam("to") String to,
+	                                     @QueryParam("employeeId") UUID employeeId,
+	                                     @QueryParam("teamId") UUID teamId,
+	                                     @QueryParam("cursor") String cursor,
+	                                     @QueryParam("size") @DefaultValue("20") int size) {
+		try {
+			UUID organizationId = getCurrentOrganizationId();
+
+			PaginatedResponse<LeaveRequestResponseDTO> requests = leaveRequestService.getLeaveRequestsByCursor(
+				organizationId, status, from, to, employeeId, teamId, cursor, size);
+
+			return Response.ok()
+				.entity(new GeneralResponseDTO<>(true, Response.Status.OK.getStatusCode(), null, requests))
+				.build();
+		} catch (BadRequestException e) {
+			log.warn("Leave request page validation failed: {}", e.getMessage());
+			return Response.status(Response.Status.BAD_REQUEST)
+				.entity(new GeneralResponseDTO<>(false, Response.Status.BAD_REQUEST.getStatusCode(), e.getMessage(), null))
+				.build();
+		} catch (Exception e) {
+			log.error("Error fetching leave requests page", e);
+			return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+				.entity(new GeneralResponseDTO<>(false, Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(), 
+					"Failed to fetch leave requests", null))
+				.build();
+		}
+	}
+
+	@GET
+	@Path("/calendar")
+	@RolesAllowed({MANAGER, ADMIN, OWNER})
+	@Operation(summary = "Get team leave calendar", description = "Who is out on approved leave on each day of a from/to window (default: current month, at most 93 days) for a team or a department (managers only)")
+	@APIResponses({
+		@APIResponse(responseCode = "200", description = "Successfully retrieved leave calendar",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = LeaveCalendarDTO.class))),
+		@APIResponse(responseCode = "400", description = "Bad request - invalid team, department or window"),
+		@APIResponse(responseCode = "500", description = "Internal server error")
+	})
+	public Response getLeaveCalendar(@QueryParam("teamId") UUID teamId,
+	                                 @QueryParam("departmentId") UUID departmentId,
+	                                 @QueryParam("from") String from,
+	                                 @QueryParam("to") String to) {
+		try {
+			UUID organizationId = getCurrentOrganizationId();
+
+			LeaveCalendarDTO calendar = leaveCalendarService.getLeaveCalendar(organizationId, teamId, departmentId, from, to);
+
+			return Response.ok()
+				.entity(new GeneralResponseDTO<>(true, Response.Status.OK.getStatusCode(), null, calendar))
+				.build();
+		} catch (BadRequestException e) {
+			log.warn("Leave calendar validation failed: {}", e.getMessage());
+			return Response.status(Response.Status.BAD_REQUEST)
+				.entity(new GeneralResponseDTO<>(false, Response.Status.BAD_REQUEST.getStatusCode(), e.getMessage(), null))
+				.build();
+		} catch (Exception e) {
+			log.error("Error fetching leave calendar", e);
+			return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+				.entity(new GeneralResponseDTO<>(false, Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(), 
+					"Failed to fetch leave calendar", null))
+				.build();
+		}
+	}
+
+	@PUT
+	@Path("/status")
+	@RolesAllowed({MANAGER, ADMIN, OWNER})
+	@Operation(summary = "Update leave request statuses in bulk", description = "Approve or reject several pending leave requests at once (managers only); requests that are no longer pending are reported, not changed")
+	@APIResponses({
+		@APIResponse(responseCode = "200", description = "Statuses updated; see the per-request outcomes",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = LeaveRequestBulkStatusResultDTO.class))),
+		@APIResponse(responseCode = "400", description = "Bad request - invalid status update"),
+		@APIResponse(responseCode = "500", description = "Internal server error")
+	})
+	public Response updateLeaveRequestStatuses(@Valid LeaveRequestBulkStatusUpdateDTO dto) {
+		try {
+			UUID approverId = getCurrentEmployeeId();
+			UUID organizationId = getCurrentOrganizationId();
+
+			LeaveRequestBulkStatusResultDTO response = leaveRequestService.updateLeaveRequestStatuses(organizationId, approverId, dto);
+
+			return Response.ok()
+				.entity(new GeneralResponseDTO<>(true, Response.Status.OK.getStatusCode(), null, response))
+				.build();
+		} catch (BadRequestException e) {
+			log.warn("Bulk status update validation failed: {}", e.getMessage());
+			return Response.status(Response.Status.BAD_REQUEST)
+				.entity(new GeneralResponseDTO<>(false, Response.Status.BAD_REQUEST.getStatusCode(), e.getMessage(), null))
+				.build();
+		} catch (Exception e) {
+			log.error("Error updating leave request statuses", e);
+			return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+				.entity(new GeneralResponseDTO<>(false, Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(), 
+					"Failed to update leave request statuses", null))
+				.build();
+		}
+	}
+
 	@PUT
 	@Path("/{id}/status")
 	@RolesAllowed({MANAGER, ADMIN, OWNER})
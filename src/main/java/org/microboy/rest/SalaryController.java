@@ -2,6 +2,7 @@ package org.microboy.rest;
 
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
@@ -17,6 +18,9 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.microboy.dto.request.CalculateSalaryRequestDTO;
 import org.microboy.dto.response.GeneralResponseDTO;
+import org.microboy.dto.response.PaginatedResponse;
+import org.microboy.dto.response.PayrollJobResponseDTO;
+import org.microboy.dto.response.PayrollRunResponseDTO;
 import org.microboy.dto.response.SalaryResponseDTO;
 import org.microboy.service.SalaryService;
 
@@ -117,16 +121,29 @@ public class SalaryController {
 	@POST
 	@Path("/calculate")
 	@RolesAllowed({"ADMIN", "OWNER"})
-	@Operation(summary = "Calculate salary", description = "Calculate salary for all employees for a specific period")
+	@Operation(summary = "Calculate salary", description = "Calculate salary for all employees for a specific period. "
+		+ "With partitioned=true the employees are processed in independently committed chunks and the per-chunk outcome is returned")
 	@APIResponses({
 		@APIResponse(responseCode = "200", description = "Salary calculated successfully",
 			content = @Content(mediaType = "application/json", schema = @Schema(implementation = SalaryResponseDTO.class))),
 		@APIResponse(responseCode = "400", description = "Bad request - validation failed"),
 		@APIResponse(responseCode = "500", description = "Internal server error")
 	})
-	public Response calculateSalary(@Valid CalculateSalaryRequestDTO dto) {
+	public Response calculateSalary(@Valid CalculateSalaryRequestDTO dto,
+	                                @QueryParam("partitioned") @DefaultValue("false") boolean partitioned) {
 		try {
 			UUID organizationId = getCurrentOrganizationId();
+
+			if (partitioned) {
+				PayrollRunResponseDTO run = salaryService.calculateSalaryPartitioned(organizationId, dto);
+				String message = run.getFailedChunkCount() == 0
+					? "Salary calculated successfully"
+					: run.getFailedChunkCount() + " of " + run.getChunks().size() + " chunks failed";
+				return Response.ok()
+					.entity(new GeneralResponseDTO<>(run.getFailedChunkCount() == 0, Response.Status.OK.getStatusCode(),
+						message, run))
+					.build();
+			}
 			
 			List<SalaryResponseDTO> salaries = salaryService.calculateSalary(organizationId, dto);
 			
@@ -149,6 +166,106 @@ public class SalaryController {
 		}
 	}
 
+	@POST
+	@Path("/jobs")
+	@RolesAllowed({"ADMIN", "OWNER"})
+	@Operation(summary = "Submit salary calculation job",
+		description = "Start calculating salary for a specific period in the background and return the job immediately")
+	@APIResponses({
+		@APIResponse(responseCode = "202", description = "Job accepted",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = PayrollJobResponseDTO.class))),
+		@APIResponse(responseCode = "400", description = "Bad request - validation failed"),
+		@APIResponse(responseCode = "500", description = "Internal server error")
+	})
+	public Response submitPayrollJob(@Valid CalculateSalaryRequestDTO dto) {
+		try {
+			UUID organizationId = getCurrentOrganizationId();
+
+			PayrollJobResponseDTO job = salaryService.submitPayrollJob(organizationId, getCurrentEmployeeId(), dto);
+
+			return Response.status(Response.Status.ACCEPTED)
+				.entity(new GeneralResponseDTO<>(true, Response.Status.ACCEPTED.getStatusCode(),
+					"Salary calculation job accepted", job))
+				.build();
+		} catch (BadRequestException e) {
+			log.warn("Salary calculation job validation failed: {}", e.getMessage());
+			return Response.status(Response.Status.BAD_REQUEST)
+				.entity(new GeneralResponseDTO<>(false, Response.Status.BAD_REQUEST.getStatusCode(),
+					e.getMessage(), null))
+				.build();
+		} catch (Exception e) {
+			log.error("Error submitting salary calculation job", e);
+			return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+				.entity(new GeneralResponseDTO<>(false, Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+					"Failed to submit salary calculation job", null))
+				.build();
+		}
+	}
+
+	@GET
+	@Path("/jobs/{jobId}")
+	@RolesAllowed({"ADMIN", "OWNER"})
+	@Operation(summary = "Get salary calculation job", description = "Get status, progress, throughput and ETA of a salary calculation job")
+	@APIResponses({
+		@APIResponse(responseCode = "200", description = "Successfully retrieved job",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = PayrollJobResponseDTO.class))),
+		@APIResponse(responseCode = "404", description = "Job not found"),
+		@APIResponse(responseCode = "500", description = "Internal server error")
+	})
+	public Response getPayrollJob(@PathParam("jobId") UUID jobId) {
+		try {
+			PayrollJobResponseDTO job = salaryService.getPayrollJob(jobId, getCurrentOrganizationId());
+
+			return Response.ok()
+				.entity(new GeneralResponseDTO<>(true, Response.Status.OK.getStatusCode(), null, job))
+				.build();
+		} catch (EntityNotFoundException e) {
+			return Response.status(Response.Status.NOT_FOUND)
+				.entity(new GeneralResponseDTO<>(false, Response.Status.NOT_FOUND.getStatusCode(),
+					e.getMessage(), null))
+				.build();
+		} catch (Exception e) {
+			log.error("Error fetching salary calculation job", e);
+			return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+				.entity(new GeneralResponseDTO<>(false, Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+					"Failed to fetch salary calculation job", null))
+				.build();
+		}
+	}
+
+	@GET
+	@Path("/jobs/{jobId}/results")
+	@RolesAllowed({"ADMIN", "OWNER"})
+	@Operation(summary = "Get salary calculation job results", description = "Get the salary records inserted by the job, paginated")
+	@APIResponses({
+		@APIResponse(responseCode = "200", description = "Successfully retrieved salary records"),
+		@APIResponse(responseCode = "404", description = "Job not found"),
+		@APIResponse(responseCode = "500", description = "Internal server error")
+	})
+	public Response getPayrollJobResults(@PathParam("jobId") UUID jobId,
+	                                     @QueryParam("page") @DefaultValue("0") int page,
+	                                     @QueryParam("size") @DefaultValue("20") int size) {
+		try {
+			PaginatedResponse<SalaryResponseDTO> results =
+				salaryService.getPayrollJobResults(jobId, getCurrentOrganizationId(), page, size);
+
+			return Response.ok()
+				.entity(new GeneralResponseDTO<>(true, Response.Status.OK.getStatusCode(), null, results))
+				.build();
+		} catch (EntityNotFoundException e) {
+			return Response.status(Response.Status.NOT_FOUND)
+				.entity(new GeneralResponseDTO<>(false, Response.Status.NOT_FOUND.getStatusCode(),
+					e.getMessage(), null))
+				.build();
+		} catch (Exception e) {
+			log.error("Error fetching salary calculation job results", e);
+			return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+				.entity(new GeneralResponseDTO<>(false, Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+					"Failed to fetch salary calculation job results", null))
+				.build();
+		}
+	}
+
 	@PUT
 	@Path("/{id}/mark-paid")
 	@RolesAllowed({"ADMIN", "OWNER"})
@@ -0,0 +1,79 @@
+package org.microboy.security.config;
+
+import io.smallrye.jwt.auth.principal.DefaultJWTCallerPrincipal;
+import io.smallrye.jwt.auth.principal.JWTAuthContextInfo;
+import io.smallrye.jwt.auth.principal.JWTCallerPrincipal;
+import io.smallrye.jwt.auth.principal.JWTCallerPrincipalFactory;
+import io.smallrye.jwt.auth.principal.ParseException;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.jwt.Claims;
+import org.jose4j.jwa.AlgorithmConstraints;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.consumer.InvalidJwtException;
+import org.jose4j.jwt.consumer.JwtConsumer;
+import org.jose4j.jwt.consumer.JwtConsumerBuilder;
+import org.jose4j.lang.UnresolvableKeyException;
+import org.microboy.security.utils.SigningKeyManager;
+
+import java.security.Key;
+
+/**
+ * Verifies bearer tokens against every key held by {@link SigningKeyManager}, picked by the token's kid, so tokens
+ * signed with a key that has since been rotated out of the active slot keep verifying until they expire. Tokens
+ * without a kid are checked against the active key. Issuer and clock skew still come from the mp.jwt configuration.
+ */
+@ApplicationScoped
+@Alternative
+@Priority(1)
+public class SigningKeyJwtCallerPrincipalFactory extends JWTCallerPrincipalFactory {
+
+	@Inject
+	SigningKeyManager signingKeyManager;
+
+	// The auth context is built from static configuration, so one consumer serves every request
+	private volatile JwtConsumer jwtConsumer;
+
+	@Override
+	public JWTCallerPrincipal parse(String token, JWTAuthContextInfo authContextInfo) throws ParseException {
+		try {
+			JwtClaims claims = consumer(authContextInfo).processToClaims(token);
+			claims.setClaim(Claims.raw_token.name(), token);
+			return new DefaultJWTCallerPrincipal(claims);
+		} catch (InvalidJwtException e) {
+			throw new ParseException(e.getMessage());
+		}
+	}
+
+	private JwtConsumer consumer(JWTAuthContextInfo authContextInfo) {
+		JwtConsumer consumer = jwtConsumer;
+		if (consumer == null) {
+			consumer = new JwtConsumerBuilder()
+					.setRequireExpirationTime()
+					.setRequireSubject()
+					.setExpectedIssuer(authContextInfo.getIssuedBy() != null, authContextInfo.getIssuedBy())
+					.setSkipDefaultAudienceValidation()
+					.setAllowedClockSkewInSeconds(authContextInfo.getClockSkew())
+					.setJwsAlgorithmConstraints(new AlgorithmConstraints(AlgorithmConstraints.ConstraintType.PERMIT,
+					                                                     AlgorithmIdentifiers.RSA_USING_SHA256))
+					.setVerificationKeyResolver((jws, nestingContext) -> verificationKey(jws.getKeyIdHeaderValue()))
+					.build();
+			jwtConsumer = consumer;
+		}
+		return consumer;
+	}
+
+	private Key verificationKey(String keyId) throws UnresolvableKeyException {
+		if (keyId == null) {
+			return signingKeyManager.activeKey().publicKey();
+		}
+		Key key = signingKeyManager.verificationKeys().get(keyId);
+		if (key == null) {
+			throw new UnresolvableKeyException("Unknown JWT key id " + keyId);
+		}
+		return key;
+	}
+}
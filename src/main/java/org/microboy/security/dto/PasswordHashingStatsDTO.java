@@ -0,0 +1,28 @@
+package org.microboy.security.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@RegisterForReflection
+public class PasswordHashingStatsDTO {
+	private int threads;
+	private int activeCount;
+	private int queueDepth;
+	private int queueCapacity;
+	private int iterations;
+	private long hashCount;
+	private long rejectedCount;
+	private double lastQueueMillis;
+	private double maxQueueMillis;
+	private double averageQueueMillis;
+	private double averageHashMillis;
+}
@@ -28,6 +28,13 @@ public class UserEntity {
 	@Column
 	private String password;
 
+	// Base64 salt and PBKDF2 iteration count of the password hash; null for hashes made with the legacy global salt
+	@Column(name = "password_salt")
+	private String passwordSalt;
+
+	@Column(name = "password_iterations")
+	private Integer passwordIterations;
+
 	@Enumerated(EnumType.STRING)
 	@Column(name = "account_status")
 	private AccountStatus accountStatus;
@@ -3,7 +3,58 @@ package org.microboy.security.repository;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
 import org.microboy.security.entity.UserEntity;
+import org.microboy.security.enums.Role;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class UserRepository implements PanacheRepositoryBase<UserEntity, String> {
+
+	/**
+	 * What a token is issued for: no password material, so it can be cached between sign-ins.
+	 */
+	public record AuthPrincipal(String accountEmail,
+	                            UUID organizationId,
+	                            UUID employeeId,
+	                            Set<Role> roles,
+	                            String firstName,
+	                            String lastName) {}
+
+	public record AuthLookup(UserEntity user, AuthPrincipal principal) {}
+
+	/**
+	 * Loads the account, its roles and the linked employee's name in one query, one row per role
+	 *
+	 * @return {@code null} when there is no such account
+	 */
+	public AuthLookup findAuthLookup(String accountEmail) {
+		List<Object[]> rows = getEntityManager().createQuery(
+				"SELECT u, r.roleName, e.firstName, e.lastName FROM UserEntity u"
+				+ " LEFT JOIN UserRoleEntity r ON r.accountEmail = u.accountEmail"
+				+ " LEFT JOIN EmployeeCoreEntity e ON e.employeeId = u.employeeId"
+				+ " WHERE u.accountEmail = :accountEmail", Object[].class)
+				.setParameter("accountEmail", accountEmail)
+				.getResultList();
+		if (rows.isEmpty()) {
+			return null;
+		}
+		UserEntity user = (UserEntity) rows.get(0)[0];
+		Set<Role> roles = rows.stream()
+		                      .map(row -> (Role) row[1])
+		                      .filter(Objects::nonNull)
+		                      .collect(Collectors.toCollection(() -> EnumSet.noneOf(Role.class)));
+		AuthPrincipal principal = new AuthPrincipal(user.getAccountEmail(),
+		                                            user.getOrganizationId(),
+		                                            user.getEmployeeId(),
+		                                            Collections.unmodifiableSet(roles),
+		                                            (String) rows.get(0)[2],
+		                                            (String) rows.get(0)[3]);
+		return new AuthLookup(user, principal);
+	}
 }
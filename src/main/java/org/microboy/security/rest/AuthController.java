@@ -4,6 +4,7 @@ import jakarta.annotation.security.PermitAll;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
@@ -22,11 +23,14 @@ import org.microboy.dto.request.SignUpRequestDTO;
 import org.microboy.dto.response.GeneralResponseDTO;
 import org.microboy.security.dto.AuthRequest;
 import org.microboy.security.dto.AuthResponse;
+import org.microboy.security.dto.PasswordHashingStatsDTO;
 import org.microboy.security.dto.request.ChangePasswordRequestDTO;
 import org.microboy.security.dto.request.CreateEmployeeAccountRequestDTO;
 import org.microboy.security.dto.UserDTO;
 import org.microboy.security.enums.Role;
 import org.microboy.security.service.UserService;
+import org.microboy.security.utils.PasswordHasher;
+import org.microboy.security.utils.SigningKeyManager;
 import org.microboy.service.SignUpService;
 
 import java.util.UUID;
@@ -40,6 +44,8 @@ public class AuthController {
 
 	private final UserService userService;
 	private final SignUpService signUpService;
+	private final SigningKeyManager signingKeyManager;
+	private final PasswordHasher passwordHasher;
 
 	@Inject
 	JsonWebToken jwt;
@@ -150,4 +156,32 @@ public class AuthController {
 		               .build();
 	}
 
+	@PermitAll
+	@GET
+	@Path("/jwks")
+	@Operation(summary = "Token verification keys", description = "Return the public keys tokens are signed with as a JWK set")
+	@APIResponses({
+			@APIResponse(responseCode = "200", description = "Successful, returns the JWK set")
+	})
+	public Response jwks() {
+		// Plain JWK set rather than GeneralResponseDTO so verifiers can consume it directly
+		return Response.ok(signingKeyManager.jwks()).build();
+	}
+
+	@RolesAllowed({"OWNER", "ADMIN"})
+	@GET
+	@Path("/password-hashing/stats")
+	@Operation(summary = "Get password hashing metrics", description = "Return queue depth, queue time and hash time of the password hashing pool")
+	@APIResponses({
+			@APIResponse(responseCode = "200",
+			             description = "Successful, password hashing metrics returned",
+			             content = @Content(mediaType = "application/json", schema = @Schema(implementation = PasswordHashingStatsDTO.class))),
+			@APIResponse(responseCode = "500", description = "Internal server error")
+	})
+	public Response getPasswordHashingStats() {
+		return Response.status(Response.Status.OK)
+		               .entity(new GeneralResponseDTO<>(true, Response.Status.OK.getStatusCode(), null, passwordHasher.stats()))
+		               .build();
+	}
+
 }
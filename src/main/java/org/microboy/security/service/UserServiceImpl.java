@@ -1,10 +1,9 @@
 package org.microboy.security.service;
 
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.microboy.cache.AuthPrincipalCache;
 import org.microboy.entity.EmployeeCoreEntity;
 import org.microboy.enums.AccountStatus;
 import org.microboy.security.dto.AuthRequest;
@@ -17,25 +16,31 @@ import org.microboy.security.entity.UserEntity;
 import org.microboy.security.entity.UserRoleEntity;
 import org.microboy.security.enums.Role;
 import org.microboy.security.repository.UserRepository;
+import org.microboy.security.repository.UserRepository.AuthLookup;
+import org.microboy.security.repository.UserRepository.AuthPrincipal;
 import org.microboy.security.repository.UserRoleRepository;
-import org.microboy.security.utils.PBKDF2Encoder;
+import org.microboy.security.utils.PasswordHasher;
 import org.microboy.security.utils.TokenUtils;
 
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityExistsException;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.BadRequestException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 @ApplicationScoped
+@Slf4j
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService{
 
 	private final UserRepository userRepository;
 	private final UserRoleRepository userRoleRepository;
-	private final PBKDF2Encoder passwordEncoder;
+	private final PasswordHasher passwordHasher;
 	private final TokenUtils tokenUtils;
 	private final OrganizationContext organizationContext;
+	private final AuthPrincipalCache authPrincipalCache;
 
 	@ConfigProperty(name = "com.microboy.cetus.jwt.duration")
 	Long duration;
@@ -54,7 +59,7 @@ public class UserServiceImpl implements UserService{
 		}
 
 		userEntity.setAccountEmail(userDTO.getAccountEmail());
-		userEntity.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+		setPassword(userEntity, userDTO.getPassword());
 		userEntity.setAccountStatus(userDTO.getAccountStatus());
 		userEntity.setOrganizationId(userDTO.getOrganizationId());
 		userEntity.setEmployeeId(userDTO.getEmployeeId());
@@ -65,6 +70,7 @@ public class UserServiceImpl implements UserService{
 		userRoleEntity.setRoleName(userDTO.getRole());
 		userRoleRepository.persist(userRoleEntity);
 		userEntity.setRole(userDTO.getRole());
+		authPrincipalCache.invalidate(userEntity.getAccountEmail());
 
 		return convertToUserDTO(userEntity);
 	}
@@ -83,32 +89,39 @@ public class UserServiceImpl implements UserService{
 	@Override
 	public AuthResponse authenticateUser(AuthRequest authRequest) {
 		AuthResponse authResponse = new AuthResponse();
-		UserEntity userEntity = findById(authRequest.accountEmail);
+		UserEntity userEntity;
+		AuthPrincipal principal = authPrincipalCache.get(authRequest.accountEmail);
+		boolean cached = principal != null;
+		long lookupGeneration = authPrincipalCache.generation();
+		if (cached) {
+			userEntity = userRepository.findById(authRequest.accountEmail);
+		} else {
+			AuthLookup authLookup = userRepository.findAuthLookup(authRequest.accountEmail);
+			userEntity = authLookup != null ? authLookup.user() : null;
+			principal = authLookup != null ? authLookup.principal() : null;
+		}
 		if (userEntity != null &&
-		    userEntity.getPassword().equals(passwordEncoder.encode(authRequest.password)) &&
+		    passwordHasher.verify(authRequest.password, userEntity) &&
 		    AccountStatus.ACTIVE.equals(userEntity.getAccountStatus())) {
+			// Only signed-in accounts are cached, so failed attempts cannot fill the cache or force it to clear
+			if (!cached) {
+				authPrincipalCache.put(principal, lookupGeneration);
+			}
+			if (passwordHasher.needsRehash(userEntity)) {
+				rehash(userEntity, authRequest.password);
+			}
 			try {
-				List<UserRoleEntity> userRoleEntities
-						= userRoleRepository.findUserRoleByAccountEmail(userEntity.getAccountEmail());
-				Set<Role> roles = userRoleEntities.stream()
-				                                    .map(UserRoleEntity::getRoleName)
-				                                    .collect(Collectors.toSet());
-				String token = tokenUtils.generateToken(userEntity.getAccountEmail(),
-				                                        userEntity.getOrganizationId(), roles, duration, issuer, userEntity.getEmployeeId());
+				String token = tokenUtils.generateToken(principal.accountEmail(),
+				                                        principal.organizationId(), principal.roles(), duration, issuer, principal.employeeId());
 				authResponse.setToken(token);
-				authResponse.setAccountEmail(userEntity.getAccountEmail());
-				authResponse.setRole(userEntity.getRole());
-
-				if (userEntity.getEmployeeId() != null) {
-    EmployeeCoreEntity employee =
-        EmployeeCoreEntity.findById(userEntity.getEmployeeId());
-
-    if (employee != null) {
-        authResponse.setEmployeeId(employee.employeeId);
-        authResponse.setFirstName(employee.firstName);
-        authResponse.setLastName(employee.lastName);
-    }
-}
+				authResponse.setAccountEmail(principal.accountEmail());
+				authResponse.setRole(principal.roles().stream().findFirst().orElse(null));
+
+				if (principal.employeeId() != null && principal.firstName() != null) {
+					authResponse.setEmployeeId(principal.employeeId());
+					authResponse.setFirstName(principal.firstName());
+					authResponse.setLastName(principal.lastName());
+				}
 
 				return authResponse;
 			} catch (Exception e) {
@@ -166,7 +179,7 @@ public class UserServiceImpl implements UserService{
 
 		UserEntity userEntity = new UserEntity();
 		userEntity.setAccountEmail(request.getAccountEmail());
-		userEntity.setPassword(passwordEncoder.encode(request.getPassword()));
+		setPassword(userEntity, request.getPassword());
 		userEntity.setAccountStatus(AccountStatus.ACTIVE);
 		userEntity.setEmployeeId(request.getEmployeeId());
 		userEntity.setOrganizationId(employee.organizationId != null
@@ -181,6 +194,7 @@ public class UserServiceImpl implements UserService{
 		userRoleRepository.persist(userRoleEntity);
 
 		userEntity.setRole(request.getRole());
+		authPrincipalCache.invalidate(userEntity.getAccountEmail());
 		return userEntity;
 	}
 
@@ -207,14 +221,37 @@ public class UserServiceImpl implements UserService{
 		}
 
 		// Verify current password
-		String encodedCurrentPassword = passwordEncoder.encode(request.getCurrentPassword());
-		if (!userEntity.getPassword().equals(encodedCurrentPassword)) {
+		if (!passwordHasher.verify(request.getCurrentPassword(), userEntity)) {
 			throw new BadRequestException("Current password is incorrect");
 		}
 
 		// Update password
-		userEntity.setPassword(passwordEncoder.encode(request.getNewPassword()));
+		setPassword(userEntity, request.getNewPassword());
 		userRepository.persist(userEntity);
+		authPrincipalCache.invalidate(userEntity.getAccountEmail());
+	}
+
+	private void setPassword(UserEntity userEntity, String password) {
+		PasswordHasher.PasswordHash passwordHash = passwordHasher.hash(password);
+		userEntity.setPassword(passwordHash.hash());
+		userEntity.setPasswordSalt(passwordHash.salt());
+		userEntity.setPasswordIterations(passwordHash.iterations());
+	}
+
+	/**
+	 * Upgrades a verified password to the current salt and iteration settings. The update only applies while the old
+	 * hash is still stored, so a concurrent password change wins; any failure leaves the old hash and the login proceeds.
+	 */
+	private void rehash(UserEntity userEntity, String password) {
+		try {
+			PasswordHasher.PasswordHash passwordHash = passwordHasher.hash(password);
+			QuarkusTransaction.requiringNew().run(() -> userRepository.update(
+					"password = ?1, passwordSalt = ?2, passwordIterations = ?3 where accountEmail = ?4 and password = ?5",
+					passwordHash.hash(), passwordHash.salt(), passwordHash.iterations(),
+					userEntity.getAccountEmail(), userEntity.getPassword()));
+		} catch (RuntimeException e) {
+			log.warn("Could not rehash password of {}", userEntity.getAccountEmail(), e);
+		}
 	}
 
 	private UserDTO convertToUserDTO(UserEntity userEntity) {
@@ -1,32 +0,0 @@
-package org.microboy.security.utils;
-
-import jakarta.enterprise.context.RequestScoped;
-import org.eclipse.microprofile.config.inject.ConfigProperty;
-
-import javax.crypto.SecretKeyFactory;
-import javax.crypto.spec.PBEKeySpec;
-import java.security.NoSuchAlgorithmException;
-import java.security.spec.InvalidKeySpecException;
-import java.util.Base64;
-
-@RequestScoped
-public class PBKDF2Encoder {
-
-	@ConfigProperty(name = "com.microboy.cetus.password.secret") String secret;
-	@ConfigProperty(name = "com.microboy.cetus.password.iteration") Integer iteration;
-	@ConfigProperty(name = "com.microboy.cetus.password.keylength") Integer length;
-
-	public String encode(CharSequence cs) {
-		try {
-			byte[] result = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA512")
-			                                .generateSecret(new PBEKeySpec(cs.toString().toCharArray(),
-			                                                               secret.getBytes(),
-			                                                               iteration,
-			                                                               length))
-			                                .getEncoded();
-			return Base64.getEncoder().encodeToString(result);
-		} catch (NoSuchAlgorithmException | InvalidKeySpecException ex) {
-			throw new RuntimeException(ex);
-		}
-	}
-}
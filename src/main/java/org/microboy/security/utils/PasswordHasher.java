@@ -0,0 +1,200 @@
+package org.microboy.security.utils;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.microboy.exception.GeneralException;
+import org.microboy.exception.PasswordHashingBusyException;
+import org.microboy.security.dto.PasswordHashingStatsDTO;
+import org.microboy.security.entity.UserEntity;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PBKDF2 password hashes with a random salt and an iteration count stored per user. Users without a stored salt still
+ * carry a legacy hash made with the global {@code password.secret} and {@code password.iteration}; those verify as
+ * before and report {@link #needsRehash}, so they are upgraded on their next successful login.
+ * <p>
+ * Key derivation is deliberately slow, so it runs on a small dedicated pool with a bounded queue: a login storm queues
+ * up there instead of occupying every worker thread, and once the queue is full further requests are rejected with
+ * {@link PasswordHashingBusyException} rather than waited on.
+ */
+@ApplicationScoped
+@Slf4j
+public class PasswordHasher {
+
+	private static final String ALGORITHM = "PBKDF2WithHmacSHA512";
+
+	public record PasswordHash(String hash, String salt, int iterations) {}
+
+	@ConfigProperty(name = "com.microboy.cetus.password.secret")
+	String legacySecret;
+
+	@ConfigProperty(name = "com.microboy.cetus.password.iteration")
+	int legacyIterations;
+
+	@ConfigProperty(name = "com.microboy.cetus.password.keylength")
+	int keyLength;
+
+	@ConfigProperty(name = "com.microboy.cetus.password.hash.iterations", defaultValue = "210000")
+	int iterations;
+
+	@ConfigProperty(name = "com.microboy.cetus.password.hash.salt-bytes", defaultValue = "16")
+	int saltBytes;
+
+	@ConfigProperty(name = "com.microboy.cetus.password.hash.threads", defaultValue = "2")
+	int threads;
+
+	@ConfigProperty(name = "com.microboy.cetus.password.hash.queue-size", defaultValue = "64")
+	int queueSize;
+
+	private final SecureRandom random = new SecureRandom();
+
+	private final LongAdder hashCount = new LongAdder();
+	private final LongAdder rejectedCount = new LongAdder();
+	private final LongAdder queueNanos = new LongAdder();
+	private final LongAdder hashNanos = new LongAdder();
+	private final AtomicLong lastQueueNanos = new AtomicLong();
+	private final AtomicLong maxQueueNanos = new AtomicLong();
+
+	private ThreadPoolExecutor executor;
+
+	@PostConstruct
+	void init() {
+		AtomicLong threadNumber = new AtomicLong();
+		executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+		                                  new ArrayBlockingQueue<>(queueSize),
+		                                  task -> Thread.ofPlatform()
+		                                                .daemon()
+		                                                .name("password-hash-" + threadNumber.incrementAndGet())
+		                                                .unstarted(task),
+		                                  new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * @return a hash of the password with a fresh salt and the current iteration count
+	 */
+	public PasswordHash hash(String password) {
+		byte[] salt = new byte[saltBytes];
+		random.nextBytes(salt);
+		byte[] hash = derive(password, salt, iterations);
+		return new PasswordHash(Base64.getEncoder().encodeToString(hash),
+		                        Base64.getEncoder().encodeToString(salt),
+		                        iterations);
+	}
+
+	/**
+	 * Compares in constant time, so the response time does not reveal how much of the hash matched
+	 */
+	public boolean verify(String password, UserEntity user) {
+		if (password == null || user.getPassword() == null) {
+			return false;
+		}
+		byte[] expected;
+		byte[] salt;
+		try {
+			expected = Base64.getDecoder().decode(user.getPassword());
+			salt = isLegacy(user)
+					? legacySecret.getBytes(StandardCharsets.UTF_8)
+					: Base64.getDecoder().decode(user.getPasswordSalt());
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+		byte[] actual = derive(password, salt, isLegacy(user) ? legacyIterations : user.getPasswordIterations());
+		return MessageDigest.isEqual(expected, actual);
+	}
+
+	/**
+	 * @return whether the stored hash was made with a global salt or fewer iterations than currently configured
+	 */
+	public boolean needsRehash(UserEntity user) {
+		return isLegacy(user) || user.getPasswordIterations() < iterations;
+	}
+
+	public PasswordHashingStatsDTO stats() {
+		long hashes = hashCount.sum();
+		return PasswordHashingStatsDTO.builder()
+		                              .threads(threads)
+		                              .activeCount(executor.getActiveCount())
+		                              .queueDepth(executor.getQueue().size())
+		                              .queueCapacity(queueSize)
+		                              .iterations(iterations)
+		                              .hashCount(hashes)
+		                              .rejectedCount(rejectedCount.sum())
+		                              .lastQueueMillis(toMillis(lastQueueNanos.get()))
+		                              .maxQueueMillis(toMillis(maxQueueNanos.get()))
+		                              .averageQueueMillis(hashes == 0 ? 0 : toMillis(queueNanos.sum()) / hashes)
+		                              .averageHashMillis(hashes == 0 ? 0 : toMillis(hashNanos.sum()) / hashes)
+		                              .build();
+	}
+
+	private static boolean isLegacy(UserEntity user) {
+		return user.getPasswordSalt() == null || user.getPasswordIterations() == null;
+	}
+
+	private byte[] derive(String password, byte[] salt, int iterationCount) {
+		long submittedAt = System.nanoTime();
+		Future<byte[]> result;
+		try {
+			result = executor.submit(() -> {
+				long startedAt = System.nanoTime();
+				long waited = startedAt - submittedAt;
+				queueNanos.add(waited);
+				lastQueueNanos.set(waited);
+				maxQueueNanos.accumulateAndGet(waited, Math::max);
+				try {
+					return pbkdf2(password, salt, iterationCount);
+				} finally {
+					hashNanos.add(System.nanoTime() - startedAt);
+					hashCount.increment();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			rejectedCount.increment();
+			throw new PasswordHashingBusyException("Too many concurrent sign-ins, please retry shortly");
+		}
+		try {
+			return result.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			result.cancel(true);
+			throw new GeneralException(e);
+		} catch (ExecutionException e) {
+			throw new GeneralException(e.getCause());
+		}
+	}
+
+	private byte[] pbkdf2(String password, byte[] salt, int iterationCount) throws GeneralSecurityException {
+		PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterationCount, keyLength);
+		try {
+			return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+		} finally {
+			spec.clearPassword();
+		}
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+}
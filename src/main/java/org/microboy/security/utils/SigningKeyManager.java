@@ -0,0 +1,180 @@
+package org.microboy.security.utils;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * RSA keys for signing and verifying JWTs, parsed once at startup and held in memory.
+ * Every id in {@code com.microboy.cetus.jwt.keys.ids} is loaded from
+ * {@code com.microboy.cetus.jwt.keys.<kid>.private-location} and/or {@code .public-location} (classpath resource
+ * or file). New tokens are signed with the {@code active} key and carry its id as {@code kid}; keys without a private
+ * part are retired, kept only so their tokens can still be verified until they expire. Incoming tokens are verified
+ * against all of them by kid (see SigningKeyJwtCallerPrincipalFactory), and they are published as a JWKS document.
+ */
+@ApplicationScoped
+@Slf4j
+public class SigningKeyManager {
+
+	private static final String KEY_PREFIX = "com.microboy.cetus.jwt.keys.";
+
+	public record SigningKey(String keyId, PrivateKey privateKey, RSAPublicKey publicKey) {}
+
+	@ConfigProperty(name = "com.microboy.cetus.jwt.keys.ids", defaultValue = "primary")
+	List<String> keyIds;
+
+	@ConfigProperty(name = "com.microboy.cetus.jwt.keys.active", defaultValue = "primary")
+	String activeKeyId;
+
+	@Inject
+	Config config;
+
+	private Map<String, SigningKey> keys;
+	private SigningKey activeKey;
+	private Map<String, RSAPublicKey> verificationKeys;
+	private Map<String, List<Map<String, String>>> jwks;
+
+	void onStart(@Observes StartupEvent event) {
+		// Touching the bean loads the keys, so a missing or malformed key fails the startup rather than a login
+		log.info("Loaded JWT keys {}, signing with {}", keys.keySet(), activeKey.keyId());
+	}
+
+	@PostConstruct
+	void init() {
+		KeyFactory keyFactory;
+		try {
+			keyFactory = KeyFactory.getInstance("RSA");
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("RSA is not available", e);
+		}
+		Map<String, SigningKey> loaded = new LinkedHashMap<>();
+		for (String keyId : keyIds) {
+			loaded.put(keyId, loadKey(keyFactory, keyId.trim()));
+		}
+		keys = Collections.unmodifiableMap(loaded);
+		Map<String, RSAPublicKey> publicKeys = new LinkedHashMap<>();
+		loaded.forEach((keyId, key) -> publicKeys.put(keyId, key.publicKey()));
+		verificationKeys = Collections.unmodifiableMap(publicKeys);
+
+		activeKey = keys.get(activeKeyId);
+		if (activeKey == null || activeKey.privateKey() == null) {
+			throw new IllegalStateException("Active JWT key " + activeKeyId + " needs a private-location");
+		}
+
+		List<Map<String, String>> jwkList = new ArrayList<>();
+		for (SigningKey key : keys.values()) {
+			jwkList.add(Map.of("kty", "RSA",
+			                   "use", "sig",
+			                   "alg", "RS256",
+			                   "kid", key.keyId(),
+			                   "n", base64Url(key.publicKey().getModulus()),
+			                   "e", base64Url(key.publicKey().getPublicExponent())));
+		}
+		jwks = Map.of("keys", List.copyOf(jwkList));
+	}
+
+	/**
+	 * @return the key new tokens are signed with
+	 */
+	public SigningKey activeKey() {
+		return activeKey;
+	}
+
+	/**
+	 * @return the public key of every configured key by kid, active and retired, for verifying tokens
+	 */
+	public Map<String, RSAPublicKey> verificationKeys() {
+		return verificationKeys;
+	}
+
+	/**
+	 * @return the public part of every configured key as a JWK set (RFC 7517)
+	 */
+	public Map<String, List<Map<String, String>>> jwks() {
+		return jwks;
+	}
+
+	private SigningKey loadKey(KeyFactory keyFactory, String keyId) {
+		Optional<String> privateLocation = config.getOptionalValue(KEY_PREFIX + keyId + ".private-location", String.class);
+		Optional<String> publicLocation = config.getOptionalValue(KEY_PREFIX + keyId + ".public-location", String.class);
+		if (privateLocation.isEmpty() && publicLocation.isEmpty()) {
+			throw new IllegalStateException("JWT key " + keyId + " has neither a private-location nor a public-location");
+		}
+		try {
+			PrivateKey privateKey = privateLocation.isPresent()
+					? keyFactory.generatePrivate(new PKCS8EncodedKeySpec(readPem(privateLocation.get())))
+					: null;
+			RSAPublicKey publicKey;
+			if (publicLocation.isPresent()) {
+				publicKey = (RSAPublicKey) keyFactory.generatePublic(new X509EncodedKeySpec(readPem(publicLocation.get())));
+			} else if (privateKey instanceof RSAPrivateCrtKey crtKey) {
+				publicKey = (RSAPublicKey) keyFactory.generatePublic(
+						new RSAPublicKeySpec(crtKey.getModulus(), crtKey.getPublicExponent()));
+			} else {
+				throw new IllegalStateException("JWT key " + keyId + " needs a public-location");
+			}
+			return new SigningKey(keyId, privateKey, publicKey);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("JWT key " + keyId + " is not a valid RSA key", e);
+		}
+	}
+
+	/**
+	 * DER bytes of a PEM document read from the classpath, or from the file system when no such resource exists
+	 */
+	private byte[] readPem(String location) {
+		String pem;
+		try (InputStream resource = getClass().getResourceAsStream(location)) {
+			pem = resource != null
+					? new String(resource.readAllBytes(), StandardCharsets.US_ASCII)
+					: Files.readString(Path.of(location), StandardCharsets.US_ASCII);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot read JWT key " + location, e);
+		}
+		StringBuilder base64 = new StringBuilder(pem.length());
+		for (String line : pem.split("\\R")) {
+			if (!line.startsWith("-----")) {
+				base64.append(line.trim());
+			}
+		}
+		return Base64.getDecoder().decode(base64.toString());
+	}
+
+	// JWK integers are unsigned big-endian, so BigInteger's sign byte is dropped
+	private static String base64Url(BigInteger value) {
+		byte[] bytes = value.toByteArray();
+		if (bytes.length > 1 && bytes[0] == 0) {
+			bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+}
@@ -0,0 +1,113 @@
+package org.microboy.service;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.microboy.dto.response.AutoCheckoutStatsDTO;
+import org.microboy.enums.AutoCheckoutPolicy;
+import org.microboy.repository.AttendanceRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks out attendance rows left open on previous days. Each organization is swept with one set-based UPDATE per
+ * batch of {@code batch-size} rows, each in its own transaction, so a large tenant never holds row locks for long.
+ * Only the last {@code lookback-days} are scanned, which keeps the sweep to the newest attendance partitions.
+ * Closing a row leaves its attendance day in place, so dashboard counts and payroll day totals are unaffected.
+ */
+@ApplicationScoped
+@Slf4j
+public class AttendanceAutoCheckoutSweeper {
+
+	@Inject
+	AttendanceRepository attendanceRepository;
+
+	@ConfigProperty(name = "com.microboy.cetus.attendance.auto-checkout.enabled", defaultValue = "true")
+	boolean enabled;
+
+	@ConfigProperty(name = "com.microboy.cetus.attendance.auto-checkout.policy", defaultValue = "FIXED_TIME")
+	AutoCheckoutPolicy policy;
+
+	@ConfigProperty(name = "com.microboy.cetus.attendance.auto-checkout.time", defaultValue = "18:00")
+	LocalTime checkoutTime;
+
+	@ConfigProperty(name = "com.microboy.cetus.attendance.auto-checkout.shift-hours", defaultValue = "8")
+	int shiftHours;
+
+	@ConfigProperty(name = "com.microboy.cetus.attendance.auto-checkout.lookback-days", defaultValue = "7")
+	int lookbackDays;
+
+	@ConfigProperty(name = "com.microboy.cetus.attendance.auto-checkout.batch-size", defaultValue = "1000")
+	int batchSize;
+
+	private final LongAdder runs = new LongAdder();
+	private final LongAdder failedRuns = new LongAdder();
+	private final LongAdder rowsClosed = new LongAdder();
+	private volatile LastRun lastRun;
+
+	private record LastRun(LocalDateTime at, long rowsClosed, int organizations, int batches, long millis) {
+	}
+
+	@Scheduled(cron = "${com.microboy.cetus.attendance.auto-checkout.cron:0 15 0 * * ?}",
+	           concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+	void sweep() {
+		if (!enabled) {
+			return;
+		}
+		LocalDateTime startedAt = LocalDateTime.now();
+		long start = System.nanoTime();
+		LocalDate before = startedAt.toLocalDate();
+		LocalDate from = before.minusDays(lookbackDays);
+		long closed = 0;
+		int batches = 0;
+		List<UUID> organizationIds = List.of();
+		try {
+			organizationIds = QuarkusTransaction.requiringNew().call(
+					() -> attendanceRepository.findOrganizationsWithOpenRows(from, before));
+			for (UUID organizationId : organizationIds) {
+				int updated;
+				do {
+					updated = QuarkusTransaction.requiringNew().call(
+							() -> attendanceRepository.autoCheckOut(organizationId, from, before, policy,
+							                                        checkoutTime, shiftHours, batchSize));
+					closed += updated;
+					rowsClosed.add(updated);
+					batches++;
+				} while (updated == batchSize);
+			}
+			log.info("Auto checkout closed {} attendance records in {} organizations", closed, organizationIds.size());
+		} catch (Exception e) {
+			failedRuns.increment();
+			log.error("Auto checkout failed after closing {} attendance records", closed, e);
+		} finally {
+			runs.increment();
+			lastRun = new LastRun(startedAt, closed, organizationIds.size(), batches,
+			                      (System.nanoTime() - start) / 1_000_000);
+		}
+	}
+
+	public AutoCheckoutStatsDTO stats() {
+		LastRun last = lastRun;
+		AutoCheckoutStatsDTO.AutoCheckoutStatsDTOBuilder builder = AutoCheckoutStatsDTO.builder()
+				.policy(policy)
+				.runCount(runs.sum())
+				.failedRunCount(failedRuns.sum())
+				.totalRowsClosed(rowsClosed.sum());
+		if (last != null) {
+			builder.lastRunAt(last.at())
+			       .lastRunRowsClosed(last.rowsClosed())
+			       .lastRunOrganizations(last.organizations())
+			       .lastRunBatches(last.batches())
+			       .lastRunMillis(last.millis());
+		}
+		return builder.build();
+	}
+}
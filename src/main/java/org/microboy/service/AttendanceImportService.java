@@ -0,0 +1,23 @@
+package org.microboy.service;
+
+import org.microboy.dto.response.AttendanceImportResultDTO;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface AttendanceImportService {
+
+	/**
+	 * Imports a time-clock CSV export, reading it line by line.
+	 * Columns: employee_id, attendance_date, check_in_time, check_out_time, notes; the header line is optional.
+	 *
+	 * A file larger than the HTTP body limit is uploaded in parts, each a run of whole lines sent under the same
+	 * {@code importId} once the previous part finished; the result then covers every part so far.
+	 *
+	 * @param importId  id under which progress can be polled while the import runs; generated when {@code null}
+	 * @param firstLine line number of the part's first line in the whole file, used in the error report
+	 */
+	AttendanceImportResultDTO importCsv(UUID organizationId, UUID importId, long firstLine, InputStream csv);
+
+	AttendanceImportResultDTO getImport(UUID organizationId, UUID importId);
+}
@@ -0,0 +1,397 @@
+package org.microboy.service;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.ws.rs.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.microboy.cache.AttendanceDashboardCounters;
+import org.microboy.cache.AttendanceMaskCache;
+import org.microboy.dto.response.AttendanceImportErrorDTO;
+import org.microboy.dto.response.AttendanceImportResultDTO;
+import org.microboy.enums.AttendanceImportStatus;
+import org.microboy.repository.AttendanceMaskRepository;
+import org.microboy.repository.AttendanceRepository;
+import org.microboy.repository.AttendanceRepository.ImportedDay;
+import org.microboy.repository.AttendanceRepository.RowKey;
+import org.microboy.repository.PayrollDirtyRepository;
+import org.microboy.repository.PayrollDirtyRepository.DirtyPeriod;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams a time-clock CSV into {@code attendance}. Lines are parsed one at a time and validated against the
+ * organization's employee ids, loaded once per import; valid days are upserted every {@code batch-size} days,
+ * each batch in its own transaction with one multi-row statement. Progress is kept in memory on the importing node.
+ */
+@ApplicationScoped
+@Slf4j
+@RequiredArgsConstructor
+public class AttendanceImportServiceImpl implements AttendanceImportService {
+
+	private static final int EMPLOYEE_ID = 0;
+	private static final int ATTENDANCE_DATE = 1;
+	private static final int CHECK_IN_TIME = 2;
+	private static final int CHECK_OUT_TIME = 3;
+	private static final int NOTES = 4;
+	private static final Duration FINISHED_RETENTION = Duration.ofHours(1);
+
+	private final EntityManager entityManager;
+	private final AttendanceRepository attendanceRepository;
+	private final AttendanceMaskRepository attendanceMaskRepository;
+	private final PayrollDirtyRepository payrollDirtyRepository;
+	private final AttendanceMaskCache attendanceMaskCache;
+	private final AttendanceDashboardCounters attendanceDashboardCounters;
+
+	@ConfigProperty(name = "com.microboy.cetus.attendance.import.batch-size", defaultValue = "1000")
+	int batchSize;
+
+	@ConfigProperty(name = "com.microboy.cetus.attendance.import.max-reported-errors", defaultValue = "1000")
+	int maxReportedErrors;
+
+	@ConfigProperty(name = "com.microboy.cetus.attendance.import.max-age-months", defaultValue = "24")
+	int maxAgeMonths;
+
+	private final Map<UUID, ImportProgress> imports = new ConcurrentHashMap<>();
+
+	private record PendingDay(ImportedDay day, long line) {}
+
+	/**
+	 * Dates an import may write. Future days would sit in attendance_default and block the partition maintainer
+	 * from ever creating their month, so the window ends today.
+	 */
+	private record DateWindow(LocalDate earliest, LocalDate latest) {}
+
+	private static final class ImportProgress {
+		private final UUID importId;
+		private final UUID organizationId;
+		private final LocalDateTime startedAt = LocalDateTime.now();
+		private final AtomicLong linesRead = new AtomicLong();
+		private final AtomicLong importedCount = new AtomicLong();
+		private final AtomicLong errorCount = new AtomicLong();
+		private final List<AttendanceImportErrorDTO> errors = Collections.synchronizedList(new ArrayList<>());
+		private volatile AttendanceImportStatus status = AttendanceImportStatus.RUNNING;
+		private volatile String failureMessage;
+		private volatile LocalDateTime finishedAt;
+
+		private ImportProgress(UUID importId, UUID organizationId) {
+			this.importId = importId;
+			this.organizationId = organizationId;
+		}
+	}
+
+	@Override
+	public AttendanceImportResultDTO importCsv(UUID organizationId, UUID importId, long firstLine, InputStream csv) {
+		if (organizationId == null) {
+			throw new BadRequestException("Organization ID is required");
+		}
+		if (csv == null) {
+			throw new BadRequestException("CSV body is required");
+		}
+		if (firstLine < 1) {
+			throw new BadRequestException("firstLine must be at least 1");
+		}
+		pruneFinished();
+		ImportProgress progress = startOrResume(organizationId, importId != null ? importId : UUID.randomUUID());
+
+		Set<YearMonth> touchedMonths = new HashSet<>();
+		Map<RowKey, PendingDay> pending = new LinkedHashMap<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+			Set<UUID> employeeIds = new HashSet<>(entityManager.createQuery(
+					"SELECT e.employeeId FROM EmployeeCoreEntity e WHERE e.organizationId = ?1", UUID.class)
+					.setParameter(1, organizationId)
+					.getResultList());
+			LocalDate today = LocalDate.now();
+			DateWindow window = new DateWindow(today.minusMonths(maxAgeMonths), today);
+			log.info("Starting attendance import {} for organization {} with {} employees",
+			         progress.importId, organizationId, employeeIds.size());
+
+			String line;
+			long lineNumber = firstLine - 1;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				progress.linesRead.incrementAndGet();
+				if (line.isBlank() || (lineNumber == firstLine && isHeader(line))) {
+					continue;
+				}
+				try {
+					ImportedDay day = parseLine(line, employeeIds, window);
+					pending.merge(new RowKey(organizationId, day.employeeId(), day.date()),
+					              new PendingDay(day, lineNumber), AttendanceImportServiceImpl::mergeDays);
+				} catch (IllegalArgumentException e) {
+					reportError(progress, lineNumber, e.getMessage());
+				}
+				if (pending.size() >= batchSize) {
+					flush(progress, pending, touchedMonths);
+				}
+			}
+			flush(progress, pending, touchedMonths);
+			progress.status = AttendanceImportStatus.COMPLETED;
+		} catch (IOException e) {
+			log.error("Attendance import {} failed while reading the upload", progress.importId, e);
+			progress.status = AttendanceImportStatus.FAILED;
+			progress.failureMessage = "Could not read the upload: " + e.getMessage();
+		} catch (RuntimeException e) {
+			progress.status = AttendanceImportStatus.FAILED;
+			progress.failureMessage = e.getMessage();
+			throw e;
+		} finally {
+			progress.finishedAt = LocalDateTime.now();
+			touchedMonths.forEach(month -> attendanceMaskCache.invalidate(organizationId, month));
+			if (touchedMonths.contains(YearMonth.now())) {
+				attendanceDashboardCounters.reconcile();
+			}
+		}
+
+		log.info("Attendance import {} finished: {} lines, {} days imported, {} errors", progress.importId,
+		         progress.linesRead.get(), progress.importedCount.get(), progress.errorCount.get());
+		return toDTO(progress);
+	}
+
+	@Override
+	public AttendanceImportResultDTO getImport(UUID organizationId, UUID importId) {
+		ImportProgress progress = imports.get(importId);
+		if (progress == null || !progress.organizationId.equals(organizationId)) {
+			throw new EntityNotFoundException("Import not found");
+		}
+		return toDTO(progress);
+	}
+
+	/**
+	 * A new import, or the next part of a finished one from the same organization
+	 */
+	private ImportProgress startOrResume(UUID organizationId, UUID importId) {
+		return imports.compute(importId, (id, existing) -> {
+			if (existing == null) {
+				return new ImportProgress(id, organizationId);
+			}
+			if (!existing.organizationId.equals(organizationId)) {
+				throw new BadRequestException("Import " + id + " already exists");
+			}
+			if (existing.status == AttendanceImportStatus.RUNNING) {
+				throw new BadRequestException("Import " + id + " is still running, send the next part once it finished");
+			}
+			existing.status = AttendanceImportStatus.RUNNING;
+			existing.failureMessage = null;
+			existing.finishedAt = null;
+			return existing;
+		});
+	}
+
+	private void flush(ImportProgress progress, Map<RowKey, PendingDay> pending, Set<YearMonth> touchedMonths) {
+		if (pending.isEmpty()) {
+			return;
+		}
+		UUID organizationId = progress.organizationId;
+		List<ImportedDay> days = pending.values().stream().map(PendingDay::day).toList();
+		try {
+			save(organizationId, days, pending.keySet());
+			progress.importedCount.addAndGet(days.size());
+			days.forEach(day -> touchedMonths.add(YearMonth.from(day.date())));
+		} catch (Exception e) {
+			// The batch rolled back as a whole; save day by day so the report names the lines that actually fail
+			log.warn("Attendance import {} failed to save a batch of {} days, retrying them one by one",
+			         progress.importId, days.size(), e);
+			pending.forEach((key, pendingDay) -> {
+				try {
+					save(organizationId, List.of(pendingDay.day()), List.of(key));
+					progress.importedCount.incrementAndGet();
+					touchedMonths.add(YearMonth.from(pendingDay.day().date()));
+				} catch (Exception dayError) {
+					reportError(progress, pendingDay.line(), "Could not be saved: " + rootMessage(dayError));
+				}
+			});
+		}
+		pending.clear();
+	}
+
+	private void save(UUID organizationId, List<ImportedDay> days, Collection<RowKey> keys) {
+		Set<DirtyPeriod> periods = new HashSet<>();
+		for (ImportedDay day : days) {
+			periods.add(new DirtyPeriod(organizationId, day.employeeId(), day.date().getYear(),
+			                            day.date().getMonthValue()));
+		}
+		QuarkusTransaction.requiringNew().run(() -> {
+			attendanceRepository.upsertImported(organizationId, days);
+			attendanceMaskRepository.markPresent(keys);
+			payrollDirtyRepository.markDirty(periods);
+		});
+	}
+
+	private static String rootMessage(Throwable e) {
+		Throwable root = e;
+		while (root.getCause() != null && root.getCause() != root) {
+			root = root.getCause();
+		}
+		return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+	}
+
+	/**
+	 * @throws IllegalArgumentException with the message reported for the line
+	 */
+	private static ImportedDay parseLine(String line, Set<UUID> employeeIds, DateWindow window) {
+		List<String> columns = splitCsvLine(line);
+		if (columns.size() < CHECK_IN_TIME + 1) {
+			throw new IllegalArgumentException("Expected employee_id, attendance_date, check_in_time[, check_out_time, notes]");
+		}
+
+		UUID employeeId;
+		try {
+			employeeId = UUID.fromString(columns.get(EMPLOYEE_ID).trim());
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid employee_id");
+		}
+		if (!employeeIds.contains(employeeId)) {
+			throw new IllegalArgumentException("Employee does not belong to your organization");
+		}
+
+		LocalDate date;
+		try {
+			date = LocalDate.parse(columns.get(ATTENDANCE_DATE).trim());
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("Invalid attendance_date, expected yyyy-MM-dd");
+		}
+		if (date.isBefore(window.earliest()) || date.isAfter(window.latest())) {
+			throw new IllegalArgumentException("attendance_date must be between " + window.earliest()
+			                                   + " and " + window.latest());
+		}
+
+		LocalDateTime checkIn = parseTime(columns.get(CHECK_IN_TIME), date, "check_in_time");
+		if (checkIn == null) {
+			throw new IllegalArgumentException("check_in_time is required");
+		}
+		LocalDateTime checkOut = columns.size() > CHECK_OUT_TIME
+				? parseTime(columns.get(CHECK_OUT_TIME), date, "check_out_time")
+				: null;
+		if (checkOut != null && checkOut.isBefore(checkIn)) {
+			throw new IllegalArgumentException("check_out_time is before check_in_time");
+		}
+		String notes = columns.size() > NOTES && !columns.get(NOTES).isBlank() ? columns.get(NOTES).trim() : null;
+		return new ImportedDay(employeeId, date, checkIn, checkOut, notes);
+	}
+
+	/**
+	 * Accepts a full timestamp (yyyy-MM-ddTHH:mm[:ss] or with a space) or a time of day on the attendance date
+	 */
+	private static LocalDateTime parseTime(String value, LocalDate date, String column) {
+		String trimmed = value.trim();
+		if (trimmed.isEmpty()) {
+			return null;
+		}
+		try {
+			return trimmed.length() <= 8
+					? date.atTime(LocalTime.parse(trimmed))
+					: LocalDateTime.parse(trimmed.replace(' ', 'T'));
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("Invalid " + column);
+		}
+	}
+
+	/**
+	 * Several punches for the same day collapse into the earliest check-in and the latest check-out
+	 */
+	private static PendingDay mergeDays(PendingDay existing, PendingDay added) {
+		ImportedDay a = existing.day();
+		ImportedDay b = added.day();
+		LocalDateTime checkIn = a.checkInTime().isBefore(b.checkInTime()) ? a.checkInTime() : b.checkInTime();
+		LocalDateTime checkOut;
+		if (a.checkOutTime() == null || b.checkOutTime() == null) {
+			checkOut = a.checkOutTime() != null ? a.checkOutTime() : b.checkOutTime();
+		} else {
+			checkOut = a.checkOutTime().isAfter(b.checkOutTime()) ? a.checkOutTime() : b.checkOutTime();
+		}
+		String notes = b.notes() != null ? b.notes() : a.notes();
+		return new PendingDay(new ImportedDay(a.employeeId(), a.date(), checkIn, checkOut, notes), existing.line());
+	}
+
+	private static boolean isHeader(String line) {
+		List<String> columns = splitCsvLine(line);
+		return !columns.isEmpty() && columns.get(EMPLOYEE_ID).trim().equalsIgnoreCase("employee_id");
+	}
+
+	/**
+	 * Splits one CSV line; fields may be double-quoted, with "" as an escaped quote
+	 */
+	static List<String> splitCsvLine(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					field.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	private void reportError(ImportProgress progress, long line, String message) {
+		progress.errorCount.incrementAndGet();
+		if (progress.errors.size() < maxReportedErrors) {
+			progress.errors.add(new AttendanceImportErrorDTO(line, message));
+		}
+	}
+
+	private void pruneFinished() {
+		LocalDateTime cutoff = LocalDateTime.now().minus(FINISHED_RETENTION);
+		imports.values().removeIf(progress -> progress.finishedAt != null && progress.finishedAt.isBefore(cutoff));
+	}
+
+	private static AttendanceImportResultDTO toDTO(ImportProgress progress) {
+		List<AttendanceImportErrorDTO> errors;
+		synchronized (progress.errors) {
+			errors = List.copyOf(progress.errors);
+		}
+		return AttendanceImportResultDTO.builder()
+		                                .importId(progress.importId)
+		                                .status(progress.status)
+		                                .linesRead(progress.linesRead.get())
+		                                .importedCount(progress.importedCount.get())
+		                                .errorCount(progress.errorCount.get())
+		                                .errors(errors)
+		                                .errorsTruncated(progress.errorCount.get() > errors.size())
+		                                .failureMessage(progress.failureMessage)
+		                                .startedAt(progress.startedAt)
+		                                .finishedAt(progress.finishedAt)
+		                                .build();
+	}
+}
@@ -0,0 +1,311 @@
+package org.microboy.service;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.microboy.cache.AttendanceDashboardCounters;
+import org.microboy.cache.AttendanceMaskCache;
+import org.microboy.dto.response.AttendanceIngestionStatsDTO;
+import org.microboy.entity.AttendanceEntity;
+import org.microboy.exception.GeneralException;
+import org.microboy.exception.IngestionQueueFullException;
+import org.microboy.repository.AttendanceMaskRepository;
+import org.microboy.repository.AttendanceRepository;
+import org.microboy.repository.AttendanceRepository.Punch;
+import org.microboy.repository.AttendanceRepository.PunchOutcome;
+import org.microboy.repository.AttendanceRepository.PunchType;
+import org.microboy.repository.AttendanceRepository.RowKey;
+import org.microboy.repository.PayrollDirtyRepository;
+import org.microboy.repository.PayrollDirtyRepository.DirtyPeriod;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Group commit for check-in and check-out punches.
+ * Callers enqueue a punch and block until it is durable; a single writer thread drains the queue every
+ * {@code flush-interval-ms} or {@code max-batch-size} punches and applies the batch in one transaction.
+ * A full queue rejects new punches instead of letting callers pile up.
+ */
+@ApplicationScoped
+@Slf4j
+public class AttendanceIngestionQueue {
+
+	@Inject
+	AttendanceRepository attendanceRepository;
+
+	@Inject
+	PayrollDirtyRepository payrollDirtyRepository;
+
+	@Inject
+	AttendanceDashboardCounters attendanceDashboardCounters;
+
+	@Inject
+	AttendanceMaskRepository attendanceMaskRepository;
+
+	@Inject
+	AttendanceMaskCache attendanceMaskCache;
+
+	@ConfigProperty(name = "com.microboy.cetus.attendance.ingestion.enabled", defaultValue = "false")
+	boolean enabled;
+
+	@ConfigProperty(name = "com.microboy.cetus.attendance.ingestion.capacity", defaultValue = "10000")
+	int capacity;
+
+	@ConfigProperty(name = "com.microboy.cetus.attendance.ingestion.max-batch-size", defaultValue = "500")
+	int maxBatchSize;
+
+	@ConfigProperty(name = "com.microboy.cetus.attendance.ingestion.flush-interval-ms", defaultValue = "5")
+	long flushIntervalMillis;
+
+	@ConfigProperty(name = "com.microboy.cetus.attendance.ingestion.wait-timeout-ms", defaultValue = "10000")
+	long waitTimeoutMillis;
+
+	private record PendingPunch(Punch punch, CompletableFuture<AttendanceEntity> result) {}
+
+	private BlockingQueue<PendingPunch> queue;
+	// Punches held back because their row already had a punch in the batch being built
+	private final Deque<PendingPunch> carriedOver = new ArrayDeque<>();
+	private volatile boolean running;
+	private Thread writer;
+
+	private final LongAdder flushCount = new LongAdder();
+	private final LongAdder recordCount = new LongAdder();
+	private final LongAdder rejectedCount = new LongAdder();
+	private final LongAdder failedFlushCount = new LongAdder();
+	private final LongAdder flushNanos = new LongAdder();
+	private final AtomicLong lastBatchSize = new AtomicLong();
+	private final AtomicLong maxBatch = new AtomicLong();
+	private final AtomicLong lastFlushNanos = new AtomicLong();
+	private final AtomicLong maxFlushNanos = new AtomicLong();
+
+	void onStart(@Observes StartupEvent event) {
+		if (!enabled) {
+			return;
+		}
+		queue = new ArrayBlockingQueue<>(capacity);
+		running = true;
+		writer = Thread.ofPlatform().daemon().name("attendance-ingestion").start(this::drainLoop);
+		log.info("Attendance ingestion queue started: capacity={}, maxBatchSize={}, flushIntervalMs={}",
+		         capacity, maxBatchSize, flushIntervalMillis);
+	}
+
+	void onStop(@Observes ShutdownEvent event) {
+		if (writer == null) {
+			return;
+		}
+		running = false;
+		try {
+			// The writer flushes whatever is still queued before it exits
+			writer.join(waitTimeoutMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enqueues the punch and waits until the batch containing it has committed.
+	 *
+	 * @return the attendance row after the punch
+	 * @throws IngestionQueueFullException if the queue is full
+	 * @throws BadRequestException         if the punch was rejected, e.g. a second check-in
+	 */
+	public AttendanceEntity submit(Punch punch) {
+		if (!running) {
+			throw new IllegalStateException("Attendance ingestion queue is not running");
+		}
+		PendingPunch pending = new PendingPunch(punch, new CompletableFuture<>());
+		if (!queue.offer(pending)) {
+			rejectedCount.increment();
+			throw new IngestionQueueFullException("Too many attendance requests, please retry shortly");
+		}
+		try {
+			return pending.result().get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new GeneralException(e.getCause());
+		} catch (TimeoutException e) {
+			// The punch stays queued and may still be written; the caller can check its attendance later
+			throw new GeneralException("Timed out waiting for attendance to be saved");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GeneralException(e);
+		}
+	}
+
+	public AttendanceIngestionStatsDTO stats() {
+		long flushes = flushCount.sum();
+		long records = recordCount.sum();
+		return AttendanceIngestionStatsDTO.builder()
+		                                  .enabled(enabled)
+		                                  .queueDepth(queue == null ? 0 : queue.size())
+		                                  .queueCapacity(capacity)
+		                                  .flushCount(flushes)
+		                                  .recordCount(records)
+		                                  .rejectedCount(rejectedCount.sum())
+		                                  .failedFlushCount(failedFlushCount.sum())
+		                                  .lastBatchSize((int) lastBatchSize.get())
+		                                  .maxBatchSize((int) maxBatch.get())
+		                                  .averageBatchSize(flushes == 0 ? 0 : (double) records / flushes)
+		                                  .lastFlushMillis(toMillis(lastFlushNanos.get()))
+		                                  .maxFlushMillis(toMillis(maxFlushNanos.get()))
+		                                  .averageFlushMillis(flushes == 0 ? 0 : toMillis(flushNanos.sum()) / flushes)
+		                                  .build();
+	}
+
+	private void drainLoop() {
+		while (running || !queue.isEmpty() || !carriedOver.isEmpty()) {
+			try {
+				List<PendingPunch> batch = nextBatch();
+				if (!batch.isEmpty()) {
+					flush(batch);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (Exception e) {
+				log.error("Attendance ingestion writer failed", e);
+			}
+		}
+	}
+
+	/**
+	 * Collects punches until the batch is full or the flush interval after its first punch has passed.
+	 * Only one punch per attendance row goes into a batch; later ones wait for the next batch.
+	 */
+	private List<PendingPunch> nextBatch() throws InterruptedException {
+		List<PendingPunch> batch = new ArrayList<>();
+		Set<RowKey> keys = new HashSet<>();
+		List<PendingPunch> heldBack = new ArrayList<>();
+
+		while (!carriedOver.isEmpty() && batch.size() < maxBatchSize) {
+			addOrHoldBack(carriedOver.poll(), batch, keys, heldBack);
+		}
+		if (batch.isEmpty()) {
+			PendingPunch first = queue.poll(100, TimeUnit.MILLISECONDS);
+			if (first == null) {
+				return batch;
+			}
+			addOrHoldBack(first, batch, keys, heldBack);
+		}
+
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+		while (batch.size() < maxBatchSize) {
+			long remaining = deadline - System.nanoTime();
+			PendingPunch next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+			if (next == null) {
+				break;
+			}
+			addOrHoldBack(next, batch, keys, heldBack);
+		}
+		heldBack.reversed().forEach(carriedOver::addFirst);
+		return batch;
+	}
+
+	private static void addOrHoldBack(PendingPunch pending, List<PendingPunch> batch, Set<RowKey> keys,
+	                                  List<PendingPunch> heldBack) {
+		if (keys.add(pending.punch().key())) {
+			batch.add(pending);
+		} else {
+			heldBack.add(pending);
+		}
+	}
+
+	private void flush(List<PendingPunch> batch) {
+		List<Punch> punches = batch.stream().map(PendingPunch::punch).toList();
+		long start = System.nanoTime();
+		List<PunchOutcome> outcomes;
+		try {
+			outcomes = QuarkusTransaction.requiringNew().call(() -> applyBatch(punches));
+		} catch (Exception e) {
+			failedFlushCount.increment();
+			log.error("Failed to save a batch of {} attendance punches", batch.size(), e);
+			GeneralException failure = new GeneralException("Attendance could not be saved, please retry", e);
+			batch.forEach(pending -> pending.result().completeExceptionally(failure));
+			return;
+		}
+		recordFlush(batch.size(), System.nanoTime() - start);
+
+		for (int i = 0; i < batch.size(); i++) {
+			PendingPunch pending = batch.get(i);
+			PunchOutcome outcome = outcomes.get(i);
+			if (outcome.applied()) {
+				if (outcome.created()) {
+					Punch punch = pending.punch();
+					attendanceMaskCache.markPresent(punch.organizationId(), punch.employeeId(), punch.date());
+					attendanceDashboardCounters.attendanceCreated(punch.organizationId(), punch.date());
+				}
+				pending.result().complete(outcome.row());
+			} else {
+				pending.result().completeExceptionally(new BadRequestException(rejectionMessage(pending.punch(), outcome)));
+			}
+		}
+	}
+
+	private List<PunchOutcome> applyBatch(List<Punch> punches) {
+		List<PunchOutcome> outcomes = attendanceRepository.applyPunches(punches);
+		List<RowKey> createdDays = new ArrayList<>();
+		Set<DirtyPeriod> dirtyPeriods = new HashSet<>();
+		for (int i = 0; i < punches.size(); i++) {
+			Punch punch = punches.get(i);
+			if (outcomes.get(i).created()) {
+				createdDays.add(punch.key());
+			}
+			if (outcomes.get(i).applied()) {
+				dirtyPeriods.add(new DirtyPeriod(punch.organizationId(), punch.employeeId(),
+				                                 punch.date().getYear(), punch.date().getMonthValue()));
+			}
+		}
+		attendanceMaskRepository.markPresent(createdDays);
+		payrollDirtyRepository.markDirty(dirtyPeriods);
+		return outcomes;
+	}
+
+	// Same messages as the one-transaction-per-request path
+	private static String rejectionMessage(Punch punch, PunchOutcome outcome) {
+		if (punch.type() == PunchType.CHECK_IN) {
+			return "You have already checked in today. Please check out first.";
+		}
+		return outcome.row() == null
+				? "No check-in found for today. Please check in first."
+				: "You have already checked out today.";
+	}
+
+	private void recordFlush(int batchSize, long elapsedNanos) {
+		flushCount.increment();
+		recordCount.add(batchSize);
+		flushNanos.add(elapsedNanos);
+		lastBatchSize.set(batchSize);
+		maxBatch.accumulateAndGet(batchSize, Math::max);
+		lastFlushNanos.set(elapsedNanos);
+		maxFlushNanos.accumulateAndGet(elapsedNanos, Math::max);
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+}
@@ -0,0 +1,73 @@
+package org.microboy.service;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.microboy.repository.AttendancePartitionRepository;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Keeps monthly partitions of {@code attendance} created {@code months-ahead} into the future, so check-ins never
+ * land in the default partition, and archives partitions older than {@code retention-months} (0 keeps everything).
+ * Archived months stay readable through attendance_month_mask, which payroll and calendars use.
+ */
+@ApplicationScoped
+@Slf4j
+public class AttendancePartitionMaintainer {
+
+	@Inject
+	AttendancePartitionRepository attendancePartitionRepository;
+
+	@ConfigProperty(name = "com.microboy.cetus.attendance.partitions.months-ahead", defaultValue = "3")
+	int monthsAhead;
+
+	@ConfigProperty(name = "com.microboy.cetus.attendance.partitions.retention-months", defaultValue = "0")
+	int retentionMonths;
+
+	void onStart(@Observes StartupEvent event) {
+		maintain();
+	}
+
+	@Scheduled(cron = "${com.microboy.cetus.attendance.partitions.cron:0 0 2 * * ?}",
+	           concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+	void maintain() {
+		try {
+			QuarkusTransaction.requiringNew().run(this::maintainPartitions);
+		} catch (Exception e) {
+			log.error("Attendance partition maintenance failed", e);
+		}
+	}
+
+	private void maintainPartitions() {
+		if (!attendancePartitionRepository.tryLockMaintenance()) {
+			log.debug("Attendance partition maintenance is running on another node");
+			return;
+		}
+		List<YearMonth> existing = attendancePartitionRepository.findPartitionMonths();
+		YearMonth current = YearMonth.now();
+
+		for (YearMonth month = current; !month.isAfter(current.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+			if (!existing.contains(month)) {
+				attendancePartitionRepository.createPartition(month);
+				log.info("Created attendance partition for {}", month);
+			}
+		}
+
+		if (retentionMonths > 0) {
+			YearMonth oldestKept = current.minusMonths(retentionMonths);
+			for (YearMonth month : existing) {
+				if (month.isBefore(oldestKept)) {
+					attendancePartitionRepository.archivePartition(month);
+					log.info("Archived attendance partition for {}", month);
+				}
+			}
+		}
+	}
+}
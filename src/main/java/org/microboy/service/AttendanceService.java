@@ -2,8 +2,10 @@ package org.microboy.service;
 
 import org.microboy.dto.request.AttendanceCheckInRequestDTO;
 import org.microboy.dto.request.AttendanceCheckOutRequestDTO;
+import org.microboy.dto.response.AttendanceCalendarDTO;
 import org.microboy.dto.response.AttendanceDashboardSummaryDTO;
 import org.microboy.dto.response.AttendanceResponseDTO;
+import org.microboy.dto.response.OrganizationAttendanceCalendarDTO;
 import org.microboy.dto.response.PaginatedResponse;
 
 import java.util.UUID;
@@ -14,8 +16,29 @@ public interface AttendanceService {
 
 	AttendanceResponseDTO checkOut(UUID employeeId, UUID organizationId, AttendanceCheckOutRequestDTO request);
 
+	/**
+	 * Same as {@link #checkIn}, written through the group-commit ingestion queue
+	 */
+	AttendanceResponseDTO checkInQueued(UUID employeeId, UUID organizationId, AttendanceCheckInRequestDTO request);
+
+	/**
+	 * Same as {@link #checkOut}, written through the group-commit ingestion queue
+	 */
+	AttendanceResponseDTO checkOutQueued(UUID employeeId, UUID organizationId, AttendanceCheckOutRequestDTO request);
+
 	PaginatedResponse<AttendanceResponseDTO> getMyAttendance(UUID employeeId, UUID organizationId, int page, int pageSize);
 
+	/**
+	 * Keyset page of the employee's attendance, newest first.
+	 * The total is only computed when {@code includeTotal} is set; otherwise totalItems and totalPages are -1.
+	 */
+	PaginatedResponse<AttendanceResponseDTO> getMyAttendanceByCursor(UUID employeeId, UUID organizationId, String cursor,
+	                                                                 int pageSize, boolean includeTotal);
+
 	AttendanceDashboardSummaryDTO getDashboardSummary(UUID organizationId);
+
+	AttendanceCalendarDTO getMyCalendar(UUID employeeId, UUID organizationId, Integer year, Integer month);
+
+	OrganizationAttendanceCalendarDTO getOrganizationCalendar(UUID organizationId, Integer year, Integer month);
 }
 
@@ -4,21 +4,39 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.BadRequestException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.microboy.cache.AttendanceDashboardCounters;
+import org.microboy.cache.AttendanceMaskCache;
+import org.microboy.cache.EmployeeMembershipCache;
 import org.microboy.constants.ExceptionConstants;
 import org.microboy.dto.request.AttendanceCheckInRequestDTO;
 import org.microboy.dto.request.AttendanceCheckOutRequestDTO;
+import org.microboy.dto.response.AttendanceCalendarDTO;
 import org.microboy.dto.response.AttendanceDashboardSummaryDTO;
 import org.microboy.dto.response.AttendanceResponseDTO;
+import org.microboy.dto.response.OrganizationAttendanceCalendarDTO;
 import org.microboy.dto.response.PaginatedResponse;
 import org.microboy.entity.AttendanceEntity;
 import org.microboy.entity.EmployeeCoreEntity;
-import org.microboy.enums.AttendanceStatus;
+import org.microboy.repository.AttendanceMaskRepository;
+import org.microboy.repository.AttendanceRepository;
+import org.microboy.repository.AttendanceRepository.Punch;
+import org.microboy.repository.AttendanceRepository.PunchType;
+import org.microboy.repository.AttendanceRepository.RowKey;
+import org.microboy.repository.PayrollDirtyRepository;
+import org.microboy.utils.CursorCodec;
+import org.microboy.utils.DayMask;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -26,131 +44,120 @@ import java.util.UUID;
  */
 @ApplicationScoped
 @Slf4j
+@RequiredArgsConstructor
 public class AttendanceServiceImpl implements AttendanceService {
 
+	private final AttendanceRepository attendanceRepository;
+	private final PayrollDirtyRepository payrollDirtyRepository;
+	private final EmployeeMembershipCache employeeMembershipCache;
+	private final AttendanceIngestionQueue attendanceIngestionQueue;
+	private final AttendanceDashboardCounters attendanceDashboardCounters;
+	private final AttendanceMaskRepository attendanceMaskRepository;
+	private final AttendanceMaskCache attendanceMaskCache;
+
 	@Override
 	@Transactional
 	public AttendanceResponseDTO checkIn(UUID employeeId, UUID organizationId, AttendanceCheckInRequestDTO request) {
 		log.debug("Starting checkIn process for employeeId: {} orgId: {}", employeeId, organizationId);
 
-		if (employeeId == null) {
-			log.error("employeeId parameter is null");
-			throw new BadRequestException("Employee ID is required");
-		}
-		if (organizationId == null) {
-			log.error("organizationId parameter is null");
-			throw new BadRequestException("Organization ID is required");
-		}
-
-		// Verify employee exists and belongs to the organization
-		EmployeeCoreEntity employee = EmployeeCoreEntity.findById(employeeId);
-		if (employee == null) {
-			log.error("Employee not found: employeeId={}", employeeId);
-			throw new EntityNotFoundException(ExceptionConstants.EMPLOYEE_NOT_FOUND);
-		}
+		verifyMembership(employeeId, organizationId);
 
-		log.debug("Employee found: employeeId={}, employee.organizationId={}", employeeId, employee.organizationId);
+		LocalDate today = LocalDate.now();
+		LocalDateTime checkInTime = request.getCheckInTime() != null ? request.getCheckInTime() : LocalDateTime.now();
 
-		if (employee.organizationId == null) {
-			log.error("Employee has null organizationId: employeeId={}", employeeId);
-			throw new BadRequestException("Employee organization is not set - data integrity error");
+		// Inserts the first check-in of the day or re-opens a checked-out day in one statement
+		UUID attendanceId = UUID.randomUUID();
+		AttendanceEntity attendanceEntity = attendanceRepository
+			.upsertCheckIn(attendanceId, organizationId, employeeId, today, checkInTime, request.getNotes())
+			.orElseThrow(() -> {
+				log.warn("Duplicate check-in attempt: employeeId={}, date={}", employeeId, today);
+				return new BadRequestException("You have already checked in today. Please check out first.");
+			});
+		if (attendanceId.equals(attendanceEntity.attendanceId)) {
+			// A re-opened day already has its bit set
+			attendanceMaskRepository.markPresent(List.of(new RowKey(organizationId, employeeId, today)));
+			attendanceMaskCache.markPresent(organizationId, employeeId, today);
+			attendanceDashboardCounters.attendanceCreated(organizationId, today);
 		}
+		payrollDirtyRepository.markDirty(organizationId, employeeId, today, today);
+		log.info("Employee {} checked in successfully at {} for organization {}", employeeId, checkInTime, organizationId);
 
-		if (!organizationId.equals(employee.organizationId)) {
-			log.warn("Organization mismatch: JWT organizationId={}, employee.organizationId={}",
-				organizationId, employee.organizationId);
-			throw new BadRequestException("Employee does not belong to your organization");
-		}
+		return convertToDTO(attendanceEntity);
+	}
 
-		LocalDate today = LocalDate.now();
-		LocalDateTime checkInTime = request.getCheckInTime() != null ? request.getCheckInTime() : LocalDateTime.now();
+	@Override
+	@Transactional
+	public AttendanceResponseDTO checkOut(UUID employeeId, UUID organizationId, AttendanceCheckOutRequestDTO request) {
+		verifyMembership(employeeId, organizationId);
 
-		log.debug("Checking for existing attendance: organizationId={}, employeeId={}, date={}",
-			organizationId, employeeId, today);
+		LocalDate today = LocalDate.now();
+		LocalDateTime checkOutTime = request.getCheckOutTime() != null ? request.getCheckOutTime() : LocalDateTime.now();
 
-		// Check if there's already an attendance record for today
-		AttendanceEntity existingAttendance = AttendanceEntity.findByOrgAndEmployeeAndDate(organizationId, employeeId, today);
-		
-		if (existingAttendance != null) {
-			if (existingAttendance.checkOutTime == null) {
-				// There's an active check-in (not checked out yet)
-				log.warn("Duplicate check-in attempt: employeeId={}, date={}", employeeId, today);
-				throw new BadRequestException("You have already checked in today. Please check out first.");
-			} else {
-				// Already checked out today - update the record for re-check-in
-				log.info("Re-check-in after checkout: updating attendance record for employeeId={}, date={}", employeeId, today);
-				existingAttendance.checkInTime = checkInTime;
-				existingAttendance.checkOutTime = null;
-				existingAttendance.status = AttendanceStatus.PENDING;
-				if (request.getNotes() != null && !request.getNotes().trim().isEmpty()) {
-					existingAttendance.notes = request.getNotes();
-				}
-				existingAttendance.persist();
-				log.info("Employee {} re-checked in successfully at {}", employeeId, checkInTime);
-				return convertToDTO(existingAttendance);
+		Optional<AttendanceEntity> checkedOut =
+			attendanceRepository.checkOut(organizationId, employeeId, today, checkOutTime, request.getNotes());
+		if (checkedOut.isEmpty()) {
+			// Only the failure path reads the row, to tell the two cases apart
+			AttendanceEntity attendanceEntity = AttendanceEntity.findByOrgAndEmployeeAndDate(organizationId, employeeId, today);
+			if (attendanceEntity == null) {
+				throw new BadRequestException("No check-in found for today. Please check in first.");
 			}
+			throw new BadRequestException("You have already checked out today.");
 		}
+		payrollDirtyRepository.markDirty(organizationId, employeeId, today, today);
 
-		// Create new attendance record (first check-in of the day)
-		AttendanceEntity attendanceEntity = AttendanceEntity.builder()
-			.organizationId(organizationId)
-			.employeeId(employeeId)
-			.attendanceDate(today)
-			.checkInTime(checkInTime)
-			.checkOutTime(null)
-			.status(AttendanceStatus.PENDING)
-			.notes(request.getNotes())
-			.build();
+		log.info("Employee {} checked out at {}", employeeId, checkOutTime);
 
-		AttendanceEntity.persist(attendanceEntity);
-		log.info("Employee {} checked in successfully at {} for organization {}", employeeId, checkInTime, organizationId);
+		return convertToDTO(checkedOut.get());
+	}
+
+	// Not transactional: the caller waits for the writer's batch transaction instead of holding its own
+	@Override
+	public AttendanceResponseDTO checkInQueued(UUID employeeId, UUID organizationId, AttendanceCheckInRequestDTO request) {
+		verifyMembership(employeeId, organizationId);
+
+		LocalDateTime checkInTime = request.getCheckInTime() != null ? request.getCheckInTime() : LocalDateTime.now();
+		AttendanceEntity attendanceEntity = attendanceIngestionQueue.submit(new Punch(
+			PunchType.CHECK_IN, organizationId, employeeId, LocalDate.now(), checkInTime, request.getNotes()));
+		log.info("Employee {} checked in at {} for organization {} (queued)", employeeId, checkInTime, organizationId);
 
 		return convertToDTO(attendanceEntity);
 	}
 
 	@Override
-	@Transactional
-	public AttendanceResponseDTO checkOut(UUID employeeId, UUID organizationId, AttendanceCheckOutRequestDTO request) {
+	public AttendanceResponseDTO checkOutQueued(UUID employeeId, UUID organizationId, AttendanceCheckOutRequestDTO request) {
+		verifyMembership(employeeId, organizationId);
+
+		LocalDateTime checkOutTime = request.getCheckOutTime() != null ? request.getCheckOutTime() : LocalDateTime.now();
+		AttendanceEntity attendanceEntity = attendanceIngestionQueue.submit(new Punch(
+			PunchType.CHECK_OUT, organizationId, employeeId, LocalDate.now(), checkOutTime, request.getNotes()));
+		log.info("Employee {} checked out at {} (queued)", employeeId, checkOutTime);
+
+		return convertToDTO(attendanceEntity);
+	}
+
+	/**
+	 * Checks that the employee belongs to the organization using the cached membership map
+	 */
+	private void verifyMembership(UUID employeeId, UUID organizationId) {
 		if (employeeId == null) {
+			log.error("employeeId parameter is null");
 			throw new BadRequestException("Employee ID is required");
 		}
 		if (organizationId == null) {
+			log.error("organizationId parameter is null");
 			throw new BadRequestException("Organization ID is required");
 		}
 
-		// Verify employee exists and belongs to the organization
-		EmployeeCoreEntity employee = EmployeeCoreEntity.findById(employeeId);
-		if (employee == null) {
-			throw new EntityNotFoundException(ExceptionConstants.EMPLOYEE_NOT_FOUND);
+		UUID employeeOrganizationId = employeeMembershipCache.getOrganizationId(employeeId);
+		if (employeeOrganizationId == null) {
+			log.error("Employee has null organizationId: employeeId={}", employeeId);
+			throw new BadRequestException("Employee organization is not set - data integrity error");
 		}
-		if (!organizationId.equals(employee.organizationId)) {
+		if (!organizationId.equals(employeeOrganizationId)) {
+			log.warn("Organization mismatch: JWT organizationId={}, employee.organizationId={}",
+				organizationId, employeeOrganizationId);
 			throw new BadRequestException("Employee does not belong to your organization");
 		}
-
-		LocalDate today = LocalDate.now();
-
-		// Find today's attendance record
-		AttendanceEntity attendanceEntity = AttendanceEntity.findByOrgAndEmployeeAndDate(organizationId, employeeId, today);
-		if (attendanceEntity == null) {
-			throw new BadRequestException("No check-in found for today. Please check in first.");
-		}
-
-		// Check if already checked out
-		if (attendanceEntity.checkOutTime != null) {
-			throw new BadRequestException("You have already checked out today.");
-		}
-
-		// Update attendance record
-		LocalDateTime checkOutTime = request.getCheckOutTime() != null ? request.getCheckOutTime() : LocalDateTime.now();
-		attendanceEntity.checkOutTime = checkOutTime;
-		attendanceEntity.status = AttendanceStatus.PRESENT;
-		if (request.getNotes() != null && !request.getNotes().trim().isEmpty()) {
-			attendanceEntity.notes = request.getNotes();
-		}
-
-		log.info("Employee {} checked out at {}", employeeId, checkOutTime);
-
-		return convertToDTO(attendanceEntity);
 	}
 
 	@Override
@@ -191,21 +198,54 @@ public class AttendanceServiceImpl implements AttendanceService {
 		return response;
 	}
 
+	@Override
+	public PaginatedResponse<AttendanceResponseDTO> getMyAttendanceByCursor(UUID employeeId, UUID organizationId,
+	                                                                        String cursor, int pageSize,
+	                                                                        boolean includeTotal) {
+		if (pageSize <= 0) {
+			throw new BadRequestException("size must be > 0");
+		}
+		verifyMembership(employeeId, organizationId);
+
+		LocalDate beforeDate = null;
+		if (cursor != null && !cursor.isBlank()) {
+			try {
+				beforeDate = LocalDate.parse(CursorCodec.decode(cursor, 1)[0]);
+			} catch (DateTimeParseException e) {
+				throw new BadRequestException("Invalid cursor");
+			}
+		}
+
+		// One extra row tells whether there is a next page without counting
+		List<AttendanceEntity> rows = AttendanceEntity.findPageBefore(organizationId, employeeId, beforeDate, pageSize + 1);
+		boolean hasMore = rows.size() > pageSize;
+		List<AttendanceEntity> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+
+		PaginatedResponse<AttendanceResponseDTO> response = new PaginatedResponse<>();
+		response.setItems(pageRows.stream().map(this::convertToDTO).toList());
+		response.setCurrentPage(0);
+		response.setPageSize(pageSize);
+		response.setNextCursor(hasMore ? CursorCodec.encode(pageRows.get(pageSize - 1).attendanceDate) : null);
+		if (includeTotal) {
+			long totalItems = attendanceMaskRepository.countDays(organizationId, employeeId);
+			response.setTotalItems(totalItems);
+			response.setTotalPages((int) Math.ceil((double) totalItems / pageSize));
+		} else {
+			response.setTotalItems(-1);
+			response.setTotalPages(-1);
+		}
+		return response;
+	}
+
 	@Override
 	public AttendanceDashboardSummaryDTO getDashboardSummary(UUID organizationId) {
 		if (organizationId == null) {
 			throw new BadRequestException("Organization ID is required");
 		}
 
-		// Count total employees in organization
-		long totalEmployees = EmployeeCoreEntity.findEmployeesByOrgId(organizationId).count();
-
-		// Count attendance records for today with status PRESENT or PENDING
-		LocalDate today = LocalDate.now();
-		long totalAttendanceToday = AttendanceEntity.find(
-			"organizationId = ?1 AND attendanceDate = ?2 AND (status = ?3 OR status = ?4)",
-			organizationId, today, AttendanceStatus.PRESENT, AttendanceStatus.PENDING
-		).count();
+		// Served from the in-memory counters, which are reconciled with the database on a schedule
+		long totalEmployees = attendanceDashboardCounters.totalEmployees(organizationId);
+		long totalAttendanceToday = attendanceDashboardCounters.attendanceOn(organizationId, LocalDate.now());
 
 		return AttendanceDashboardSummaryDTO.builder()
 			.totalEmployees(totalEmployees)
@@ -213,6 +253,63 @@ public class AttendanceServiceImpl implements AttendanceService {
 			.build();
 	}
 
+	@Override
+	public AttendanceCalendarDTO getMyCalendar(UUID employeeId, UUID organizationId, Integer year, Integer month) {
+		verifyMembership(employeeId, organizationId);
+		YearMonth period = toPeriod(year, month);
+		return toCalendarDTO(employeeId, period, attendanceMaskCache.getMask(organizationId, employeeId, period));
+	}
+
+	@Override
+	public OrganizationAttendanceCalendarDTO getOrganizationCalendar(UUID organizationId, Integer year, Integer month) {
+		if (organizationId == null) {
+			throw new BadRequestException("Organization ID is required");
+		}
+		YearMonth period = toPeriod(year, month);
+		Map<UUID, Integer> masks = attendanceMaskCache.getMasks(organizationId, period);
+
+		int[] presentCountByDay = new int[period.lengthOfMonth()];
+		List<AttendanceCalendarDTO> employees = new ArrayList<>(masks.size());
+		masks.forEach((employeeId, mask) -> {
+			for (int day : DayMask.days(mask)) {
+				presentCountByDay[day - 1]++;
+			}
+			employees.add(toCalendarDTO(employeeId, period, mask));
+		});
+
+		return OrganizationAttendanceCalendarDTO.builder()
+			.year(period.getYear())
+			.month(period.getMonthValue())
+			.daysInMonth(period.lengthOfMonth())
+			.presentCountByDay(Arrays.stream(presentCountByDay).boxed().toList())
+			.employees(employees)
+			.build();
+	}
+
+	/**
+	 * Current month when year and month are not given
+	 */
+	private static YearMonth toPeriod(Integer year, Integer month) {
+		if (year == null && month == null) {
+			return YearMonth.now();
+		}
+		if (year == null || month == null || month < 1 || month > 12) {
+			throw new BadRequestException("Both year and a month between 1 and 12 are required");
+		}
+		return YearMonth.of(year, month);
+	}
+
+	private static AttendanceCalendarDTO toCalendarDTO(UUID employeeId, YearMonth period, int mask) {
+		return AttendanceCalendarDTO.builder()
+			.employeeId(employeeId)
+			.year(period.getYear())
+			.month(period.getMonthValue())
+			.daysInMonth(period.lengthOfMonth())
+			.presentDayCount(DayMask.count(mask))
+			.presentDays(DayMask.days(mask))
+			.build();
+	}
+
 	private AttendanceResponseDTO convertToDTO(AttendanceEntity entity) {
 		return AttendanceResponseDTO.builder()
 			.attendanceId(entity.attendanceId)
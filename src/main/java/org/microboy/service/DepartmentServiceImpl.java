@@ -7,6 +7,7 @@ import jakarta.transaction.Transactional;
 import jakarta.ws.rs.BadRequestException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.microboy.cache.ReferenceDataCache;
 import org.microboy.constants.ExceptionConstants;
 import org.microboy.dto.DepartmentDTO;
 import org.microboy.entity.DepartmentEntity;
@@ -25,6 +26,7 @@ import java.util.stream.Collectors;
 public class DepartmentServiceImpl implements DepartmentService {
 
 	private final ObjectMapper objectMapper;
+	private final ReferenceDataCache referenceDataCache;
 
 	/**
 	 * Creates a new department.
@@ -140,6 +142,7 @@ public class DepartmentServiceImpl implements DepartmentService {
 		existingDepartment.location = departmentDTO.getLocation();
 		existingDepartment.phoneNumber = departmentDTO.getPhoneNumber();
 		existingDepartment.email = departmentDTO.getEmail();
+		referenceDataCache.invalidateDepartment(id);
 		log.info("Department updated successfully: {}", departmentDTO);
 
 		return departmentDTO;
@@ -166,5 +169,6 @@ public class DepartmentServiceImpl implements DepartmentService {
 		}
 
 		DepartmentEntity.deleteById(id);
+		referenceDataCache.invalidateDepartment(id);
 	}
 }
@@ -0,0 +1,19 @@
+package org.microboy.service;
+
+import org.microboy.entity.EmployeeHistoryEntity;
+
+import java.util.UUID;
+
+public interface EmployeeCompensationService {
+
+	/**
+	 * Mirror a created or updated employee history record into the compensation table.
+	 * Records other than "Base Salary" remove any row previously derived from them.
+	 */
+	void syncFromHistory(EmployeeHistoryEntity history);
+
+	/**
+	 * Remove the compensation row derived from a deleted employee history record
+	 */
+	void removeForHistory(UUID historyId);
+}
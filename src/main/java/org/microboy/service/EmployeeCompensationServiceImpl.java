@@ -0,0 +1,79 @@
+package org.microboy.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.microboy.constants.GeneralConstants;
+import org.microboy.entity.EmployeeCompensationEntity;
+import org.microboy.entity.EmployeeCoreEntity;
+import org.microboy.entity.EmployeeHistoryEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+@ApplicationScoped
+@Slf4j
+public class EmployeeCompensationServiceImpl implements EmployeeCompensationService {
+
+	private static final int MAX_INTEGER_DIGITS = 13;
+	private static final int MAX_SCALE = 2;
+
+	@Override
+	@Transactional
+	public void syncFromHistory(EmployeeHistoryEntity history) {
+		EmployeeCompensationEntity.deleteBySourceHistoryId(history.employeeHistoryId);
+		if (!GeneralConstants.BASE_SALARY_FIELD.equals(history.fieldName)) {
+			return;
+		}
+
+		BigDecimal baseSalary = parseBaseSalary(history);
+		EmployeeCoreEntity employee = EmployeeCoreEntity.findById(history.employeeId);
+		if (baseSalary == null || employee == null || employee.organizationId == null) {
+			return;
+		}
+
+		EmployeeCompensationEntity compensation = new EmployeeCompensationEntity();
+		compensation.organizationId = employee.organizationId;
+		compensation.employeeId = history.employeeId;
+		compensation.baseSalary = baseSalary;
+		// History timestamps are stored in UTC; a record without one takes effect today
+		compensation.effectiveFrom = history.changedAt != null
+				? LocalDate.ofInstant(history.changedAt, ZoneOffset.UTC)
+				: LocalDate.now(ZoneOffset.UTC);
+		compensation.sourceHistoryId = history.employeeHistoryId;
+		compensation.createdAt = LocalDateTime.now();
+		compensation.persist();
+		log.info("Synced base salary {} effective {} for employee {}",
+				baseSalary, compensation.effectiveFrom, history.employeeId);
+	}
+
+	@Override
+	@Transactional
+	public void removeForHistory(UUID historyId) {
+		EmployeeCompensationEntity.deleteBySourceHistoryId(historyId);
+	}
+
+	private BigDecimal parseBaseSalary(EmployeeHistoryEntity history) {
+		if (history.newValue == null || history.newValue.isBlank()) {
+			return null;
+		}
+		BigDecimal value;
+		try {
+			value = new BigDecimal(history.newValue.trim());
+		} catch (NumberFormatException e) {
+			log.warn("Ignoring non-numeric base salary '{}' in history {}", history.newValue, history.employeeHistoryId);
+			return null;
+		}
+		// base_salary is DECIMAL(15,2): at most 13 integer digits, as in the backfill, and no rounding of cents
+		value = value.stripTrailingZeros();
+		if (value.precision() - value.scale() > MAX_INTEGER_DIGITS || value.scale() > MAX_SCALE) {
+			log.warn("Ignoring base salary '{}' in history {}, it does not fit DECIMAL(15,2)",
+					history.newValue, history.employeeHistoryId);
+			return null;
+		}
+		return value.setScale(MAX_SCALE);
+	}
+}
@@ -21,6 +21,7 @@ import org.microboy.entity.EmployeeHistoryEntity;
 public class EmployeeHistoryServiceImpl implements EmployeeHistoryService {
 
     private final ObjectMapper objectMapper;
+    private final EmployeeCompensationService employeeCompensationService;
 
     /**
      * Creates a new employee history record.
@@ -49,6 +50,7 @@ public class EmployeeHistoryServiceImpl implements EmployeeHistoryService {
             EmployeeHistoryEntity.class
         );
         EmployeeHistoryEntity.persist(employeeHistory);
+        employeeCompensationService.syncFromHistory(employeeHistory);
         log.info("Created employee history with id {}", employeeHistory.employeeHistoryId);
 
         EmployeeHistoryResponseDTO response = objectMapper.convertValue(employeeHistory, EmployeeHistoryResponseDTO.class);
@@ -91,6 +93,7 @@ public class EmployeeHistoryServiceImpl implements EmployeeHistoryService {
         employeeHistory.changeType = employeeHistoryDTO.getChangeType();
         employeeHistory.changedBy = employeeHistoryDTO.getChangedBy();
         employeeHistory.changedAt = employeeHistoryDTO.getChangedAt();
+        employeeCompensationService.syncFromHistory(employeeHistory);
 
         log.info("Updated employee history with id {}", employeeHistory.employeeHistoryId);
 
@@ -160,6 +163,7 @@ public class EmployeeHistoryServiceImpl implements EmployeeHistoryService {
      * @throws EntityNotFoundException if no employee history record is found with the given ID.
      */
     @Override
+    @Transactional
     public void deleteEmployeeHistoryById(UUID id) {
         if (id == null) {
             throw new BadRequestException(ExceptionConstants.ID_NOT_GIVEN);
@@ -170,6 +174,7 @@ public class EmployeeHistoryServiceImpl implements EmployeeHistoryService {
             throw new EntityNotFoundException(ExceptionConstants.EMPLOYEE_HISTORY_NOT_FOUND);
         }
         EmployeeHistoryEntity.deleteById(id);
+        employeeCompensationService.removeForHistory(id);
 
         log.info("Deleted employee history with id: {}", id);
     }
@@ -0,0 +1,140 @@
+package org.microboy.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.microboy.cache.ReferenceDataCache;
+import org.microboy.cache.ReferenceDataCache.DepartmentRef;
+import org.microboy.cache.ReferenceDataCache.JobTitleRef;
+import org.microboy.cache.ReferenceDataCache.TeamRef;
+import org.microboy.dto.DepartmentDTO;
+import org.microboy.dto.JobTitleDTO;
+import org.microboy.dto.TeamDTO;
+import org.microboy.dto.response.EmployeeCoreResponseDTO;
+import org.microboy.entity.EmployeeCoreEntity;
+import org.microboy.security.config.OrganizationContext;
+import org.microboy.security.entity.UserEntity;
+import org.microboy.security.repository.UserRepository;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds {@link EmployeeCoreResponseDTO}s for a batch of employees.
+ * Users referenced by the batch are loaded with a single {@code IN} query; job titles, teams and
+ * departments come from {@link ReferenceDataCache}, which batches its own misses the same way.
+ * Either way the number of queries does not depend on the batch size.
+ */
+@ApplicationScoped
+@Slf4j
+@RequiredArgsConstructor
+public class EmployeeResponseAssembler {
+
+    private final UserRepository userRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final OrganizationContext organizationContext;
+
+    public EmployeeCoreResponseDTO toResponse(EmployeeCoreEntity employee) {
+        return toResponses(List.of(employee)).get(0);
+    }
+
+    public List<EmployeeCoreResponseDTO> toResponses(List<EmployeeCoreEntity> employees) {
+        if (employees.isEmpty()) {
+            return List.of();
+        }
+
+        UUID organizationId = organizationContext.getCurrentOrganizationId();
+        Map<UUID, UserEntity> usersByEmployeeId = loadUsers(collectIds(employees, e -> e.employeeId));
+        Map<UUID, JobTitleRef> jobTitles =
+                referenceDataCache.getJobTitles(organizationId, collectIds(employees, e -> e.jobTitleId));
+        Map<UUID, TeamRef> teams = referenceDataCache.getTeams(organizationId, collectIds(employees, e -> e.teamId));
+        Map<UUID, DepartmentRef> departments =
+                referenceDataCache.getDepartments(organizationId, collectIds(teams.values(), TeamRef::departmentId));
+
+        return employees.stream()
+                        .map(employee -> toResponse(employee, usersByEmployeeId, jobTitles, teams, departments))
+                        .toList();
+    }
+
+    private EmployeeCoreResponseDTO toResponse(EmployeeCoreEntity employee,
+                                               Map<UUID, UserEntity> usersByEmployeeId,
+                                               Map<UUID, JobTitleRef> jobTitles,
+                                               Map<UUID, TeamRef> teams,
+                                               Map<UUID, DepartmentRef> departments) {
+        EmployeeCoreResponseDTO employeeResponse = new EmployeeCoreResponseDTO();
+
+        employeeResponse.setEmployeeId(employee.employeeId);
+        employeeResponse.setEmployeeStatus(employee.employeeStatus);
+        employeeResponse.setCompanyEmail(employee.companyEmail);
+        employeeResponse.setCompanyPhoneNumber(employee.companyPhoneNumber);
+        employeeResponse.setFirstName(employee.firstName);
+        employeeResponse.setLastName(employee.lastName);
+        employeeResponse.setGender(employee.gender);
+        employeeResponse.setDateOfBirth(employee.dateOfBirth);
+        employeeResponse.setPersonalEmail(employee.personalEmail);
+        employeeResponse.setPersonalPhoneNumber(employee.personalPhoneNumber);
+        employeeResponse.setBirthPlace(employee.birthPlace);
+        employeeResponse.setMaritalStatus(employee.maritalStatus);
+        employeeResponse.setCurrentAddress(employee.currentAddress);
+
+        // Use accountEmail as unique identifier for hasAccount check
+        UserEntity userEntity = usersByEmployeeId.get(employee.employeeId);
+        if (userEntity != null && userEntity.getAccountEmail() != null) {
+            employeeResponse.setUserId(UUID.nameUUIDFromBytes(userEntity.getAccountEmail().getBytes()));
+        }
+
+        JobTitleRef jobTitle = employee.jobTitleId != null ? jobTitles.get(employee.jobTitleId) : null;
+        if (jobTitle != null) {
+            JobTitleDTO jobTitleDTO = new JobTitleDTO();
+            jobTitleDTO.setJobTitleId(jobTitle.jobTitleId());
+            jobTitleDTO.setTitle(jobTitle.title());
+            employeeResponse.setJobTitle(jobTitleDTO);
+        }
+
+        TeamRef team = employee.teamId != null ? teams.get(employee.teamId) : null;
+        if (team != null) {
+            TeamDTO teamDTO = new TeamDTO();
+            teamDTO.setTeamId(team.teamId());
+            teamDTO.setName(team.name());
+            employeeResponse.setTeam(teamDTO);
+
+            DepartmentRef department = team.departmentId() != null ? departments.get(team.departmentId()) : null;
+            if (department != null) {
+                DepartmentDTO departmentDTO = new DepartmentDTO();
+                departmentDTO.setDepartmentId(department.departmentId());
+                departmentDTO.setName(department.name());
+                employeeResponse.setDepartment(departmentDTO);
+            }
+        }
+
+        return employeeResponse;
+    }
+
+    private Map<UUID, UserEntity> loadUsers(Set<UUID> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            Map<UUID, UserEntity> users = new HashMap<>();
+            userRepository.list("employeeId IN ?1", employeeIds)
+                          .forEach(user -> users.putIfAbsent(user.getEmployeeId(), user));
+            return users;
+        } catch (Exception e) {
+            // Log and continue - userId will remain null if lookup fails
+            log.warn("Failed to lookup user accounts for {} employees: {}", employeeIds.size(), e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private static <T> Set<UUID> collectIds(Collection<T> source, Function<T, UUID> idExtractor) {
+        return source.stream().map(idExtractor).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+}
@@ -15,6 +15,7 @@ public interface EmployeeService {
 	EmployeeCoreRequestDTO updateEmployee(EmployeeCoreRequestDTO employee, UUID id);
 	EmployeeOverviewDTO updateEmployeeOverview(EmployeeOverviewDTO employeeOverviewDTO, UUID id);
 	PaginatedResponse<EmployeeCoreResponseDTO> findAllEmployeesByPage(int page, int pageSize);
+	PaginatedResponse<EmployeeCoreResponseDTO> findEmployeesByCursor(String cursor, int pageSize);
 	EmployeeCoreResponseDTO findEmployeeById(UUID employeeId);
 	List<EmployeeCoreRequestDTO> findEmployeesByJobId(UUID jobId);
 	void deleteEmployeeById(UUID id);
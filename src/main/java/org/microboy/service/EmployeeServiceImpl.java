@@ -6,15 +6,18 @@ import java.util.List;
 import java.util.UUID;
 
 import org.apache.commons.lang3.StringUtils;
+import org.microboy.cache.AttendanceDashboardCounters;
+import org.microboy.cache.AuthPrincipalCache;
+import org.microboy.cache.EmployeeMembershipCache;
+import org.microboy.cache.EmployeeNameResolver;
+import org.microboy.cache.ReferenceDataCache;
 import org.microboy.constants.ExceptionConstants;
-import org.microboy.dto.DepartmentDTO;
 import org.microboy.dto.EmployeeOverviewDTO;
 import org.microboy.dto.JobTitleDTO;
 import org.microboy.dto.TeamDTO;
 import org.microboy.dto.request.EmployeeCoreRequestDTO;
 import org.microboy.dto.response.EmployeeCoreResponseDTO;
 import org.microboy.dto.response.PaginatedResponse;
-import org.microboy.entity.DepartmentEntity;
 import org.microboy.entity.EmployeeCoreEntity;
 import org.microboy.entity.EmployeeHistoryEntity;
 import org.microboy.entity.EmployeeJobTitleEntity;
@@ -26,9 +29,11 @@ import org.microboy.enums.EmployeeStatus;
 import org.microboy.security.config.OrganizationContext;
 import org.microboy.security.entity.UserEntity;
 import org.microboy.security.repository.UserRepository;
+import org.microboy.utils.CursorCodec;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
@@ -48,6 +53,12 @@ public class EmployeeServiceImpl implements EmployeeService {
     private final ObjectMapper objectMapper;
     private final OrganizationContext organizationContext;
     private final UserRepository userRepository;
+    private final EmployeeResponseAssembler employeeResponseAssembler;
+    private final ReferenceDataCache referenceDataCache;
+    private final EmployeeMembershipCache employeeMembershipCache;
+    private final EmployeeNameResolver employeeNameResolver;
+    private final AuthPrincipalCache authPrincipalCache;
+    private final AttendanceDashboardCounters attendanceDashboardCounters;
 
     @Override
     @Transactional
@@ -96,6 +107,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
 
         EmployeeCoreEntity.persist(employeeEntity);
+        attendanceDashboardCounters.employeeAdded(employeeEntity.organizationId);
         log.info("Created employee with id {}", employeeEntity.employeeId);
     }
 
@@ -146,8 +158,18 @@ public class EmployeeServiceImpl implements EmployeeService {
         UUID oldTeamId = employeeCoreEntity.teamId;
 
         // Update employee information
+        if (!java.util.Objects.equals(employeeCoreEntity.organizationId, employeeRequest.getOrganizationId())) {
+            employeeMembershipCache.invalidate(id);
+            attendanceDashboardCounters.employeeRemoved(employeeCoreEntity.organizationId);
+            attendanceDashboardCounters.employeeAdded(employeeRequest.getOrganizationId());
+        }
         employeeCoreEntity.organizationId = employeeRequest.getOrganizationId();
         employeeCoreEntity.employeeStatus = employeeRequest.getEmployeeStatus();
+        if (!java.util.Objects.equals(oldFirstName, employeeRequest.getFirstName())
+                || !java.util.Objects.equals(oldLastName, employeeRequest.getLastName())) {
+            employeeNameResolver.invalidate(id);
+            authPrincipalCache.invalidateEmployee(id);
+        }
         employeeCoreEntity.firstName = employeeRequest.getFirstName();
         employeeCoreEntity.lastName = employeeRequest.getLastName();
         employeeCoreEntity.currentAddress = employeeRequest.getCurrentAddress();
@@ -336,80 +358,133 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     private String getJobTitleName(UUID jobTitleId) {
-        JobTitleEntity jobTitle = JobTitleEntity.findById(jobTitleId);
-        return jobTitle != null ? jobTitle.title : null;
+        ReferenceDataCache.JobTitleRef jobTitle = referenceDataCache.getJobTitle(
+            organizationContext.getCurrentOrganizationId(), jobTitleId);
+        return jobTitle != null ? jobTitle.title() : null;
     }
 
     private String getTeamName(UUID teamId) {
-        TeamEntity team = TeamEntity.findById(teamId);
-        return team != null ? team.name : null;
+        ReferenceDataCache.TeamRef team = referenceDataCache.getTeam(organizationContext.getCurrentOrganizationId(), teamId);
+        return team != null ? team.name() : null;
     }
 
     /**
-     * Retrieves all employees stored in the database.
+     * Retrieves one page of the organization's employee directory, owner first and then by employeeId.
+     * Ordering and paging are done by the database so only the requested page is loaded.
      *
-     * @return A {@link List} of {@link EmployeeCoreRequestDTO} objects representing all employees.
+     * @return A {@link PaginatedResponse} of {@link EmployeeCoreResponseDTO} objects for the requested page.
      */
     @Override
     public PaginatedResponse<EmployeeCoreResponseDTO> findAllEmployeesByPage(int page, int pageSize) {
-        PaginatedResponse<EmployeeCoreResponseDTO> response = new PaginatedResponse<>();
-        List<EmployeeCoreResponseDTO> employeeCoreResponses = new ArrayList<>();
+        if (page < 0 || pageSize <= 0) {
+            throw new BadRequestException("page must be >= 0 and size must be > 0");
+        }
 
         UUID organizationId = organizationContext.getCurrentOrganizationId();
-        
-        // Get organization to find owner
-        OrganizationEntity organization = OrganizationEntity.findById(organizationId);
-        String ownerEmail = organization != null ? organization.owner : null;
-        log.info("🔍 Owner email from organization: {}", ownerEmail);
-        
-        // Get all employees (without pagination first, to sort correctly)
-        List<EmployeeCoreEntity> allEmployees = EmployeeCoreEntity.findEmployeesByOrgId(organizationId).list();
-        
-        log.info("📋 BEFORE SORTING:");
-        allEmployees.forEach(e -> log.info("  - {} {}: companyEmail={}, personalEmail={}, id={}", 
-            e.firstName, e.lastName, e.companyEmail, e.personalEmail, e.employeeId));
-        
-        // Sort: Owner first, then by employee creation order (using UUID which is time-based)
-        allEmployees.sort((e1, e2) -> {
-            // Check if employee is owner by comparing with both company email and personal email
-            boolean e1IsOwner = ownerEmail != null && 
-                (ownerEmail.equalsIgnoreCase(e1.companyEmail) || ownerEmail.equalsIgnoreCase(e1.personalEmail));
-            boolean e2IsOwner = ownerEmail != null && 
-                (ownerEmail.equalsIgnoreCase(e2.companyEmail) || ownerEmail.equalsIgnoreCase(e2.personalEmail));
-            
-            if (e1IsOwner && !e2IsOwner) return -1;
-            if (!e1IsOwner && e2IsOwner) return 1;
-            
-            // Both are owner or both are not owner - sort by employeeId (creation time)
-            return e1.employeeId.compareTo(e2.employeeId);
-        });
-        
-        log.info("📋 AFTER SORTING:");
-        allEmployees.forEach(e -> log.info("  - {} {}: companyEmail={}, personalEmail={}, id={}", 
-            e.firstName, e.lastName, e.companyEmail, e.personalEmail, e.employeeId));
-        
-        // Apply pagination after sorting
-        long totalItems = allEmployees.size();
+        EmployeeCoreEntity owner = EmployeeCoreEntity.findDirectoryOwner(organizationId, findOwnerEmail(organizationId));
+        UUID ownerEmployeeId = owner != null ? owner.employeeId : null;
+
+        // The owner takes the first slot of page 0; everyone else is paged on (organization_id, employee_id)
+        List<EmployeeCoreEntity> employeeCoreEntities = new ArrayList<>(pageSize);
+        if (owner != null && page == 0) {
+            employeeCoreEntities.add(owner);
+        }
+        int memberOffset = page * pageSize - (owner != null && page > 0 ? 1 : 0);
+        int memberCount = pageSize - employeeCoreEntities.size();
+        if (memberCount > 0) {
+            employeeCoreEntities.addAll(EmployeeCoreEntity.findDirectoryMembers(organizationId, ownerEmployeeId, null)
+                                                          .range(memberOffset, memberOffset + memberCount - 1)
+                                                          .list());
+        }
+        long totalItems = EmployeeCoreEntity.count("organizationId", organizationId);
         int totalPages = (int) Math.ceil((double) totalItems / pageSize);
-        
-        int startIndex = page * pageSize;
-        int endIndex = Math.min(startIndex + pageSize, allEmployees.size());
-        List<EmployeeCoreEntity> employeeCoreEntities = allEmployees.subList(startIndex, endIndex);
 
-        employeeCoreEntities.forEach(employeeCoreEntity -> {
-            EmployeeCoreResponseDTO employeeResponse = getEmployeeFullDataResponse(employeeCoreEntity);
-            employeeCoreResponses.add(employeeResponse);
-        });
+        List<EmployeeCoreResponseDTO> employeeCoreResponses = employeeResponseAssembler.toResponses(employeeCoreEntities);
 
+        PaginatedResponse<EmployeeCoreResponseDTO> response = new PaginatedResponse<>();
         response.setItems(employeeCoreResponses);
         response.setTotalItems(totalItems);
         response.setTotalPages(totalPages);
         response.setCurrentPage(page);
         response.setPageSize(pageSize);
+        response.setNextCursor(nextDirectoryCursor(employeeCoreEntities, ownerEmployeeId, pageSize));
 
         return response;
     }
 
+    /**
+     * Retrieves the page of the employee directory that follows the given keyset cursor.
+     * Unlike offset paging, the cost of a page does not grow with its position in the directory.
+     * Totals are only computed for the first page (no cursor given).
+     *
+     * @param cursor   The opaque cursor returned with the previous page, or {@code null} for the first page.
+     * @param pageSize The number of employees to return.
+     * @return A {@link PaginatedResponse} whose {@code nextCursor} is {@code null} on the last page.
+     */
+    @Override
+    public PaginatedResponse<EmployeeCoreResponseDTO> findEmployeesByCursor(String cursor, int pageSize) {
+        if (pageSize <= 0) {
+            throw new BadRequestException("size must be > 0");
+        }
+
+        UUID organizationId = organizationContext.getCurrentOrganizationId();
+
+        List<EmployeeCoreEntity> employeeCoreEntities = new ArrayList<>(pageSize);
+        UUID ownerEmployeeId;
+        PaginatedResponse<EmployeeCoreResponseDTO> response = new PaginatedResponse<>();
+        if (StringUtils.isEmpty(cursor)) {
+            EmployeeCoreEntity owner = EmployeeCoreEntity.findDirectoryOwner(organizationId, findOwnerEmail(organizationId));
+            ownerEmployeeId = owner != null ? owner.employeeId : null;
+            if (owner != null) {
+                employeeCoreEntities.add(owner);
+            }
+            if (pageSize > employeeCoreEntities.size()) {
+                employeeCoreEntities.addAll(EmployeeCoreEntity.findDirectoryMembers(organizationId, ownerEmployeeId, null)
+                                                              .range(0, pageSize - employeeCoreEntities.size() - 1)
+                                                              .list());
+            }
+            long totalItems = EmployeeCoreEntity.count("organizationId", organizationId);
+            response.setTotalItems(totalItems);
+            response.setTotalPages((int) Math.ceil((double) totalItems / pageSize));
+        } else {
+            // The cursor carries the owner's id, so later pages skip the owner lookup
+            String[] parts = CursorCodec.decode(cursor, 2);
+            UUID lastEmployeeId;
+            try {
+                ownerEmployeeId = parts[0].isEmpty() ? null : UUID.fromString(parts[0]);
+                lastEmployeeId = parts[1].isEmpty() ? null : UUID.fromString(parts[1]);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            employeeCoreEntities.addAll(EmployeeCoreEntity.findDirectoryMembers(organizationId, ownerEmployeeId, lastEmployeeId)
+                                                          .range(0, pageSize - 1)
+                                                          .list());
+            response.setTotalItems(-1);
+            response.setTotalPages(-1);
+        }
+
+        response.setItems(employeeResponseAssembler.toResponses(employeeCoreEntities));
+        response.setCurrentPage(0);
+        response.setPageSize(pageSize);
+        response.setNextCursor(nextDirectoryCursor(employeeCoreEntities, ownerEmployeeId, pageSize));
+        return response;
+    }
+
+    private String findOwnerEmail(UUID organizationId) {
+        OrganizationEntity organization = organizationId != null ? OrganizationEntity.findById(organizationId) : null;
+        return organization != null ? organization.owner : null;
+    }
+
+    // Owner id and the last non-owner id; an empty last id means the page held only the owner
+    private String nextDirectoryCursor(List<EmployeeCoreEntity> pageEntities, UUID ownerEmployeeId, int pageSize) {
+        if (pageEntities.size() < pageSize) {
+            return null;
+        }
+        EmployeeCoreEntity last = pageEntities.get(pageEntities.size() - 1);
+        UUID lastMemberId = last.employeeId.equals(ownerEmployeeId) ? null : last.employeeId;
+        return CursorCodec.encode(ownerEmployeeId, lastMemberId);
+    }
+
     /**
      * Retrieves an employee from the database based on the given ID.
      *
@@ -429,7 +504,7 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new EntityNotFoundException(ExceptionConstants.EMPLOYEE_NOT_FOUND);
         }
 
-        EmployeeCoreResponseDTO employeeCoreResponseDTO = getEmployeeFullDataResponse(employee);
+        EmployeeCoreResponseDTO employeeCoreResponseDTO = employeeResponseAssembler.toResponse(employee);
         // EmployeeProfileEntity employeeProfile = EmployeeProfileEntity.findById(employeeId);
         // if (employeeProfile != null) {
         // 	EmployeeProfileDTO employeeProfileDTO = objectMapper.convertValue(employeeProfile,
@@ -439,67 +514,6 @@ public class EmployeeServiceImpl implements EmployeeService {
         return employeeCoreResponseDTO;
     }
 
-    private EmployeeCoreResponseDTO getEmployeeFullDataResponse(EmployeeCoreEntity employee) {
-        EmployeeCoreResponseDTO employeeResponse = new EmployeeCoreResponseDTO();
-
-        employeeResponse.setEmployeeId(employee.employeeId);
-        employeeResponse.setEmployeeStatus(employee.employeeStatus);
-        employeeResponse.setCompanyEmail(employee.companyEmail);
-        employeeResponse.setCompanyPhoneNumber(employee.companyPhoneNumber);
-        employeeResponse.setFirstName(employee.firstName);
-        employeeResponse.setLastName(employee.lastName);
-        employeeResponse.setGender(employee.gender);
-        employeeResponse.setDateOfBirth(employee.dateOfBirth);
-        employeeResponse.setPersonalEmail(employee.personalEmail);
-        employeeResponse.setPersonalPhoneNumber(employee.personalPhoneNumber);
-        employeeResponse.setBirthPlace(employee.birthPlace);
-        employeeResponse.setMaritalStatus(employee.maritalStatus);
-        employeeResponse.setCurrentAddress(employee.currentAddress);
-
-        // Check if employee has user account (use accountEmail as userId indicator)
-        try {
-            UserEntity userEntity = userRepository.find("employeeId", employee.employeeId).firstResult();
-            if (userEntity != null && userEntity.getAccountEmail() != null) {
-                // Use accountEmail as unique identifier for hasAccount check
-                employeeResponse.setUserId(UUID.nameUUIDFromBytes(userEntity.getAccountEmail().getBytes()));
-            }
-        } catch (Exception e) {
-            // Log and continue - userId will remain null if lookup fails
-            log.warn("Failed to lookup user account for employeeId {}: {}", employee.employeeId, e.getMessage());
-        }
-
-        if (employee.jobTitleId != null) {
-            JobTitleEntity jobTitle = JobTitleEntity.findById(employee.jobTitleId);
-            if (jobTitle != null) {
-                JobTitleDTO jobTitleDTO = new JobTitleDTO();
-                jobTitleDTO.setJobTitleId(jobTitle.jobTitleId);
-                jobTitleDTO.setTitle(jobTitle.title);
-                employeeResponse.setJobTitle(jobTitleDTO);
-            }
-        }
-        if (employee.teamId != null) {
-            TeamEntity team = TeamEntity.findById(employee.teamId);
-            if (team != null) {
-                TeamDTO teamDTO = new TeamDTO();
-                teamDTO.setTeamId(team.teamId);
-                teamDTO.setName(team.name);
-                employeeResponse.setTeam(teamDTO);
-
-                if (team.departmentId != null) {
-                    DepartmentEntity departmentEntity = DepartmentEntity.findById(team.departmentId);
-                    if (departmentEntity != null) {
-                        DepartmentDTO departmentDTO = new DepartmentDTO();
-                        departmentDTO.setDepartmentId(departmentEntity.departmentId);
-                        departmentDTO.setName(departmentEntity.name);
-                        employeeResponse.setDepartment(departmentDTO);
-                    }
-                }
-            }
-        }
-
-        return employeeResponse;
-    }
-
     @Deprecated
     private JobTitleDTO findEmployeeJobTitle(UUID employeeId) {
         if (employeeId == null) {
@@ -578,9 +592,13 @@ public class EmployeeServiceImpl implements EmployeeService {
         if (userEntity != null) {
             log.info("Deleting user account for employee: {}", id);
             userRepository.delete(userEntity);
+            authPrincipalCache.invalidate(userEntity.getAccountEmail());
         }
         
         EmployeeCoreEntity.deleteById(id);
+        employeeMembershipCache.invalidate(id);
+        employeeNameResolver.invalidate(id);
+        attendanceDashboardCounters.employeeRemoved(employeeCoreEntity.organizationId);
         log.info("Deleted employee with id: {}", id);
     }
 
@@ -596,7 +614,7 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new EntityNotFoundException(ExceptionConstants.EMPLOYEE_NOT_FOUND);
         }
 
-        return getEmployeeFullDataResponse(employee);
+        return employeeResponseAssembler.toResponse(employee);
     }
 
     /**
@@ -642,10 +660,12 @@ public class EmployeeServiceImpl implements EmployeeService {
         employeeEntity.employeeStatus = EmployeeStatus.PROBATION;
 
         EmployeeCoreEntity.persist(employeeEntity);
+        attendanceDashboardCounters.employeeAdded(organizationId);
 
         // Link employee to user
         user.employeeId = employeeEntity.employeeId;
         userRepository.persist(user);
+        authPrincipalCache.invalidate(accountEmail);
 
         log.info("DEV/TEST: Created EmployeeCoreEntity {} for user {}", employeeEntity.employeeId, accountEmail);
         return employeeEntity.employeeId;
@@ -10,6 +10,7 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.microboy.cache.ReferenceDataCache;
 import org.microboy.constants.ExceptionConstants;
 import org.microboy.dto.JobTitleDTO;
 import org.microboy.entity.JobTitleEntity;
@@ -23,6 +24,7 @@ import org.microboy.entity.JobTitleEntity;
 public class JobTitleServiceImpl implements JobTitleService {
 
     private final ObjectMapper objectMapper;
+    private final ReferenceDataCache referenceDataCache;
 
     /**
      * Creates a new job title.
@@ -82,6 +84,7 @@ public class JobTitleServiceImpl implements JobTitleService {
 
         jobTitle.title = jobTitleDTO.getTitle();
         jobTitle.description = jobTitleDTO.getDescription();
+        referenceDataCache.invalidateJobTitle(id);
         log.info("Job title updated successfully: {}", jobTitleDTO);
         return jobTitleDTO;
     }
@@ -150,6 +153,7 @@ public class JobTitleServiceImpl implements JobTitleService {
         }
 
         JobTitleEntity.deleteById(id);
+        referenceDataCache.invalidateJobTitle(id);
         log.info("Job title with given id deleted successfully: {}", id);
     }
 }
@@ -0,0 +1,64 @@
+package org.microboy.service;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.microboy.repository.LeaveBalanceRepository;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Credits the monthly leave entitlement to every employee on the first of the month, one organization and month per
+ * transaction. Each organization is credited every month after the last one it was credited for, up to the current
+ * one, so months missed while the application was down are caught up on the next run (also run on startup); an
+ * organization never credited before starts with the current month. The accrual entry is unique per employee and
+ * month, so running again or on several nodes at once credits nobody twice.
+ */
+@ApplicationScoped
+@Slf4j
+public class LeaveAccrualJob {
+
+	@Inject
+	LeaveBalanceRepository leaveBalanceRepository;
+
+	@ConfigProperty(name = "com.microboy.cetus.leave.accrual.days-per-month", defaultValue = "1.75")
+	BigDecimal daysPerMonth;
+
+	void onStart(@Observes StartupEvent event) {
+		accrue();
+	}
+
+	@Scheduled(cron = "${com.microboy.cetus.leave.accrual.cron:0 30 1 1 * ?}",
+	           concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+	void accrue() {
+		YearMonth currentMonth = YearMonth.now();
+		int credited = 0;
+		try {
+			List<UUID> organizationIds =
+					QuarkusTransaction.requiringNew().call(leaveBalanceRepository::findOrganizationsWithEmployees);
+			Map<UUID, YearMonth> lastAccrued =
+					QuarkusTransaction.requiringNew().call(leaveBalanceRepository::findLastAccruedMonths);
+			for (UUID organizationId : organizationIds) {
+				YearMonth last = lastAccrued.get(organizationId);
+				YearMonth month = last != null && last.isBefore(currentMonth) ? last.plusMonths(1) : currentMonth;
+				for (; !month.isAfter(currentMonth); month = month.plusMonths(1)) {
+					YearMonth accrualMonth = month;
+					credited += QuarkusTransaction.requiringNew().call(
+							() -> leaveBalanceRepository.accrue(organizationId, accrualMonth, daysPerMonth));
+				}
+			}
+			log.info("Leave accrual up to {} credited {} employee months", currentMonth, credited);
+		} catch (Exception e) {
+			log.error("Leave accrual up to {} failed after crediting {} employee months", currentMonth, credited, e);
+		}
+	}
+}
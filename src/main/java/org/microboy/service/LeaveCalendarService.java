@@ -0,0 +1,14 @@
+package org.microboy.service;
+
+import org.microboy.dto.response.LeaveCalendarDTO;
+
+import java.util.UUID;
+
+public interface LeaveCalendarService {
+
+	/**
+	 * Who is out on approved leave on each day of [from, to] (yyyy-MM-dd, defaulting to the current month), among
+	 * the members of exactly one of {@code teamId} and {@code departmentId}
+	 */
+	LeaveCalendarDTO getLeaveCalendar(UUID organizationId, UUID teamId, UUID departmentId, String from, String to);
+}
@@ -0,0 +1,152 @@
+package org.microboy.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.microboy.cache.LeaveCalendarCache;
+import org.microboy.cache.LeaveCalendarCache.CalendarKey;
+import org.microboy.cache.LeaveCalendarCache.MonthCalendar;
+import org.microboy.cache.LeaveIntervalIndex;
+import org.microboy.dto.response.LeaveCalendarAbsenceDTO;
+import org.microboy.dto.response.LeaveCalendarDTO;
+import org.microboy.dto.response.LeaveCalendarDayDTO;
+import org.microboy.enums.LeaveStatus;
+import org.microboy.repository.LeaveRequestRepository.LeaveInterval;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Leave calendars are built a month at a time: one query loads the members of the team or department with their
+ * names, the approved leave overlapping the month comes from {@link LeaveIntervalIndex}, and a sweep over the leave
+ * start and end days yields who is out on each day. Months are cached in {@link LeaveCalendarCache}.
+ */
+@ApplicationScoped
+@Slf4j
+@RequiredArgsConstructor
+public class LeaveCalendarServiceImpl implements LeaveCalendarService {
+
+	private static final int MAX_WINDOW_DAYS = 93;
+
+	private final EntityManager entityManager;
+	private final LeaveIntervalIndex leaveIntervalIndex;
+	private final LeaveCalendarCache leaveCalendarCache;
+
+	@Override
+	public LeaveCalendarDTO getLeaveCalendar(UUID organizationId, UUID teamId, UUID departmentId, String from, String to) {
+		if ((teamId == null) == (departmentId == null)) {
+			throw new BadRequestException("Exactly one of teamId and departmentId is required");
+		}
+		YearMonth currentMonth = YearMonth.now();
+		LocalDate windowStart = from == null || from.isBlank() ? currentMonth.atDay(1) : parseDate(from, "from");
+		LocalDate windowEnd = to == null || to.isBlank() ? YearMonth.from(windowStart).atEndOfMonth() : parseDate(to, "to");
+		if (windowStart.isAfter(windowEnd)) {
+			throw new BadRequestException("from cannot be after to");
+		}
+		if (ChronoUnit.DAYS.between(windowStart, windowEnd) >= MAX_WINDOW_DAYS) {
+			throw new BadRequestException("The window can span at most " + MAX_WINDOW_DAYS + " days");
+		}
+
+		boolean department = departmentId != null;
+		UUID scopeId = department ? departmentId : teamId;
+		List<LeaveCalendarDayDTO> days = new ArrayList<>();
+		int memberCount = 0;
+		for (YearMonth month = YearMonth.from(windowStart); !month.isAfter(YearMonth.from(windowEnd)); month = month.plusMonths(1)) {
+			YearMonth calendarMonth = month;
+			MonthCalendar calendar = leaveCalendarCache.get(
+					new CalendarKey(organizationId, department, scopeId, calendarMonth),
+					() -> buildMonth(organizationId, department, scopeId, calendarMonth));
+			memberCount = Math.max(memberCount, calendar.memberCount());
+			for (LeaveCalendarDayDTO day : calendar.days()) {
+				if (!day.getDate().isBefore(windowStart) && !day.getDate().isAfter(windowEnd)) {
+					days.add(day);
+				}
+			}
+		}
+		return new LeaveCalendarDTO(teamId, departmentId, windowStart, windowEnd, memberCount, days);
+	}
+
+	private MonthCalendar buildMonth(UUID organizationId, boolean department, UUID scopeId, YearMonth month) {
+		Map<UUID, String> members = findMembers(organizationId, department, scopeId);
+		List<LeaveInterval> leaves = leaveIntervalIndex.findOverlapping(organizationId, month.atDay(1), month.atEndOfMonth())
+				.stream()
+				.filter(leave -> leave.status() == LeaveStatus.APPROVED && members.containsKey(leave.employeeId()))
+				.toList();
+		return new MonthCalendar(members.size(), sweep(month, leaves, members));
+	}
+
+	/**
+	 * Walks the days of the month once, adding a leave on its first day and dropping it the day after its last,
+	 * so the cost is O(days + leaves log leaves) however long the leaves are
+	 */
+	static List<LeaveCalendarDayDTO> sweep(YearMonth month, List<LeaveInterval> leaves, Map<UUID, String> names) {
+		LocalDate first = month.atDay(1);
+		LocalDate last = month.atEndOfMonth();
+		List<LeaveInterval> byStart = new ArrayList<>(leaves);
+		byStart.sort(Comparator.comparing(leave -> leave.fromDate().isBefore(first) ? first : leave.fromDate()));
+		List<LeaveInterval> byEnd = new ArrayList<>(leaves);
+		byEnd.sort(Comparator.comparing(LeaveInterval::toDate));
+
+		Map<UUID, LeaveInterval> active = new LinkedHashMap<>();
+		List<LeaveCalendarDayDTO> days = new ArrayList<>(month.lengthOfMonth());
+		int nextStart = 0;
+		int nextEnd = 0;
+		for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+			while (nextEnd < byEnd.size() && byEnd.get(nextEnd).toDate().isBefore(day)) {
+				active.remove(byEnd.get(nextEnd++).leaveRequestId());
+			}
+			while (nextStart < byStart.size() && !byStart.get(nextStart).fromDate().isAfter(day)) {
+				LeaveInterval leave = byStart.get(nextStart++);
+				if (!leave.toDate().isBefore(day)) {
+					active.put(leave.leaveRequestId(), leave);
+				}
+			}
+			List<LeaveCalendarAbsenceDTO> absences = active.values().stream()
+					.map(leave -> new LeaveCalendarAbsenceDTO(leave.employeeId(), names.get(leave.employeeId()),
+					                                          leave.leaveRequestId()))
+					.sorted(Comparator.comparing(LeaveCalendarAbsenceDTO::getEmployeeName,
+					                             Comparator.nullsLast(Comparator.naturalOrder())))
+					.toList();
+			days.add(new LeaveCalendarDayDTO(day, absences.size(), absences));
+		}
+		return days;
+	}
+
+	/**
+	 * Members of the team, or of every team of the department, that belong to the organization, with their names
+	 */
+	private Map<UUID, String> findMembers(UUID organizationId, boolean department, UUID scopeId) {
+		String teamFilter = department
+				? "tm.teamId IN (SELECT t.teamId FROM TeamEntity t WHERE t.departmentId = :scopeId)"
+				: "tm.teamId = :scopeId";
+		Map<UUID, String> members = new HashMap<>();
+		entityManager.createQuery(
+				"SELECT DISTINCT e.employeeId, e.firstName, e.lastName FROM EmployeeCoreEntity e, TeamMemberEntity tm"
+				+ " WHERE tm.employeeId = e.employeeId AND e.organizationId = :organizationId AND " + teamFilter,
+				Object[].class)
+				.setParameter("organizationId", organizationId)
+				.setParameter("scopeId", scopeId)
+				.getResultList()
+				.forEach(row -> members.put((UUID) row[0], row[1] + " " + row[2]));
+		return members;
+	}
+
+	private static LocalDate parseDate(String value, String name) {
+		try {
+			return LocalDate.parse(value);
+		} catch (DateTimeParseException e) {
+			throw new BadRequestException(name + " must be a date in yyyy-MM-dd format");
+		}
+	}
+}
@@ -1,8 +1,13 @@
 package org.microboy.service;
 
+import org.microboy.dto.request.LeaveRequestBulkStatusUpdateDTO;
 import org.microboy.dto.request.LeaveRequestCreateDTO;
 import org.microboy.dto.request.LeaveRequestStatusUpdateDTO;
+import org.microboy.dto.response.LeaveBalanceDTO;
+import org.microboy.dto.response.LeaveRequestBulkStatusResultDTO;
 import org.microboy.dto.response.LeaveRequestResponseDTO;
+import org.microboy.dto.response.MyLeaveRequestsDTO;
+import org.microboy.dto.response.PaginatedResponse;
 
 import java.util.List;
 import java.util.UUID;
@@ -11,11 +16,28 @@ public interface LeaveRequestService {
 
 	LeaveRequestResponseDTO createLeaveRequest(UUID employeeId, UUID organizationId, LeaveRequestCreateDTO dto);
 
-	List<LeaveRequestResponseDTO> getMyLeaveRequests(UUID employeeId, UUID organizationId);
+	MyLeaveRequestsDTO getMyLeaveRequests(UUID employeeId, UUID organizationId);
+
+	LeaveBalanceDTO getLeaveBalance(UUID employeeId);
 
 	List<LeaveRequestResponseDTO> getAllLeaveRequests(UUID organizationId);
 
+	/**
+	 * Keyset page of the organization's leave requests, newest first. {@code status} defaults to PENDING and
+	 * accepts ALL; {@code from}/{@code to} (yyyy-MM-dd) keep requests overlapping that window.
+	 */
+	PaginatedResponse<LeaveRequestResponseDTO> getLeaveRequestsByCursor(UUID organizationId, String status, String from,
+	                                                                    String to, UUID employeeId, UUID teamId,
+	                                                                    String cursor, int pageSize);
+
 	LeaveRequestResponseDTO updateLeaveRequestStatus(UUID leaveRequestId, UUID approverId, LeaveRequestStatusUpdateDTO dto);
 
+	/**
+	 * Approves or rejects the organization's PENDING requests among the given ids with one conditional update,
+	 * reporting an outcome per id
+	 */
+	LeaveRequestBulkStatusResultDTO updateLeaveRequestStatuses(UUID organizationId, UUID approverId,
+	                                                           LeaveRequestBulkStatusUpdateDTO dto);
+
 	LeaveRequestResponseDTO getLeaveRequestById(UUID leaveRequestId);
 }
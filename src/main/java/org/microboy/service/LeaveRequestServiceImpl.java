@@ -2,21 +2,52 @@ package org.microboy.service;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceException;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.BadRequestException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.microboy.cache.EmployeeNameResolver;
+import org.microboy.cache.LeaveCalendarCache;
+import org.microboy.cache.LeaveIntervalIndex;
+import org.microboy.dto.request.LeaveRequestBulkStatusUpdateDTO;
 import org.microboy.dto.request.LeaveRequestCreateDTO;
 import org.microboy.dto.request.LeaveRequestStatusUpdateDTO;
+import org.microboy.dto.response.LeaveBalanceDTO;
+import org.microboy.dto.response.LeaveRequestBulkStatusResultDTO;
 import org.microboy.dto.response.LeaveRequestResponseDTO;
-import org.microboy.entity.EmployeeCoreEntity;
+import org.microboy.dto.response.LeaveRequestStatusOutcomeDTO;
+import org.microboy.dto.response.MyLeaveRequestsDTO;
+import org.microboy.dto.response.PaginatedResponse;
+import org.microboy.entity.LeaveBalanceEntity;
 import org.microboy.entity.LeaveRequestEntity;
 import org.microboy.enums.LeaveStatus;
+import org.microboy.enums.LeaveStatusUpdateOutcome;
+import org.microboy.repository.LeaveBalanceRepository;
+import org.microboy.repository.LeaveBalanceRepository.LeaveDays;
 import org.microboy.repository.LeaveRequestRepository;
+import org.microboy.repository.LeaveRequestRepository.LeaveInterval;
+import org.microboy.repository.LeaveRequestRepository.LeaveRequestFilter;
+import org.microboy.repository.PayrollDirtyRepository;
+import org.microboy.repository.PayrollDirtyRepository.DirtyPeriod;
+import org.microboy.utils.CursorCodec;
 
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @ApplicationScoped
@@ -24,7 +55,19 @@ import java.util.stream.Collectors;
 @Slf4j
 public class LeaveRequestServiceImpl implements LeaveRequestService {
 
+	// SQLSTATE raised by ex_leave_requests_employee_period
+	private static final String EXCLUSION_VIOLATION = "23P01";
+	private static final String STATUS_ALL = "ALL";
+	private static final int MAX_PAGE_SIZE = 100;
+	// Bean validation is not enabled, so the limits of LeaveRequestBulkStatusUpdateDTO are checked here
+	private static final int MAX_BULK_STATUS_UPDATES = 500;
+
 	private final LeaveRequestRepository leaveRequestRepository;
+	private final PayrollDirtyRepository payrollDirtyRepository;
+	private final LeaveIntervalIndex leaveIntervalIndex;
+	private final LeaveBalanceRepository leaveBalanceRepository;
+	private final EmployeeNameResolver employeeNameResolver;
+	private final LeaveCalendarCache leaveCalendarCache;
 
 	@Override
 	@Transactional
@@ -35,6 +78,13 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
 		if (dto.getFromDate().isAfter(dto.getToDate())) {
 			throw new BadRequestException("From date cannot be after to date");
 		}
+		List<LeaveInterval> overlapping = leaveIntervalIndex.findOverlapping(organizationId, employeeId,
+		                                                                     dto.getFromDate(), dto.getToDate());
+		if (!overlapping.isEmpty()) {
+			LeaveInterval existing = overlapping.get(0);
+			throw new BadRequestException("Leave request overlaps an existing " + existing.status().name().toLowerCase()
+			                              + " leave from " + existing.fromDate() + " to " + existing.toDate());
+		}
 
 		// Create entity
 		LeaveRequestEntity entity = new LeaveRequestEntity();
@@ -46,28 +96,98 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
 		entity.status = LeaveStatus.PENDING;
 		entity.createdAt = LocalDateTime.now();
 
-		leaveRequestRepository.persist(entity);
+		try {
+			leaveRequestRepository.persist(entity);
+			// Flush here so a concurrent overlapping request surfaces as a validation error
+			leaveRequestRepository.flush();
+		} catch (PersistenceException e) {
+			if (isExclusionViolation(e)) {
+				throw new BadRequestException("Leave request overlaps an existing leave request");
+			}
+			throw e;
+		}
+		leaveIntervalIndex.invalidate(organizationId);
+		leaveBalanceRepository.reservePending(organizationId, employeeId, leaveDays(entity));
 		log.info("Leave request created with ID: {}", entity.leaveRequestId);
 
 		return mapToDTO(entity);
 	}
 
 	@Override
-	public List<LeaveRequestResponseDTO> getMyLeaveRequests(UUID employeeId, UUID organizationId) {
+	public MyLeaveRequestsDTO getMyLeaveRequests(UUID employeeId, UUID organizationId) {
 		log.info("Fetching leave requests for employee: {}", employeeId);
 		List<LeaveRequestEntity> entities = leaveRequestRepository.findByEmployeeId(employeeId);
-		return entities.stream()
-				.map(this::mapToDTO)
-				.collect(Collectors.toList());
+		List<LeaveRequestResponseDTO> requests = mapToDTOs(entities);
+		return new MyLeaveRequestsDTO(getLeaveBalance(employeeId), requests);
+	}
+
+	@Override
+	public LeaveBalanceDTO getLeaveBalance(UUID employeeId) {
+		LeaveBalanceEntity balance = leaveBalanceRepository.findByEmployeeId(employeeId);
+		if (balance == null) {
+			return new LeaveBalanceDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+			                           BigDecimal.ZERO, null);
+		}
+		return new LeaveBalanceDTO(balance.balanceDays,
+		                           balance.accruedDays,
+		                           balance.usedDays,
+		                           balance.pendingDays,
+		                           balance.balanceDays.subtract(balance.pendingDays),
+		                           balance.updatedAt);
 	}
 
 	@Override
 	public List<LeaveRequestResponseDTO> getAllLeaveRequests(UUID organizationId) {
 		log.info("Fetching all leave requests for organization: {}", organizationId);
 		List<LeaveRequestEntity> entities = leaveRequestRepository.findByOrganizationId(organizationId);
-		return entities.stream()
-				.map(this::mapToDTO)
-				.collect(Collectors.toList());
+		return mapToDTOs(entities);
+	}
+
+	@Override
+	public PaginatedResponse<LeaveRequestResponseDTO> getLeaveRequestsByCursor(UUID organizationId, String status,
+	                                                                           String from, String to, UUID employeeId,
+	                                                                           UUID teamId, String cursor, int pageSize) {
+		if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+			throw new BadRequestException("size must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		LeaveRequestFilter filter = new LeaveRequestFilter(parseStatusFilter(status),
+		                                                   parseDate(from, "from"),
+		                                                   parseDate(to, "to"),
+		                                                   employeeId,
+		                                                   teamId);
+		if (filter.from() != null && filter.to() != null && filter.from().isAfter(filter.to())) {
+			throw new BadRequestException("from cannot be after to");
+		}
+
+		LocalDate afterFromDate = null;
+		UUID afterLeaveRequestId = null;
+		if (cursor != null && !cursor.isBlank()) {
+			String[] parts = CursorCodec.decode(cursor, 2);
+			try {
+				afterFromDate = LocalDate.parse(parts[0]);
+				afterLeaveRequestId = UUID.fromString(parts[1]);
+			} catch (DateTimeParseException | IllegalArgumentException e) {
+				throw new BadRequestException("Invalid cursor");
+			}
+		}
+
+		// One extra row tells whether there is a next page without counting
+		List<LeaveRequestEntity> rows = leaveRequestRepository.findPage(organizationId, filter, afterFromDate,
+		                                                                afterLeaveRequestId, pageSize + 1);
+		boolean hasMore = rows.size() > pageSize;
+		List<LeaveRequestEntity> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+
+		PaginatedResponse<LeaveRequestResponseDTO> response = new PaginatedResponse<>();
+		response.setItems(mapToDTOs(pageRows));
+		response.setCurrentPage(0);
+		response.setPageSize(pageSize);
+		if (hasMore) {
+			LeaveRequestEntity last = pageRows.get(pageSize - 1);
+			response.setNextCursor(CursorCodec.encode(last.fromDate, last.leaveRequestId));
+		}
+		response.setTotalItems(-1);
+		response.setTotalPages(-1);
+		return response;
 	}
 
 	@Override
@@ -84,15 +204,70 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
 			throw new BadRequestException("Can only update status of pending leave requests");
 		}
 
-		entity.status = dto.getStatus();
-		entity.approvedBy = approverId;
-		entity.approvedAt = LocalDateTime.now();
-		entity.updatedAt = LocalDateTime.now();
-
-		leaveRequestRepository.persist(entity);
+		// Same conditional update as the bulk path, so a request decided concurrently is never decided twice
+		List<LeaveRequestEntity> updated = leaveRequestRepository.updatePendingStatus(
+				entity.organizationId, List.of(leaveRequestId), dto.getStatus(), approverId, LocalDateTime.now());
+		if (updated.isEmpty()) {
+			throw new BadRequestException("Leave request was already decided");
+		}
+		onDecided(entity.organizationId, dto.getStatus(), updated);
 		log.info("Leave request status updated successfully");
 
-		return mapToDTO(entity);
+		return mapToDTO(updated.get(0));
+	}
+
+	@Override
+	@Transactional
+	public LeaveRequestBulkStatusResultDTO updateLeaveRequestStatuses(UUID organizationId, UUID approverId,
+	                                                                  LeaveRequestBulkStatusUpdateDTO dto) {
+		if (dto == null || dto.getLeaveRequestIds() == null || dto.getLeaveRequestIds().isEmpty()) {
+			throw new BadRequestException("At least one leave request id is required");
+		}
+		if (dto.getLeaveRequestIds().size() > MAX_BULK_STATUS_UPDATES) {
+			throw new BadRequestException("At most " + MAX_BULK_STATUS_UPDATES + " leave requests can be updated at once");
+		}
+		if (dto.getLeaveRequestIds().contains(null)) {
+			throw new BadRequestException("Leave request ids must not be null");
+		}
+		LeaveStatus status = dto.getStatus();
+		if (status == null) {
+			throw new BadRequestException("Status is required");
+		}
+		if (status != LeaveStatus.APPROVED && status != LeaveStatus.REJECTED) {
+			throw new BadRequestException("Leave requests can only be approved or rejected");
+		}
+		Set<UUID> requestedIds = new LinkedHashSet<>(dto.getLeaveRequestIds());
+		log.info("Updating {} leave requests to {} in organization: {}", requestedIds.size(), status, organizationId);
+
+		List<LeaveRequestEntity> updated = leaveRequestRepository.updatePendingStatus(
+				organizationId, requestedIds, status, approverId, LocalDateTime.now());
+		onDecided(organizationId, status, updated);
+
+		Map<UUID, LeaveRequestResponseDTO> updatedById = mapToDTOs(updated).stream()
+				.collect(Collectors.toMap(LeaveRequestResponseDTO::getLeaveRequestId, Function.identity()));
+		List<UUID> skippedIds = requestedIds.stream().filter(id -> !updatedById.containsKey(id)).toList();
+		Map<UUID, LeaveStatus> skippedStatuses = skippedIds.isEmpty()
+				? Map.of()
+				: leaveRequestRepository.findStatuses(organizationId, skippedIds);
+
+		List<LeaveRequestStatusOutcomeDTO> results = new ArrayList<>(requestedIds.size());
+		for (UUID leaveRequestId : requestedIds) {
+			LeaveRequestResponseDTO leaveRequest = updatedById.get(leaveRequestId);
+			if (leaveRequest != null) {
+				results.add(new LeaveRequestStatusOutcomeDTO(leaveRequestId, LeaveStatusUpdateOutcome.UPDATED,
+				                                             leaveRequest.getStatus(), leaveRequest));
+			} else {
+				LeaveStatus current = skippedStatuses.get(leaveRequestId);
+				results.add(new LeaveRequestStatusOutcomeDTO(leaveRequestId,
+				                                             current == null
+						                                             ? LeaveStatusUpdateOutcome.NOT_FOUND
+						                                             : LeaveStatusUpdateOutcome.NOT_PENDING,
+				                                             current, null));
+			}
+		}
+		log.info("Updated {} of {} leave requests to {}", updated.size(), requestedIds.size(), status);
+
+		return new LeaveRequestBulkStatusResultDTO(status, updated.size(), skippedIds.size(), results);
 	}
 
 	@Override
@@ -104,7 +279,109 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
 		return mapToDTO(entity);
 	}
 
+	// PENDING unless asked otherwise, so the default page is the manager inbox; ALL lifts the filter
+	private static LeaveStatus parseStatusFilter(String status) {
+		if (status == null || status.isBlank()) {
+			return LeaveStatus.PENDING;
+		}
+		if (STATUS_ALL.equalsIgnoreCase(status)) {
+			return null;
+		}
+		try {
+			return LeaveStatus.valueOf(status.toUpperCase());
+		} catch (IllegalArgumentException e) {
+			throw new BadRequestException("Invalid status: " + status);
+		}
+	}
+
+	private static LocalDate parseDate(String value, String name) {
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+		try {
+			return LocalDate.parse(value);
+		} catch (DateTimeParseException e) {
+			throw new BadRequestException(name + " must be a date in yyyy-MM-dd format");
+		}
+	}
+
+	/**
+	 * Balance, payroll, overlap-index and calendar updates for requests that just left PENDING
+	 */
+	private void onDecided(UUID organizationId, LeaveStatus status, List<LeaveRequestEntity> decided) {
+		if (decided.isEmpty() || status == LeaveStatus.PENDING) {
+			return;
+		}
+		leaveIntervalIndex.invalidate(organizationId);
+		decided.forEach(entity -> leaveCalendarCache.invalidate(organizationId, entity.fromDate, entity.toDate));
+		List<LeaveDays> days = decided.stream()
+				.map(entity -> new LeaveDays(entity.leaveRequestId, entity.employeeId, leaveDays(entity)))
+				.toList();
+		if (status == LeaveStatus.APPROVED) {
+			leaveBalanceRepository.debit(organizationId, days);
+			// Only approved leave counts towards paid days
+			Set<DirtyPeriod> periods = new LinkedHashSet<>();
+			for (LeaveRequestEntity entity : decided) {
+				for (YearMonth period = YearMonth.from(entity.fromDate);
+				     !period.isAfter(YearMonth.from(entity.toDate));
+				     period = period.plusMonths(1)) {
+					periods.add(new DirtyPeriod(organizationId, entity.employeeId, period.getYear(), period.getMonthValue()));
+				}
+			}
+			payrollDirtyRepository.markDirty(periods);
+		} else {
+			leaveBalanceRepository.releasePending(days);
+		}
+	}
+
+	// Calendar days, the same count payroll uses for approved leave
+	private static BigDecimal leaveDays(LeaveRequestEntity entity) {
+		return BigDecimal.valueOf(ChronoUnit.DAYS.between(entity.fromDate, entity.toDate) + 1);
+	}
+
+	private static boolean isExclusionViolation(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SQLException sqlException && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private LeaveRequestResponseDTO mapToDTO(LeaveRequestEntity entity) {
+		return mapToDTOs(List.of(entity)).get(0);
+	}
+
+	/**
+	 * Maps requests to DTOs, resolving every employee and approver name with one lookup per organization
+	 */
+	private List<LeaveRequestResponseDTO> mapToDTOs(List<LeaveRequestEntity> entities) {
+		Map<UUID, Map<UUID, String>> namesByOrganization = new HashMap<>();
+		entities.stream()
+				.collect(Collectors.groupingBy(entity -> entity.organizationId))
+				.forEach((organizationId, requests) -> {
+					Set<UUID> employeeIds = new HashSet<>();
+					requests.forEach(entity -> {
+						employeeIds.add(entity.employeeId);
+						employeeIds.add(entity.approvedBy);
+					});
+					namesByOrganization.put(organizationId, employeeNameResolver.resolve(organizationId, employeeIds));
+				});
+
+		List<LeaveRequestResponseDTO> dtos = new ArrayList<>(entities.size());
+		for (LeaveRequestEntity entity : entities) {
+			Map<UUID, String> names = namesByOrganization.get(entity.organizationId);
+			LeaveRequestResponseDTO dto = toDTO(entity);
+			dto.setEmployeeName(names.get(entity.employeeId));
+			if (entity.approvedBy != null) {
+				dto.setApprovedByName(names.get(entity.approvedBy));
+			}
+			dtos.add(dto);
+		}
+		return dtos;
+	}
+
+	private static LeaveRequestResponseDTO toDTO(LeaveRequestEntity entity) {
 		LeaveRequestResponseDTO dto = new LeaveRequestResponseDTO();
 		dto.setLeaveRequestId(entity.leaveRequestId);
 		dto.setEmployeeId(entity.employeeId);
@@ -116,29 +393,6 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
 		dto.setApprovedAt(entity.approvedAt);
 		dto.setCreatedAt(entity.createdAt);
 		dto.setUpdatedAt(entity.updatedAt);
-
-		// Get employee name
-		try {
-			EmployeeCoreEntity employee = EmployeeCoreEntity.findById(entity.employeeId);
-			if (employee != null) {
-				dto.setEmployeeName(employee.firstName + " " + employee.lastName);
-			}
-		} catch (Exception e) {
-			log.warn("Failed to fetch employee name for ID: {}", entity.employeeId);
-		}
-
-		// Get approver name
-		if (entity.approvedBy != null) {
-			try {
-				EmployeeCoreEntity approver = EmployeeCoreEntity.findById(entity.approvedBy);
-				if (approver != null) {
-					dto.setApprovedByName(approver.firstName + " " + approver.lastName);
-				}
-			} catch (Exception e) {
-				log.warn("Failed to fetch approver name for ID: {}", entity.approvedBy);
-			}
-		}
-
 		return dto;
 	}
 }
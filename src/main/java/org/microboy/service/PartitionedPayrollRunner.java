@@ -0,0 +1,120 @@
+package org.microboy.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.microboy.dto.response.PayrollChunkResultDTO;
+import org.microboy.entity.SalaryEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Runs a payroll calculation as independent chunks on virtual threads.
+ * Inputs are loaded once for the whole run; each chunk is then computed and inserted in its own
+ * transaction. A semaphore shared by all runs bounds how many chunk transactions hold a connection at once.
+ */
+@ApplicationScoped
+@Slf4j
+public class PartitionedPayrollRunner {
+
+	@Inject
+	PayrollEngine payrollEngine;
+
+	@ConfigProperty(name = "com.microboy.cetus.payroll.chunk-size", defaultValue = "500")
+	int chunkSize;
+
+	@ConfigProperty(name = "com.microboy.cetus.payroll.max-concurrent-chunks", defaultValue = "4")
+	int maxConcurrentChunks;
+
+	private Semaphore connectionPermits;
+
+	@PostConstruct
+	void init() {
+		connectionPermits = new Semaphore(maxConcurrentChunks);
+	}
+
+	public record ChunkOutcome(PayrollChunkResultDTO result, List<SalaryEntity> inserted) {}
+
+	/**
+	 * @return one outcome per chunk, in chunk order; a failed chunk has no inserted rows
+	 */
+	public List<ChunkOutcome> run(UUID organizationId, List<UUID> employeeIds, int month, int year) {
+		return run(organizationId, employeeIds, month, year, outcome -> {});
+	}
+
+	/**
+	 * Same as {@link #run(UUID, List, int, int)}, calling {@code onChunkDone} from the worker thread
+	 * as soon as each chunk has committed or failed.
+	 */
+	public List<ChunkOutcome> run(UUID organizationId, List<UUID> employeeIds, int month, int year,
+	                              Consumer<ChunkOutcome> onChunkDone) {
+		PayrollEngine.PayrollInputs inputs = payrollEngine.loadInputs(organizationId, month, year);
+
+		List<List<UUID>> chunks = new ArrayList<>();
+		for (int from = 0; from < employeeIds.size(); from += chunkSize) {
+			chunks.add(employeeIds.subList(from, Math.min(from + chunkSize, employeeIds.size())));
+		}
+		log.info("Running payroll for organization {} - {}/{} in {} chunks", organizationId, month, year, chunks.size());
+
+		List<Future<ChunkOutcome>> futures = new ArrayList<>(chunks.size());
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < chunks.size(); i++) {
+				int chunkIndex = i;
+				List<UUID> chunk = chunks.get(i);
+				futures.add(executor.submit(() -> {
+					ChunkOutcome outcome = runChunk(inputs, chunkIndex, chunk);
+					onChunkDone.accept(outcome);
+					return outcome;
+				}));
+			}
+		}
+
+		List<ChunkOutcome> outcomes = new ArrayList<>(chunks.size());
+		for (int i = 0; i < chunks.size(); i++) {
+			try {
+				outcomes.add(futures.get(i).get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				outcomes.add(failed(i, chunks.get(i), e));
+			} catch (ExecutionException e) {
+				outcomes.add(failed(i, chunks.get(i), e.getCause()));
+			}
+		}
+		return outcomes;
+	}
+
+	private ChunkOutcome runChunk(PayrollEngine.PayrollInputs inputs, int chunkIndex, List<UUID> chunk) {
+		try {
+			connectionPermits.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return failed(chunkIndex, chunk, e);
+		}
+		try {
+			List<SalaryEntity> inserted = payrollEngine.persistChunk(inputs, chunk);
+			return new ChunkOutcome(
+					new PayrollChunkResultDTO(chunkIndex, chunk.size(), inserted.size(), true, null, null), inserted);
+		} catch (Exception e) {
+			log.error("Payroll chunk {} for organization {} failed", chunkIndex, inputs.organizationId(), e);
+			return failed(chunkIndex, chunk, e);
+		} finally {
+			connectionPermits.release();
+		}
+	}
+
+	private static ChunkOutcome failed(int chunkIndex, List<UUID> chunk, Throwable cause) {
+		return new ChunkOutcome(new PayrollChunkResultDTO(chunkIndex, chunk.size(), 0, false, cause.getMessage(),
+		                                                  List.copyOf(chunk)),
+		                        List.of());
+	}
+}
@@ -0,0 +1,187 @@
+package org.microboy.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.microboy.entity.SalaryEntity;
+import org.microboy.enums.SalaryStatus;
+import org.microboy.repository.PayrollRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Set-based payroll calculation.
+ * Attendance days, approved leave days, base salaries as of the period end and existing salary rows are loaded
+ * for the whole organization with one grouped query each; salaries are then computed in memory and
+ * written with a single batched insert. The number of queries does not depend on the head count.
+ */
+@ApplicationScoped
+@Slf4j
+public class PayrollEngine {
+
+	static final int WORKING_DAYS_TARGET = 22;
+	static final BigDecimal ATTENDANCE_BONUS_RATE = new BigDecimal("0.05");
+	static final BigDecimal DEFAULT_BASIC_SALARY = new BigDecimal("10000000"); // 10 million VND default
+
+	@Inject
+	PayrollRepository payrollRepository;
+
+	@ConfigProperty(name = "com.microboy.cetus.payroll.insert-batch-size", defaultValue = "500")
+	int insertBatchSize;
+
+	/**
+	 * Everything the calculation reads for one organization and period, loaded once and shared by all chunks of a run.
+	 */
+	public record PayrollInputs(UUID organizationId,
+	                            int month,
+	                            int year,
+	                            Set<UUID> alreadyCalculated,
+	                            Map<UUID, Long> attendanceDays,
+	                            Map<UUID, Long> approvedLeaveDays,
+	                            Map<UUID, BigDecimal> baseSalaries) {}
+
+	/**
+	 * Calculates and inserts PENDING salary rows for the given employees for the period.
+	 * Employees that already have a salary row for the period are skipped.
+	 *
+	 * @return the inserted rows, in the order of {@code employeeIds}
+	 */
+	@Transactional
+	public List<SalaryEntity> calculate(UUID organizationId, Collection<UUID> employeeIds, int month, int year) {
+		return persist(loadInputs(organizationId, month, year), employeeIds);
+	}
+
+	@Transactional
+	public PayrollInputs loadInputs(UUID organizationId, int month, int year) {
+		return loadInputs(organizationId, month, year, null);
+	}
+
+	/**
+	 * @param employeeIds employees to load attendance, leave and salary data for; {@code null} for the whole organization
+	 */
+	private PayrollInputs loadInputs(UUID organizationId, int month, int year, Collection<UUID> employeeIds) {
+		LocalDate start = LocalDate.of(year, month, 1);
+		LocalDate end = start.withDayOfMonth(start.lengthOfMonth());
+
+		return new PayrollInputs(organizationId, month, year,
+		                         payrollRepository.findEmployeeIdsWithSalary(organizationId, month, year),
+		                         payrollRepository.countAttendanceDays(organizationId, start, end, employeeIds),
+		                         payrollRepository.sumApprovedLeaveDays(organizationId, start, end, employeeIds),
+		                         payrollRepository.findBaseSalariesAsOf(organizationId, end, employeeIds));
+	}
+
+	/**
+	 * Recomputes the PENDING salary rows of the given employees for the period from current attendance,
+	 * leave and compensation data. Paid rows and employees without a row are left alone.
+	 *
+	 * @return number of rows updated
+	 */
+	@Transactional
+	public int recompute(UUID organizationId, int month, int year, Collection<UUID> employeeIds) {
+		List<SalaryEntity> pending = payrollRepository.findPendingSalaries(organizationId, month, year, employeeIds);
+		if (pending.isEmpty()) {
+			return 0;
+		}
+
+		List<UUID> pendingEmployeeIds = pending.stream().map(salary -> salary.employeeId).toList();
+		PayrollInputs inputs = loadInputs(organizationId, month, year, pendingEmployeeIds);
+		LocalDateTime now = LocalDateTime.now();
+		List<SalaryEntity> recomputed = new ArrayList<>(pending.size());
+		for (SalaryEntity salary : pending) {
+			// Unmanaged copy carrying the existing id; the managed rows are not modified
+			SalaryEntity row = computeRow(inputs, salary.employeeId, now);
+			row.salaryId = salary.salaryId;
+			row.updatedAt = now;
+			recomputed.add(row);
+		}
+		return payrollRepository.updatePendingSalaryAmounts(recomputed, insertBatchSize);
+	}
+
+	/**
+	 * Computes and inserts one chunk of a partitioned run in its own transaction.
+	 * Rows that already exist for the period are left untouched, so a failed chunk can simply be run again.
+	 */
+	@Transactional(Transactional.TxType.REQUIRES_NEW)
+	public List<SalaryEntity> persistChunk(PayrollInputs inputs, Collection<UUID> employeeIds) {
+		return persist(inputs, employeeIds);
+	}
+
+	private List<SalaryEntity> persist(PayrollInputs inputs, Collection<UUID> employeeIds) {
+		List<SalaryEntity> inserted = payrollRepository.insertSalaries(compute(inputs, employeeIds), insertBatchSize);
+		log.info("Inserted {} salary records for organization {} - {}/{}",
+		         inserted.size(), inputs.organizationId(), inputs.month(), inputs.year());
+		return inserted;
+	}
+
+	private List<SalaryEntity> compute(PayrollInputs inputs, Collection<UUID> employeeIds) {
+		LocalDateTime now = LocalDateTime.now();
+		List<SalaryEntity> salaries = new ArrayList<>();
+		for (UUID employeeId : employeeIds) {
+			if (inputs.alreadyCalculated().contains(employeeId)) {
+				log.info("Salary already exists for employee {} for {}/{}", employeeId, inputs.month(), inputs.year());
+				continue;
+			}
+			salaries.add(computeRow(inputs, employeeId, now));
+		}
+		return salaries;
+	}
+
+	private SalaryEntity computeRow(PayrollInputs inputs, UUID employeeId, LocalDateTime now) {
+		BigDecimal basicSalary = inputs.baseSalaries().getOrDefault(employeeId, DEFAULT_BASIC_SALARY);
+		int unpaidDays = unpaidDays(inputs.attendanceDays().getOrDefault(employeeId, 0L),
+		                            inputs.approvedLeaveDays().getOrDefault(employeeId, 0L));
+		BigDecimal bonus = calculateBonus(basicSalary, unpaidDays);
+		BigDecimal deductions = calculateDeductions(basicSalary, unpaidDays);
+
+		SalaryEntity salaryEntity = new SalaryEntity();
+		salaryEntity.salaryId = UUID.randomUUID();
+		salaryEntity.employeeId = employeeId;
+		salaryEntity.organizationId = inputs.organizationId();
+		salaryEntity.month = inputs.month();
+		salaryEntity.year = inputs.year();
+		salaryEntity.basicSalary = basicSalary;
+		salaryEntity.bonus = bonus;
+		salaryEntity.deductions = deductions;
+		salaryEntity.totalSalary = basicSalary.add(bonus).subtract(deductions);
+		salaryEntity.status = SalaryStatus.PENDING;
+		salaryEntity.createdAt = now;
+		return salaryEntity;
+	}
+
+	static int unpaidDays(long attendanceDays, long approvedLeaveDays) {
+		int paidDays = (int) Math.min(WORKING_DAYS_TARGET, attendanceDays + approvedLeaveDays);
+		return Math.max(0, WORKING_DAYS_TARGET - paidDays);
+	}
+
+	/**
+	 * Attendance bonus: +5% basic if there is no unpaid absence
+	 */
+	static BigDecimal calculateBonus(BigDecimal basicSalary, int unpaidDays) {
+		if (unpaidDays == 0) {
+			return basicSalary.multiply(ATTENDANCE_BONUS_RATE).setScale(2, RoundingMode.HALF_UP);
+		}
+		return BigDecimal.ZERO;
+	}
+
+	/**
+	 * Only unpaid absence days are deducted, no income tax
+	 */
+	static BigDecimal calculateDeductions(BigDecimal basicSalary, int unpaidDays) {
+		BigDecimal dailyRate = basicSalary
+				.divide(BigDecimal.valueOf(WORKING_DAYS_TARGET), 2, RoundingMode.HALF_UP);
+
+		return dailyRate.multiply(BigDecimal.valueOf(unpaidDays))
+				.setScale(2, RoundingMode.HALF_UP);
+	}
+}
@@ -0,0 +1,109 @@
+package org.microboy.service;
+
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.microboy.dto.response.PayrollChunkResultDTO;
+import org.microboy.enums.PayrollJobStatus;
+import org.microboy.repository.PayrollJobRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Executes payroll jobs in the background and records their progress in {@code payroll_job} after every chunk,
+ * so any node can report on a job. While a job runs its lease ({@code heartbeat_at}) is renewed on every chunk and
+ * every heartbeat; jobs whose lease lapsed are failed by whichever node sweeps first, so a node that never comes
+ * back, or comes back under another hostname, does not leave them RUNNING.
+ */
+@ApplicationScoped
+@Slf4j
+public class PayrollJobRunner {
+
+	@Inject
+	PartitionedPayrollRunner partitionedPayrollRunner;
+
+	@Inject
+	PayrollJobRepository payrollJobRepository;
+
+	@ConfigProperty(name = "com.microboy.cetus.payroll.node-id", defaultValue = "local")
+	String nodeId;
+
+	@ConfigProperty(name = "com.microboy.cetus.payroll.job.lease-seconds", defaultValue = "300")
+	long leaseSeconds;
+
+	private final Set<UUID> runningJobs = ConcurrentHashMap.newKeySet();
+
+	void onStart(@Observes StartupEvent event) {
+		int failed = payrollJobRepository.failUnfinished(nodeId, "Interrupted by node restart, submit the job again");
+		if (failed > 0) {
+			log.warn("Marked {} unfinished payroll jobs of node {} as failed", failed, nodeId);
+		}
+		failExpiredJobs();
+	}
+
+	@Scheduled(every = "${com.microboy.cetus.payroll.job.heartbeat-interval:30s}",
+	           delayed = "${com.microboy.cetus.payroll.job.heartbeat-interval:30s}",
+	           concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+	void heartbeat() {
+		if (!runningJobs.isEmpty()) {
+			payrollJobRepository.heartbeat(List.copyOf(runningJobs));
+		}
+		failExpiredJobs();
+	}
+
+	public String nodeId() {
+		return nodeId;
+	}
+
+	public void start(UUID jobId, UUID organizationId, List<UUID> employeeIds, int month, int year) {
+		runningJobs.add(jobId);
+		Thread.ofVirtual()
+		      .name("payroll-job-" + jobId)
+		      .start(() -> execute(jobId, organizationId, employeeIds, month, year));
+	}
+
+	private void execute(UUID jobId, UUID organizationId, List<UUID> employeeIds, int month, int year) {
+		try {
+			payrollJobRepository.markRunning(jobId);
+			List<PartitionedPayrollRunner.ChunkOutcome> outcomes = partitionedPayrollRunner.run(
+					organizationId, employeeIds, month, year, outcome -> {
+						PayrollChunkResultDTO result = outcome.result();
+						payrollJobRepository.addProgress(jobId, result.getEmployeeCount(), result.getInsertedCount(),
+						                                 result.isSuccess() ? 0 : 1,
+						                                 outcome.inserted().stream().map(salary -> salary.salaryId).toList());
+					});
+
+			long failedChunks = outcomes.stream().filter(outcome -> !outcome.result().isSuccess()).count();
+			if (failedChunks == 0) {
+				payrollJobRepository.markFinished(jobId, PayrollJobStatus.COMPLETED, null);
+			} else {
+				payrollJobRepository.markFinished(jobId, PayrollJobStatus.COMPLETED_WITH_ERRORS,
+				                                  failedChunks + " of " + outcomes.size()
+				                                  + " chunks failed, submit the job again to retry them");
+			}
+			log.info("Payroll job {} finished with {} failed chunks", jobId, failedChunks);
+		} catch (Exception e) {
+			log.error("Payroll job {} failed", jobId, e);
+			payrollJobRepository.markFinished(jobId, PayrollJobStatus.FAILED,
+			                                  e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+		} finally {
+			runningJobs.remove(jobId);
+		}
+	}
+
+	private void failExpiredJobs() {
+		int failed = payrollJobRepository.failExpired(LocalDateTime.now().minusSeconds(leaseSeconds),
+		                                              "Node stopped sending heartbeats, submit the job again");
+		if (failed > 0) {
+			log.warn("Marked {} payroll jobs with an expired lease as failed", failed);
+		}
+	}
+}
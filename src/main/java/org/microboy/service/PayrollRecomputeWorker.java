@@ -0,0 +1,107 @@
+package org.microboy.service;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.microboy.repository.PayrollDirtyRepository;
+import org.microboy.repository.PayrollDirtyRepository.ClaimedPeriod;
+import org.microboy.repository.PayrollDirtyRepository.DirtyPeriod;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Recomputes PENDING salary rows whose attendance or leave changed after they were calculated.
+ * Check-in, check-out and leave approval mark (employee, month) pairs dirty; this worker drains them in batches.
+ * A batch is claimed in one transaction and each of its periods is recomputed in its own, so one failing employee does
+ * not hold back the rest of the queue: failed pairs go back to the end of the queue, and after {@code max-attempts}
+ * failures they are logged and dropped. Should the node die mid-batch, the claim rolls back and the batch is redone.
+ */
+@ApplicationScoped
+@Slf4j
+public class PayrollRecomputeWorker {
+
+	@Inject
+	PayrollDirtyRepository payrollDirtyRepository;
+
+	@Inject
+	PayrollEngine payrollEngine;
+
+	@ConfigProperty(name = "com.microboy.cetus.payroll.recompute.batch-size", defaultValue = "500")
+	int batchSize;
+
+	@ConfigProperty(name = "com.microboy.cetus.payroll.recompute.max-attempts", defaultValue = "5")
+	int maxAttempts;
+
+	private record Period(UUID organizationId, int year, int month) {}
+
+	@Scheduled(every = "${com.microboy.cetus.payroll.recompute.interval:30s}",
+	           delayed = "${com.microboy.cetus.payroll.recompute.interval:30s}",
+	           concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+	void recomputeDirtyPeriods() {
+		int claimed;
+		do {
+			claimed = QuarkusTransaction.requiringNew().call(this::recomputeBatch);
+		} while (claimed == batchSize);
+	}
+
+	private int recomputeBatch() {
+		List<ClaimedPeriod> claimed = payrollDirtyRepository.claimBatch(batchSize);
+		if (claimed.isEmpty()) {
+			return 0;
+		}
+
+		Map<Period, List<ClaimedPeriod>> claimedByPeriod = claimed.stream().collect(Collectors.groupingBy(
+				entry -> new Period(entry.period().organizationId(), entry.period().year(), entry.period().month())));
+
+		int updated = 0;
+		List<ClaimedPeriod> failed = new ArrayList<>();
+		for (Map.Entry<Period, List<ClaimedPeriod>> entry : claimedByPeriod.entrySet()) {
+			Period period = entry.getKey();
+			try {
+				updated += recompute(period, entry.getValue());
+			} catch (Exception e) {
+				// The period rolled back as a whole; retry employee by employee so only the failing ones are held back
+				log.warn("Recomputing {} pending salaries of organization {} for {}/{} failed, retrying them one by one",
+				         entry.getValue().size(), period.organizationId(), period.month(), period.year(), e);
+				for (ClaimedPeriod employee : entry.getValue()) {
+					try {
+						updated += recompute(period, List.of(employee));
+					} catch (Exception employeeError) {
+						failed.add(employee);
+						logFailure(employee, employeeError);
+					}
+				}
+			}
+		}
+		payrollDirtyRepository.requeue(failed.stream().filter(entry -> entry.attempts() + 1 < maxAttempts).toList());
+		log.info("Recomputed {} pending salary rows from {} dirty employee periods, {} failed",
+		         updated, claimed.size(), failed.size());
+		return claimed.size();
+	}
+
+	// Runs outside the claiming transaction, so a failure leaves the claim and the other periods intact
+	private int recompute(Period period, List<ClaimedPeriod> entries) {
+		List<UUID> employeeIds = entries.stream().map(entry -> entry.period().employeeId()).toList();
+		return QuarkusTransaction.requiringNew().call(
+				() -> payrollEngine.recompute(period.organizationId(), period.month(), period.year(), employeeIds));
+	}
+
+	private void logFailure(ClaimedPeriod entry, Exception e) {
+		DirtyPeriod period = entry.period();
+		if (entry.attempts() + 1 < maxAttempts) {
+			log.warn("Recomputing the pending salary of employee {} for {}/{} failed (attempt {} of {}), requeued",
+			         period.employeeId(), period.month(), period.year(), entry.attempts() + 1, maxAttempts, e);
+		} else {
+			log.error("Recomputing the pending salary of employee {} (organization {}) for {}/{} failed {} times, "
+			          + "dropped from the queue; its salary stays as calculated until the period is marked dirty again",
+			          period.employeeId(), period.organizationId(), period.month(), period.year(), maxAttempts, e);
+		}
+	}
+}
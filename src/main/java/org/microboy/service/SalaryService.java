@@ -1,6 +1,9 @@
 package org.microboy.service;
 
 import org.microboy.dto.request.CalculateSalaryRequestDTO;
+import org.microboy.dto.response.PaginatedResponse;
+import org.microboy.dto.response.PayrollJobResponseDTO;
+import org.microboy.dto.response.PayrollRunResponseDTO;
 import org.microboy.dto.response.SalaryResponseDTO;
 
 import java.util.List;
@@ -28,6 +31,26 @@ public interface SalaryService {
 	 */
 	List<SalaryResponseDTO> calculateSalary(UUID organizationId, CalculateSalaryRequestDTO dto);
 
+	/**
+	 * Calculate salary in independently committed chunks, reporting the outcome of each chunk
+	 */
+	PayrollRunResponseDTO calculateSalaryPartitioned(UUID organizationId, CalculateSalaryRequestDTO dto);
+
+	/**
+	 * Start a background salary calculation and return the queued job
+	 */
+	PayrollJobResponseDTO submitPayrollJob(UUID organizationId, UUID requestedBy, CalculateSalaryRequestDTO dto);
+
+	/**
+	 * Get status and progress of a payroll job
+	 */
+	PayrollJobResponseDTO getPayrollJob(UUID jobId, UUID organizationId);
+
+	/**
+	 * Get the salary records of a payroll job's period, page by page
+	 */
+	PaginatedResponse<SalaryResponseDTO> getPayrollJobResults(UUID jobId, UUID organizationId, int page, int pageSize);
+
 	/**
 	 * Mark a salary record as paid
 	 */
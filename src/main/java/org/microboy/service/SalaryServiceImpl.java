@@ -7,24 +7,30 @@ import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.ForbiddenException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.microboy.cache.EmployeeNameResolver;
 import org.microboy.dto.request.CalculateSalaryRequestDTO;
+import org.microboy.dto.response.PaginatedResponse;
+import org.microboy.dto.response.PayrollChunkResultDTO;
+import org.microboy.dto.response.PayrollJobResponseDTO;
+import org.microboy.dto.response.PayrollRunResponseDTO;
 import org.microboy.dto.response.SalaryResponseDTO;
-import org.microboy.entity.AttendanceEntity;
 import org.microboy.entity.EmployeeCoreEntity;
-import org.microboy.entity.EmployeeHistoryEntity;
-import org.microboy.entity.LeaveRequestEntity;
+import org.microboy.entity.PayrollJobEntity;
 import org.microboy.entity.SalaryEntity;
 import org.microboy.entity.TeamMemberEntity;
-import org.microboy.enums.LeaveStatus;
+import org.microboy.enums.PayrollJobStatus;
 import org.microboy.enums.SalaryStatus;
+import org.microboy.repository.PayrollJobRepository;
 import org.microboy.repository.SalaryRepository;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDate;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -34,18 +40,19 @@ import java.util.stream.Collectors;
 public class SalaryServiceImpl implements SalaryService {
 
 	private final SalaryRepository salaryRepository;
-
-	private static final int WORKING_DAYS_TARGET = 22;
-	private static final BigDecimal ATTENDANCE_BONUS_RATE = new BigDecimal("0.05");
+	private final PayrollEngine payrollEngine;
+	private final PartitionedPayrollRunner partitionedPayrollRunner;
+	private final PayrollJobRunner payrollJobRunner;
+	private final PayrollJobRepository payrollJobRepository;
+	private final EmployeeNameResolver employeeNameResolver;
 
 	@Override
 	public List<SalaryResponseDTO> getMySalary(UUID employeeId, UUID organizationId) {
 		log.info("Fetching salary for employee: {}", employeeId);
 		List<SalaryEntity> entities = salaryRepository.findByEmployeeId(employeeId);
-		return entities.stream()
+		return mapToDTOs(entities.stream()
 				.filter(entity -> entity.organizationId.equals(organizationId))
-				.map(this::mapToDTO)
-				.collect(Collectors.toList());
+				.collect(Collectors.toList()));
 	}
 
 	@Override
@@ -75,19 +82,16 @@ public class SalaryServiceImpl implements SalaryService {
 
 		// Get salary for all team members
 		List<SalaryEntity> entities = salaryRepository.findByTeamMembers(employeeIds);
-		return entities.stream()
+		return mapToDTOs(entities.stream()
 				.filter(entity -> entity.organizationId.equals(organizationId))
-				.map(this::mapToDTO)
-				.collect(Collectors.toList());
+				.collect(Collectors.toList()));
 	}
 
 	@Override
 	public List<SalaryResponseDTO> getAllSalary(UUID organizationId) {
 		log.info("Fetching all salary for organization: {}", organizationId);
 		List<SalaryEntity> entities = salaryRepository.findByOrganizationId(organizationId);
-		return entities.stream()
-				.map(this::mapToDTO)
-				.collect(Collectors.toList());
+		return mapToDTOs(entities);
 	}
 
 	@Override
@@ -95,6 +99,116 @@ public class SalaryServiceImpl implements SalaryService {
 	public List<SalaryResponseDTO> calculateSalary(UUID organizationId, CalculateSalaryRequestDTO dto) {
 		log.info("Calculating salary for organization {} - {}/{}", organizationId, dto.getMonth(), dto.getYear());
 
+		List<UUID> employeeIds = findPayrollEmployeeIds(organizationId, dto);
+		return mapToDTOs(payrollEngine.calculate(organizationId, employeeIds, dto.getMonth(), dto.getYear()));
+	}
+
+	@Override
+	public PayrollRunResponseDTO calculateSalaryPartitioned(UUID organizationId, CalculateSalaryRequestDTO dto) {
+		log.info("Calculating partitioned salary for organization {} - {}/{}", organizationId, dto.getMonth(), dto.getYear());
+
+		List<UUID> employeeIds = findPayrollEmployeeIds(organizationId, dto);
+		List<PartitionedPayrollRunner.ChunkOutcome> outcomes =
+				partitionedPayrollRunner.run(organizationId, employeeIds, dto.getMonth(), dto.getYear());
+
+		List<PayrollChunkResultDTO> chunks = outcomes.stream()
+				.map(PartitionedPayrollRunner.ChunkOutcome::result)
+				.collect(Collectors.toList());
+		List<SalaryResponseDTO> salaries = mapToDTOs(outcomes.stream()
+				.flatMap(outcome -> outcome.inserted().stream())
+				.collect(Collectors.toList()));
+		int failedChunkCount = (int) chunks.stream().filter(chunk -> !chunk.isSuccess()).count();
+
+		return new PayrollRunResponseDTO(dto.getMonth(), dto.getYear(), employeeIds.size(), salaries.size(),
+		                                 failedChunkCount, chunks, salaries);
+	}
+
+	@Override
+	public PayrollJobResponseDTO submitPayrollJob(UUID organizationId, UUID requestedBy, CalculateSalaryRequestDTO dto) {
+		List<UUID> employeeIds = findPayrollEmployeeIds(organizationId, dto);
+
+		PayrollJobEntity job = new PayrollJobEntity();
+		job.organizationId = organizationId;
+		job.month = dto.getMonth();
+		job.year = dto.getYear();
+		job.status = PayrollJobStatus.QUEUED;
+		job.totalCount = employeeIds.size();
+		job.requestedBy = requestedBy;
+		job.nodeId = payrollJobRunner.nodeId();
+		job.createdAt = LocalDateTime.now();
+		job.heartbeatAt = job.createdAt;
+		payrollJobRepository.create(job);
+		log.info("Queued payroll job {} for organization {} - {}/{} ({} employees)",
+				job.jobId, organizationId, dto.getMonth(), dto.getYear(), employeeIds.size());
+
+		payrollJobRunner.start(job.jobId, organizationId, employeeIds, dto.getMonth(), dto.getYear());
+		return mapToJobDTO(job);
+	}
+
+	@Override
+	public PayrollJobResponseDTO getPayrollJob(UUID jobId, UUID organizationId) {
+		return mapToJobDTO(findPayrollJob(jobId, organizationId));
+	}
+
+	@Override
+	public PaginatedResponse<SalaryResponseDTO> getPayrollJobResults(UUID jobId, UUID organizationId, int page, int pageSize) {
+		PayrollJobEntity job = findPayrollJob(jobId, organizationId);
+
+		var salaryQuery = salaryRepository.findPageByPayrollJob(job.jobId);
+		List<SalaryEntity> salaries = salaryQuery.page(page, pageSize).list();
+		long totalItems = salaryQuery.count();
+
+		PaginatedResponse<SalaryResponseDTO> response = new PaginatedResponse<>();
+		response.setItems(mapToDTOs(salaries));
+		response.setTotalItems(totalItems);
+		response.setTotalPages((int) Math.ceil((double) totalItems / pageSize));
+		response.setCurrentPage(page);
+		response.setPageSize(pageSize);
+		return response;
+	}
+
+	private PayrollJobEntity findPayrollJob(UUID jobId, UUID organizationId) {
+		PayrollJobEntity job = payrollJobRepository.findById(jobId);
+		if (job == null || !job.organizationId.equals(organizationId)) {
+			throw new EntityNotFoundException("Payroll job not found");
+		}
+		return job;
+	}
+
+	private PayrollJobResponseDTO mapToJobDTO(PayrollJobEntity job) {
+		PayrollJobResponseDTO dto = new PayrollJobResponseDTO();
+		dto.setJobId(job.jobId);
+		dto.setMonth(job.month);
+		dto.setYear(job.year);
+		dto.setStatus(job.status);
+		dto.setTotalCount(job.totalCount);
+		dto.setProcessedCount(job.processedCount);
+		dto.setInsertedCount(job.insertedCount);
+		dto.setFailedChunkCount(job.failedChunkCount);
+		dto.setErrorMessage(job.errorMessage);
+		dto.setCreatedAt(job.createdAt);
+		dto.setStartedAt(job.startedAt);
+		dto.setFinishedAt(job.finishedAt);
+
+		if (job.startedAt != null) {
+			LocalDateTime until = job.finishedAt != null ? job.finishedAt : LocalDateTime.now();
+			double elapsedSeconds = Duration.between(job.startedAt, until).toMillis() / 1000.0;
+			if (elapsedSeconds > 0) {
+				double throughput = job.processedCount / elapsedSeconds;
+				dto.setThroughputPerSecond(throughput);
+				if (job.status == PayrollJobStatus.RUNNING && throughput > 0) {
+					dto.setEtaSeconds((long) Math.ceil((job.totalCount - job.processedCount) / throughput));
+				}
+			}
+		}
+		return dto;
+	}
+
+	/**
+	 * Validates the period and returns the organization's employees to calculate,
+	 * narrowed to {@code dto.employeeIds} when given
+	 */
+	private List<UUID> findPayrollEmployeeIds(UUID organizationId, CalculateSalaryRequestDTO dto) {
 		// Validation
 		if (dto.getMonth() < 1 || dto.getMonth() > 12) {
 			throw new BadRequestException("Month must be between 1 and 12");
@@ -109,45 +223,11 @@ public class SalaryServiceImpl implements SalaryService {
 			throw new BadRequestException("No employees found in organization");
 		}
 
-		List<SalaryResponseDTO> results = new ArrayList<>();
-
-		for (EmployeeCoreEntity employee : employees) {
-			// Check if salary already exists for this period
-			var existingSalary = salaryRepository.findByEmployeeAndPeriod(
-					employee.employeeId, dto.getMonth(), dto.getYear());
-
-			if (existingSalary.isPresent()) {
-				log.info("Salary already exists for employee {} for {}/{}", 
-						employee.employeeId, dto.getMonth(), dto.getYear());
-				continue;
-			}
-
-			// Get employee's base salary from latest employment history
-			BigDecimal basicSalary = getEmployeeBasicSalary(employee.employeeId);
-
-			// Calculate bonus and deductions with attendance + leave + tax rules
-			BigDecimal bonus = calculateBonus(organizationId, employee.employeeId, dto.getMonth(), dto.getYear(), basicSalary);
-			BigDecimal deductions = calculateDeductions(organizationId, employee.employeeId, dto.getMonth(), dto.getYear(), basicSalary, bonus);
-
-			// Create salary record
-			SalaryEntity salaryEntity = new SalaryEntity();
-			salaryEntity.employeeId = employee.employeeId;
-			salaryEntity.organizationId = organizationId;
-			salaryEntity.month = dto.getMonth();
-			salaryEntity.year = dto.getYear();
-			salaryEntity.basicSalary = basicSalary;
-			salaryEntity.bonus = bonus;
-			salaryEntity.deductions = deductions;
-			salaryEntity.status = SalaryStatus.PENDING;
-			salaryEntity.createdAt = LocalDateTime.now();
-
-			salaryRepository.persist(salaryEntity);
-			log.info("Created salary record {} for employee {}", salaryEntity.salaryId, employee.employeeId);
-
-			results.add(mapToDTO(salaryEntity));
-		}
-
-		return results;
+		Set<UUID> requested = dto.getEmployeeIds() != null ? new HashSet<>(dto.getEmployeeIds()) : null;
+		return employees.stream()
+				.map(employee -> employee.employeeId)
+				.filter(employeeId -> requested == null || requested.contains(employeeId))
+				.toList();
 	}
 
 	@Override
@@ -188,10 +268,30 @@ public class SalaryServiceImpl implements SalaryService {
 		return mapToDTO(entity);
 	}
 
+	private SalaryResponseDTO mapToDTO(SalaryEntity entity) {
+		return mapToDTOs(List.of(entity)).get(0);
+	}
+
 	/**
-	 * Helper method to map entity to DTO
+	 * Maps salary rows to DTOs, resolving employee names with one lookup per organization
 	 */
-	private SalaryResponseDTO mapToDTO(SalaryEntity entity) {
+	private List<SalaryResponseDTO> mapToDTOs(List<SalaryEntity> entities) {
+		Map<UUID, Map<UUID, String>> namesByOrganization = new HashMap<>();
+		entities.stream()
+				.collect(Collectors.groupingBy(entity -> entity.organizationId,
+				                               Collectors.mapping(entity -> entity.employeeId, Collectors.toSet())))
+				.forEach((organizationId, employeeIds) ->
+						         namesByOrganization.put(organizationId, employeeNameResolver.resolve(organizationId, employeeIds)));
+		return entities.stream()
+				.map(entity -> {
+					SalaryResponseDTO dto = toDTO(entity);
+					dto.setEmployeeName(namesByOrganization.get(entity.organizationId).get(entity.employeeId));
+					return dto;
+				})
+				.collect(Collectors.toList());
+	}
+
+	private static SalaryResponseDTO toDTO(SalaryEntity entity) {
 		SalaryResponseDTO dto = new SalaryResponseDTO();
 		dto.setSalaryId(entity.salaryId);
 		dto.setEmployeeId(entity.employeeId);
@@ -206,120 +306,6 @@ public class SalaryServiceImpl implements SalaryService {
 		dto.setCreatedAt(entity.createdAt);
 		dto.setUpdatedAt(entity.updatedAt);
 
-		// Get employee name
-		try {
-			EmployeeCoreEntity employee = EmployeeCoreEntity.findById(entity.employeeId);
-			if (employee != null) {
-				dto.setEmployeeName(employee.firstName + " " + employee.lastName);
-			}
-		} catch (Exception e) {
-			log.warn("Failed to fetch employee name for ID: {}", entity.employeeId);
-		}
-
 		return dto;
 	}
-
-	/**
-	 * Get employee's basic salary from employment history
-	 * Returns default if no history found
-	 */
-	private BigDecimal getEmployeeBasicSalary(UUID employeeId) {
-		try {
-			// Try to get latest employment record with salary information
-			List<EmployeeHistoryEntity> histories = EmployeeHistoryEntity
-					.find("employeeId = ?1 AND fieldName = ?2 ORDER BY changedAt DESC", 
-							employeeId, "Base Salary")
-					.list();
-
-			if (!histories.isEmpty()) {
-				String salaryStr = histories.get(0).newValue;
-				if (salaryStr != null && !salaryStr.isEmpty()) {
-					return new BigDecimal(salaryStr);
-				}
-			}
-		} catch (Exception e) {
-			log.warn("Failed to get base salary from history for employee {}: {}", employeeId, e.getMessage());
-		}
-
-		// Default basic salary if no history found
-		return new BigDecimal("10000000"); // 10 million VND default
-	}
-
-	/**
-	 * Calculate bonus for employee (simplified logic)
-	 * In real application, this would consider performance, attendance, etc.
-	 */
-	private BigDecimal calculateBonus(UUID organizationId, UUID employeeId, Integer month, Integer year, BigDecimal basicSalary) {
-		AttendanceStats stats = computeAttendanceStats(organizationId, employeeId, month, year);
-
-		// Attendance bonus: +5% basic if không có ngày vắng (unpaidDays = 0)
-		if (stats.unpaidDays == 0) {
-			return basicSalary.multiply(ATTENDANCE_BONUS_RATE).setScale(2, RoundingMode.HALF_UP);
-		}
-
-		return BigDecimal.ZERO;
-	}
-
-	private BigDecimal calculateDeductions(UUID organizationId, UUID employeeId, Integer month, Integer year,
-			BigDecimal basicSalary, BigDecimal bonus) {
-		AttendanceStats stats = computeAttendanceStats(organizationId, employeeId, month, year);
-
-		BigDecimal dailyRate = basicSalary
-				.divide(BigDecimal.valueOf(WORKING_DAYS_TARGET), 2, RoundingMode.HALF_UP);
-
-		BigDecimal absenceDeduction = dailyRate.multiply(BigDecimal.valueOf(stats.unpaidDays))
-				.setScale(2, RoundingMode.HALF_UP);
-
-		// Bỏ thuế thu nhập: chỉ trừ ngày vắng không lương
-		return absenceDeduction.setScale(2, RoundingMode.HALF_UP);
-	}
-
-	/**
-	 * Tính thống kê chấm công và nghỉ phép cho tháng.
-	 */
-	private AttendanceStats computeAttendanceStats(UUID organizationId, UUID employeeId, int month, int year) {
-		LocalDate start = LocalDate.of(year, month, 1);
-		LocalDate end = start.withDayOfMonth(start.lengthOfMonth());
-
-		List<AttendanceEntity> attendances = AttendanceEntity.find(
-				"organizationId = ?1 AND employeeId = ?2 AND attendanceDate BETWEEN ?3 AND ?4",
-				organizationId, employeeId, start, end)
-				.list();
-
-		long attendanceDays = attendances.stream()
-				.filter(a -> a.attendanceDate != null)
-				.distinct()
-				.count();
-
-		// Leave days (approved) overlapping the month
-		List<LeaveRequestEntity> approvedLeaves = LeaveRequestEntity.find(
-				"organizationId = ?1 AND status = ?2",
-				organizationId, LeaveStatus.APPROVED)
-				.list();
-
-		long approvedLeaveDays = approvedLeaves.stream()
-				.map(leave -> calculateOverlapDays(leave.fromDate, leave.toDate, start, end))
-				.filter(days -> days > 0)
-				.mapToLong(Long::longValue)
-				.sum();
-
-		int paidDays = (int) Math.min(WORKING_DAYS_TARGET, attendanceDays + approvedLeaveDays);
-		int unpaidDays = Math.max(0, WORKING_DAYS_TARGET - paidDays);
-
-		return new AttendanceStats((int) attendanceDays, (int) approvedLeaveDays, unpaidDays);
-	}
-
-	private long calculateOverlapDays(LocalDate from, LocalDate to, LocalDate windowStart, LocalDate windowEnd) {
-		if (from == null || to == null) {
-			return 0;
-		}
-		LocalDate effectiveStart = from.isBefore(windowStart) ? windowStart : from;
-		LocalDate effectiveEnd = to.isAfter(windowEnd) ? windowEnd : to;
-		if (effectiveEnd.isBefore(effectiveStart)) {
-			return 0;
-		}
-		return effectiveStart.datesUntil(effectiveEnd.plusDays(1)).count();
-	}
-
-	private record AttendanceStats(int attendanceDays, int approvedLeaveDays, int unpaidDays) {}
 }
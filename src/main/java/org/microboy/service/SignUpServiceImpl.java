@@ -1,5 +1,6 @@
 package org.microboy.service;
 
+import org.microboy.cache.AttendanceDashboardCounters;
 import org.microboy.dto.request.SignUpRequestDTO;
 import org.microboy.entity.EmployeeCoreEntity;
 import org.microboy.entity.OrganizationEntity;
@@ -18,6 +19,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class SignUpServiceImpl implements SignUpService {
 	private final UserService userService;
+	private final AttendanceDashboardCounters attendanceDashboardCounters;
 
 	@Override
 	@Transactional
@@ -38,6 +40,7 @@ public class SignUpServiceImpl implements SignUpService {
 		employeeCoreEntity.lastName = signUpRequestDTO.getLastName();
 		employeeCoreEntity.organizationId = organizationEntity.organizationId;
 		EmployeeCoreEntity.persist(employeeCoreEntity);
+		attendanceDashboardCounters.employeeAdded(employeeCoreEntity.organizationId);
 
 		// Create user (Owner's account)
 		UserDTO userDTO = new UserDTO();
@@ -7,6 +7,7 @@ import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.microboy.cache.ReferenceDataCache;
 import org.microboy.dto.TeamDTO;
 import org.microboy.entity.EmployeeCoreEntity;
 import org.microboy.entity.TeamEntity;
@@ -26,6 +27,7 @@ import java.util.UUID;
 public class TeamServiceImpl implements TeamService {
 
 	private final ObjectMapper objectMapper;
+	private final ReferenceDataCache referenceDataCache;
 
 	/**
 	 * Creates a new team.
@@ -75,6 +77,7 @@ public class TeamServiceImpl implements TeamService {
 		existingTeam.email = teamDTO.getEmail();
 		existingTeam.phoneNumber = teamDTO.getPhoneNumber();
 		existingTeam.location = teamDTO.getLocation();
+		referenceDataCache.invalidateTeam(id);
 
 		log.info("Updated team: {}", teamDTO);
 		return teamDTO;
@@ -100,6 +103,7 @@ public class TeamServiceImpl implements TeamService {
 		}
 
 		TeamEntity.deleteById(id);
+		referenceDataCache.invalidateTeam(id);
 		log.info("Deleted team: {}", id);
 	}
 
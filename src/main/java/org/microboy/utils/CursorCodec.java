@@ -0,0 +1,45 @@
+package org.microboy.utils;
+
+import jakarta.ws.rs.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque keyset cursors handed out by paginated endpoints.
+ * A cursor is the URL-safe Base64 form of the sort key values of the last row on a page.
+ */
+public final class CursorCodec {
+
+	private static final String SEPARATOR = "|";
+
+	private CursorCodec() {
+	}
+
+	public static String encode(Object... parts) {
+		StringBuilder raw = new StringBuilder();
+		for (int i = 0; i < parts.length; i++) {
+			if (i > 0) {
+				raw.append(SEPARATOR);
+			}
+			raw.append(parts[i] == null ? "" : parts[i].toString());
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @throws BadRequestException if the cursor is malformed or does not carry the expected number of parts
+	 */
+	public static String[] decode(String cursor, int expectedParts) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			String[] parts = raw.split("\\" + SEPARATOR, -1);
+			if (parts.length != expectedParts) {
+				throw new BadRequestException("Invalid cursor");
+			}
+			return parts;
+		} catch (IllegalArgumentException e) {
+			throw new BadRequestException("Invalid cursor");
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package org.microboy.utils;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Days of a month packed into an int: bit d-1 is set for day d.
+ */
+public final class DayMask {
+
+	private DayMask() {
+	}
+
+	public static int of(LocalDate day) {
+		return 1 << (day.getDayOfMonth() - 1);
+	}
+
+	/**
+	 * Bits of the days of {@code month} that fall within [from, to]
+	 */
+	public static int window(YearMonth month, LocalDate from, LocalDate to) {
+		LocalDate first = from.isAfter(month.atDay(1)) ? from : month.atDay(1);
+		LocalDate last = to.isBefore(month.atEndOfMonth()) ? to : month.atEndOfMonth();
+		if (first.isAfter(last)) {
+			return 0;
+		}
+		// For day 31, 1 << 31 wraps to Integer.MIN_VALUE and the subtraction still yields the low 31 bits
+		int throughLast = (1 << last.getDayOfMonth()) - 1;
+		int beforeFirst = (1 << (first.getDayOfMonth() - 1)) - 1;
+		return throughLast & ~beforeFirst;
+	}
+
+	public static int count(int mask) {
+		return Integer.bitCount(mask);
+	}
+
+	public static boolean contains(int mask, int dayOfMonth) {
+		return (mask & (1 << (dayOfMonth - 1))) != 0;
+	}
+
+	/**
+	 * @return the days of month set in the mask, ascending
+	 */
+	public static List<Integer> days(int mask) {
+		List<Integer> days = new ArrayList<>(Integer.bitCount(mask));
+		for (int remaining = mask; remaining != 0; remaining &= remaining - 1) {
+			days.add(Integer.numberOfTrailingZeros(remaining) + 1);
+		}
+		return days;
+	}
+}
@@ -0,0 +1,82 @@
+package org.microboy.utils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Immutable interval tree over closed date ranges. Items are sorted by start date and laid out as an implicit
+ * balanced tree over that array, each node carrying the latest end date of its subtree, so an overlap query
+ * costs O(log n + k) for k matches.
+ *
+ * @param <T> the item, expected to be immutable
+ */
+public final class IntervalTree<T> {
+
+	private final List<T> items;
+	private final long[] starts;
+	private final long[] ends;
+	private final long[] maxEnds;
+
+	public IntervalTree(List<T> items, Function<T, LocalDate> start, Function<T, LocalDate> end) {
+		this.items = new ArrayList<>(items);
+		this.items.sort(Comparator.comparing(start));
+		int size = this.items.size();
+		starts = new long[size];
+		ends = new long[size];
+		maxEnds = new long[size];
+		for (int i = 0; i < size; i++) {
+			starts[i] = start.apply(this.items.get(i)).toEpochDay();
+			ends[i] = end.apply(this.items.get(i)).toEpochDay();
+		}
+		computeMaxEnds(0, size - 1);
+	}
+
+	public int size() {
+		return items.size();
+	}
+
+	public boolean overlapsAny(LocalDate from, LocalDate to) {
+		return !findOverlapping(from, to).isEmpty();
+	}
+
+	/**
+	 * @return items whose range shares at least one day with [from, to], in start date order
+	 */
+	public List<T> findOverlapping(LocalDate from, LocalDate to) {
+		List<T> result = new ArrayList<>();
+		collect(0, items.size() - 1, from.toEpochDay(), to.toEpochDay(), result);
+		return result;
+	}
+
+	private long computeMaxEnds(int low, int high) {
+		if (low > high) {
+			return Long.MIN_VALUE;
+		}
+		int mid = (low + high) >>> 1;
+		maxEnds[mid] = Math.max(ends[mid], Math.max(computeMaxEnds(low, mid - 1), computeMaxEnds(mid + 1, high)));
+		return maxEnds[mid];
+	}
+
+	private void collect(int low, int high, long from, long to, List<T> result) {
+		if (low > high) {
+			return;
+		}
+		int mid = (low + high) >>> 1;
+		// Nothing in this subtree ends on or after the window start
+		if (maxEnds[mid] < from) {
+			return;
+		}
+		collect(low, mid - 1, from, to, result);
+		// This node and its right subtree all start after the window
+		if (starts[mid] > to) {
+			return;
+		}
+		if (ends[mid] >= from) {
+			result.add(items.get(mid));
+		}
+		collect(mid + 1, high, from, to, result);
+	}
+}
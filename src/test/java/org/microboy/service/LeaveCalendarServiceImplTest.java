@@ -0,0 +1,90 @@
+package org.microboy.service;
+
+import org.junit.jupiter.api.Test;
+import org.microboy.dto.response.LeaveCalendarAbsenceDTO;
+import org.microboy.dto.response.LeaveCalendarDayDTO;
+import org.microboy.enums.LeaveStatus;
+import org.microboy.repository.LeaveRequestRepository.LeaveInterval;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LeaveCalendarServiceImplTest {
+
+	private static final YearMonth MARCH = YearMonth.of(2024, 3);
+	private static final UUID ALICE = UUID.randomUUID();
+	private static final UUID BOB = UUID.randomUUID();
+	private static final Map<UUID, String> NAMES = Map.of(ALICE, "Alice A", BOB, "Bob B");
+
+	private static LeaveInterval leave(UUID employeeId, String from, String to) {
+		return new LeaveInterval(UUID.randomUUID(), employeeId, LocalDate.parse(from), LocalDate.parse(to),
+		                         LeaveStatus.APPROVED);
+	}
+
+	private static List<Integer> absentCounts(List<LeaveCalendarDayDTO> days) {
+		return days.stream().map(LeaveCalendarDayDTO::getAbsentCount).toList();
+	}
+
+	@Test
+	void emptyMonthHasEveryDayWithNobodyOut() {
+		List<LeaveCalendarDayDTO> days = LeaveCalendarServiceImpl.sweep(MARCH, List.of(), NAMES);
+		assertEquals(31, days.size());
+		assertEquals(MARCH.atDay(1), days.get(0).getDate());
+		assertEquals(MARCH.atEndOfMonth(), days.get(30).getDate());
+		days.forEach(day -> assertEquals(0, day.getAbsentCount()));
+	}
+
+	@Test
+	void sameDayLeaveCoversOnlyThatDay() {
+		List<LeaveCalendarDayDTO> days =
+				LeaveCalendarServiceImpl.sweep(MARCH, List.of(leave(ALICE, "2024-03-10", "2024-03-10")), NAMES);
+		for (LeaveCalendarDayDTO day : days) {
+			assertEquals(day.getDate().getDayOfMonth() == 10 ? 1 : 0, day.getAbsentCount(), day.getDate().toString());
+		}
+	}
+
+	@Test
+	void leaveSpanningTheMonthBoundariesIsClipped() {
+		List<LeaveCalendarDayDTO> days = LeaveCalendarServiceImpl.sweep(
+				MARCH, List.of(leave(ALICE, "2024-02-20", "2024-03-02"), leave(BOB, "2024-03-30", "2024-04-10")), NAMES);
+		assertEquals(31, days.size());
+		assertEquals(1, days.get(0).getAbsentCount());
+		assertEquals(1, days.get(1).getAbsentCount());
+		assertEquals(0, days.get(2).getAbsentCount());
+		assertEquals(0, days.get(28).getAbsentCount());
+		assertEquals(1, days.get(29).getAbsentCount());
+		assertEquals(1, days.get(30).getAbsentCount());
+	}
+
+	@Test
+	void leaveCoveringTheWholeMonthCountsEveryDay() {
+		List<LeaveCalendarDayDTO> days =
+				LeaveCalendarServiceImpl.sweep(MARCH, List.of(leave(BOB, "2024-01-01", "2024-12-31")), NAMES);
+		days.forEach(day -> assertEquals(1, day.getAbsentCount()));
+	}
+
+	@Test
+	void overlappingLeaveIsListedByEmployeeName() {
+		LeaveInterval bob = leave(BOB, "2024-03-04", "2024-03-06");
+		LeaveInterval alice = leave(ALICE, "2024-03-05", "2024-03-07");
+		List<LeaveCalendarDayDTO> days = LeaveCalendarServiceImpl.sweep(MARCH, List.of(bob, alice), NAMES);
+
+		assertEquals(List.of(0, 0, 0, 1, 2, 2, 1, 0), absentCounts(days).subList(0, 8));
+		assertEquals(List.of("Alice A", "Bob B"),
+		             days.get(4).getAbsences().stream().map(LeaveCalendarAbsenceDTO::getEmployeeName).toList());
+		assertEquals(alice.leaveRequestId(), days.get(6).getAbsences().get(0).getLeaveRequestId());
+	}
+
+	@Test
+	void leapDayIsPartOfFebruary() {
+		List<LeaveCalendarDayDTO> days = LeaveCalendarServiceImpl.sweep(
+				YearMonth.of(2024, 2), List.of(leave(ALICE, "2024-02-29", "2024-03-01")), NAMES);
+		assertEquals(29, days.size());
+		assertEquals(1, days.get(28).getAbsentCount());
+	}
+}
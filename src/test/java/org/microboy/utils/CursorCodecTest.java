@@ -0,0 +1,53 @@
+package org.microboy.utils;
+
+import jakarta.ws.rs.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorCodecTest {
+
+	@Test
+	void roundTripsTheParts() {
+		UUID id = UUID.randomUUID();
+		String cursor = CursorCodec.encode(LocalDate.of(2024, 2, 29), id, 7);
+		assertArrayEquals(new String[] {"2024-02-29", id.toString(), "7"}, CursorCodec.decode(cursor, 3));
+	}
+
+	@Test
+	void nullAndEmptyPartsDecodeAsEmpty() {
+		String cursor = CursorCodec.encode("a", null, "");
+		assertArrayEquals(new String[] {"a", "", ""}, CursorCodec.decode(cursor, 3));
+	}
+
+	@Test
+	void cursorIsUrlSafe() {
+		String cursor = CursorCodec.encode("???>>>", "~~~");
+		assertFalse(cursor.contains("+") || cursor.contains("/") || cursor.contains("="));
+	}
+
+	@Test
+	void wrongNumberOfPartsIsRejected() {
+		String cursor = CursorCodec.encode("a", "b");
+		assertThrows(BadRequestException.class, () -> CursorCodec.decode(cursor, 3));
+		assertThrows(BadRequestException.class, () -> CursorCodec.decode(cursor, 1));
+	}
+
+	@Test
+	void malformedBase64IsRejected() {
+		assertThrows(BadRequestException.class, () -> CursorCodec.decode("not base64!", 1));
+	}
+
+	@Test
+	void cursorWithoutSeparatorsIsOnePart() {
+		String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("plain".getBytes(StandardCharsets.UTF_8));
+		assertArrayEquals(new String[] {"plain"}, CursorCodec.decode(cursor, 1));
+	}
+}
@@ -0,0 +1,72 @@
+package org.microboy.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DayMaskTest {
+
+	private static final YearMonth JANUARY = YearMonth.of(2024, 1);
+	private static final YearMonth FEBRUARY = YearMonth.of(2024, 2);
+
+	@Test
+	void ofSetsTheBitOfTheDay() {
+		assertEquals(1, DayMask.of(LocalDate.of(2024, 1, 1)));
+		assertEquals(1 << 30, DayMask.of(LocalDate.of(2024, 1, 31)));
+	}
+
+	@Test
+	void windowCoversASingleDay() {
+		LocalDate day = LocalDate.of(2024, 1, 15);
+		assertEquals(DayMask.of(day), DayMask.window(JANUARY, day, day));
+	}
+
+	@Test
+	void windowCoversTheWholeMonthIncludingDay31() {
+		int mask = DayMask.window(JANUARY, JANUARY.atDay(1), JANUARY.atEndOfMonth());
+		assertEquals(31, DayMask.count(mask));
+		assertTrue(DayMask.contains(mask, 31));
+		assertTrue(mask > 0);
+	}
+
+	@Test
+	void windowIsClippedToTheMonth() {
+		int mask = DayMask.window(FEBRUARY, LocalDate.of(2024, 1, 20), LocalDate.of(2024, 3, 5));
+		assertEquals(29, DayMask.count(mask));
+		assertEquals(DayMask.window(FEBRUARY, FEBRUARY.atDay(1), FEBRUARY.atEndOfMonth()), mask);
+	}
+
+	@Test
+	void windowOutsideTheMonthIsEmpty() {
+		assertEquals(0, DayMask.window(FEBRUARY, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+		assertEquals(0, DayMask.window(FEBRUARY, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 2)));
+	}
+
+	@Test
+	void windowEndingBeforeItStartsIsEmpty() {
+		assertEquals(0, DayMask.window(JANUARY, LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 9)));
+	}
+
+	@Test
+	void containsChecksSingleDays() {
+		int mask = DayMask.window(JANUARY, LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 4));
+		assertFalse(DayMask.contains(mask, 2));
+		assertTrue(DayMask.contains(mask, 3));
+		assertTrue(DayMask.contains(mask, 4));
+		assertFalse(DayMask.contains(mask, 5));
+	}
+
+	@Test
+	void daysListsTheSetDaysAscending() {
+		int mask = DayMask.of(LocalDate.of(2024, 1, 31)) | DayMask.of(LocalDate.of(2024, 1, 1))
+		           | DayMask.of(LocalDate.of(2024, 1, 17));
+		assertEquals(List.of(1, 17, 31), DayMask.days(mask));
+		assertEquals(List.of(), DayMask.days(0));
+	}
+}
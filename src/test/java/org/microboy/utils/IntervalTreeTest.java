@@ -0,0 +1,96 @@
+package org.microboy.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalTreeTest {
+
+	private record Range(String name, LocalDate from, LocalDate to) {}
+
+	private static Range range(String name, String from, String to) {
+		return new Range(name, LocalDate.parse(from), LocalDate.parse(to));
+	}
+
+	private static IntervalTree<Range> tree(List<Range> ranges) {
+		return new IntervalTree<>(ranges, Range::from, Range::to);
+	}
+
+	private static List<String> names(List<Range> ranges) {
+		return ranges.stream().map(Range::name).toList();
+	}
+
+	@Test
+	void emptyTreeFindsNothing() {
+		IntervalTree<Range> tree = tree(List.of());
+		assertEquals(0, tree.size());
+		assertEquals(List.of(), tree.findOverlapping(LocalDate.MIN, LocalDate.MAX));
+		assertFalse(tree.overlapsAny(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+	}
+
+	@Test
+	void rangesAreClosedOnBothEnds() {
+		IntervalTree<Range> tree = tree(List.of(range("a", "2024-01-10", "2024-01-20")));
+		assertTrue(tree.overlapsAny(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 10)));
+		assertTrue(tree.overlapsAny(LocalDate.of(2024, 1, 20), LocalDate.of(2024, 1, 31)));
+		assertFalse(tree.overlapsAny(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 9)));
+		assertFalse(tree.overlapsAny(LocalDate.of(2024, 1, 21), LocalDate.of(2024, 1, 31)));
+	}
+
+	@Test
+	void sameDayRangeMatchesOnlyThatDay() {
+		IntervalTree<Range> tree = tree(List.of(range("a", "2024-03-05", "2024-03-05")));
+		assertEquals(List.of("a"), names(tree.findOverlapping(LocalDate.of(2024, 3, 5), LocalDate.of(2024, 3, 5))));
+		assertFalse(tree.overlapsAny(LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 4)));
+		assertFalse(tree.overlapsAny(LocalDate.of(2024, 3, 6), LocalDate.of(2024, 3, 6)));
+	}
+
+	@Test
+	void resultsComeInStartDateOrder() {
+		IntervalTree<Range> tree = tree(List.of(range("late", "2024-01-20", "2024-01-25"),
+		                                        range("long", "2024-01-01", "2024-12-31"),
+		                                        range("early", "2024-01-05", "2024-01-06")));
+		assertEquals(List.of("long", "early", "late"),
+		             names(tree.findOverlapping(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31))));
+	}
+
+	@Test
+	void longRangeInTheLeftSubtreeIsFound() {
+		List<Range> ranges = new ArrayList<>();
+		ranges.add(range("long", "2024-01-01", "2024-06-30"));
+		for (int day = 2; day <= 20; day++) {
+			LocalDate date = LocalDate.of(2024, 1, day);
+			ranges.add(new Range("d" + day, date, date));
+		}
+		assertEquals(List.of("long"), names(tree(ranges).findOverlapping(LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 1))));
+	}
+
+	@Test
+	void matchesABruteForceScan() {
+		Random random = new Random(42);
+		LocalDate base = LocalDate.of(2024, 1, 1);
+		List<Range> ranges = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			LocalDate from = base.plusDays(random.nextInt(365));
+			ranges.add(new Range("r" + i, from, from.plusDays(random.nextInt(30))));
+		}
+		IntervalTree<Range> tree = tree(ranges);
+		for (int i = 0; i < 500; i++) {
+			LocalDate from = base.plusDays(random.nextInt(400) - 20);
+			LocalDate to = from.plusDays(random.nextInt(15));
+			List<String> expected = ranges.stream()
+					.filter(range -> !range.from().isAfter(to) && !range.to().isBefore(from))
+					.map(Range::name)
+					.sorted()
+					.toList();
+			assertEquals(expected, names(tree.findOverlapping(from, to)).stream().sorted().toList());
+		}
+	}
+}